@@ -0,0 +1,211 @@
+import dungeondata.benchmarks.Workload;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the application code measured by the benchmarks. It is in the unnamed package,
+ * like the application, so that it can call the application's classes directly; the
+ * benchmarks load it by name and call it through {@link Workload}.
+ *
+ * <p>{@link #open(int)} creates an H2 database in memory, in MySQL mode, with the
+ * reference data from {@code schema.sql} and generated players and characters, and
+ * points the application's {@link DatabaseConnection} at it, so no network or MySQL
+ * server is needed. The slow query log and the DAO metrics keep the application's
+ * defaults, since the application always runs with them; the query benchmarks also
+ * measure with the log off, through {@link Workload#load(String)}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class BenchmarkWorkload implements Workload {
+    private static final String URL = "jdbc:h2:mem:dungeondata;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String[] ABILITIES = {"str", "dex", "con", "int", "wis", "cha"};
+    private static final String[] SUBCLASSES = {"Champion", "Battle Master", "Eldritch Knight", "Evoker", "Abjurer",
+        "Thief", "Assassin", "Life Domain", "Light Domain", "College of Lore"};
+    private static final String[] SUBSPECIES = {"High Elf", "Wood Elf", "Hill Dwarf", "Mountain Dwarf", "Lightfoot",
+        "Stout", "Standard Human"};
+    private static final String[] BACKGROUNDS = {"Soldier", "Sage", "Criminal", "Acolyte", "Folk Hero"};
+    private static final String[] GAMES = {"Lost Mine", "Sky Pirates", "Curse of Strahd", "Dragon Heist"};
+    private static final int CHARACTERS_PER_PLAYER = 4;
+    private static final int BATCH_SIZE = 500;
+
+    private Connection myKeepAlive;
+    private CharacterDAO myCharacterDAO;
+    private ReportDAO myReportDAO;
+    private AsyncDnDController myAsyncController;
+
+    @Override
+    public void open(int theCharacters) throws Exception {
+        System.setProperty("dungeondata.db.url", URL);
+        System.setProperty("dungeondata.db.user", "sa");
+        System.setProperty("dungeondata.db.password", "");
+
+        // Keeps the in-memory database alive and loads it without going through the pool
+        myKeepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = myKeepAlive.createStatement()) {
+            stmt.execute("RUNSCRIPT FROM 'classpath:/schema.sql'");
+        }
+        generate(theCharacters);
+
+        DatabaseConnection.getInstance().open();
+        myCharacterDAO = new CharacterDAO();
+        myReportDAO = new ReportDAO();
+        // Only the character DAO is used, for pages past the first, which the benchmarks never show
+        myAsyncController = new AsyncDnDController(myCharacterDAO, null, null, null, myReportDAO);
+    }
+
+    @Override
+    public void close() throws Exception {
+        myAsyncController.close();
+        DatabaseConnection.getInstance().closeConnection();
+        try (Statement stmt = myKeepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+        myKeepAlive.close();
+    }
+
+    @Override
+    public Object runReport(String theReport) throws Exception {
+        return myReportDAO.executeQuery(ReportDAO.Report.valueOf(theReport));
+    }
+
+    @Override
+    public Object readAllCharacters() throws Exception {
+        return myCharacterDAO.getCharactersWithDetails();
+    }
+
+    @Override
+    public Object readCharacterPage(int thePageSize) throws Exception {
+        return myCharacterDAO.getCharactersWithDetailsPage(null, thePageSize);
+    }
+
+    @Override
+    public Object newCharacter(int theIndex) {
+        return new Character("Character " + theIndex, 1 + theIndex % 20, "Fighter", "Champion", "Human",
+                "Standard Human", "Soldier", 1, "Lost Mine", 8 + theIndex % 11, 9 + theIndex % 10,
+                10 + theIndex % 9, 11 + theIndex % 8, 12 + theIndex % 7, 13 + theIndex % 6);
+    }
+
+    @Override
+    public int sumAbilityModifiers(Object theCharacter) {
+        Character character = (Character) theCharacter;
+        int sum = 0;
+        for (String ability : ABILITIES) {
+            sum += character.getAbilityModifier(ability);
+        }
+        return sum;
+    }
+
+    @Override
+    public int formatAbilityScores(Object theCharacter) {
+        Character character = (Character) theCharacter;
+        int length = 0;
+        for (String ability : ABILITIES) {
+            length += character.getFormattedAbilityScore(ability).length();
+        }
+        return length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long buildCharacterTable(Object theCharacters) {
+        List<Character> page = (List<Character>) theCharacters;
+        CharacterTableModel model = new CharacterTableModel(myAsyncController, theError -> { });
+        model.reload(page.size(), page);
+        return readCells(model.getRowCount(), model.getColumnCount(), model::getValueAt);
+    }
+
+    @Override
+    public long buildReportTable(Object theResultTable) {
+        ResultTableModel model = new ResultTableModel();
+        model.setResultTable((ResultTable) theResultTable);
+        return readCells(model.getRowCount(), model.getColumnCount(), model::getValueAt);
+    }
+
+    /**
+     * Reads every cell of a table model, as a table does when it paints them all.
+     *
+     * @param theRows the number of rows
+     * @param theColumns the number of columns
+     * @param theCells gets the value of a cell
+     * @return a checksum of the cell values, so the reads cannot be optimized away
+     */
+    private static long readCells(int theRows, int theColumns, Cells theCells) {
+        long checksum = 0;
+        for (int row = 0; row < theRows; row++) {
+            for (int column = 0; column < theColumns; column++) {
+                Object value = theCells.get(row, column);
+                checksum = 31 * checksum + (value == null ? 0 : value.hashCode());
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Inserts players and characters with randomly chosen, but repeatable, attributes.
+     *
+     * @param theCharacters the number of characters to insert
+     * @throws SQLException if the rows cannot be inserted
+     */
+    private void generate(int theCharacters) throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        int players = Math.max(1, theCharacters / CHARACTERS_PER_PLAYER);
+        try (PreparedStatement stmt = myKeepAlive.prepareStatement(
+                "INSERT INTO player VALUES (?, ?, ?, 'Email', ?, 'PST')")) {
+            for (int i = 1; i <= players; i++) {
+                stmt.setInt(1, i);
+                stmt.setString(2, "First" + i);
+                stmt.setString(3, "Last" + i);
+                stmt.setString(4, "player" + i + "@example.com");
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = myKeepAlive.prepareStatement(
+                "INSERT INTO characters VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= theCharacters; i++) {
+                stmt.setString(1, String.format("Character %07d", i));
+                stmt.setInt(2, random.nextInt(1, 21));
+                stmt.setString(3, SUBCLASSES[random.nextInt(SUBCLASSES.length)]);
+                stmt.setString(4, SUBSPECIES[random.nextInt(SUBSPECIES.length)]);
+                stmt.setString(5, BACKGROUNDS[random.nextInt(BACKGROUNDS.length)]);
+                stmt.setInt(6, random.nextInt(1, players + 1));
+                stmt.setString(7, GAMES[random.nextInt(GAMES.length)]);
+                for (int ability = 0; ability < ABILITIES.length; ability++) {
+                    stmt.setInt(8 + ability, random.nextInt(3, 19));
+                }
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Gets the value of a table model cell.
+     */
+    @FunctionalInterface
+    private interface Cells {
+
+        /**
+         * Gets a cell's value.
+         *
+         * @param theRow the row index
+         * @param theColumn the column index
+         * @return the value
+         */
+        Object get(int theRow, int theColumn);
+    }
+}
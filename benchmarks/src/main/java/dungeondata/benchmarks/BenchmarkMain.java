@@ -0,0 +1,44 @@
+package dungeondata.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the JMH command line, writing the results as JSON to
+ * {@code jmh-result.json} unless another result format or file is given, so that
+ * runs can be compared by tools.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar [JMH options] [benchmark regex]
+ * </pre>
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs JMH.
+     *
+     * @param theArgs JMH command-line options
+     * @throws Exception if JMH fails
+     */
+    public static void main(String[] theArgs) throws Exception {
+        List<String> args = new ArrayList<>(Arrays.asList(theArgs));
+        if (!args.contains("-rf")) {
+            args.addAll(List.of("-rf", "json"));
+        }
+        if (!args.contains("-rff")) {
+            args.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        org.openjdk.jmh.Main.main(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,76 @@
+package dungeondata.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures constructing a {@code Character} and working out its ability modifiers
+ * and formatted ability scores, which the character views and reports do for every row.
+ * Needs no database.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Workload.JVM_ARGS)
+public class CharacterBenchmark {
+    private Workload myWorkload;
+    private Object myCharacter;
+    private int myIndex;
+
+    /**
+     * Loads the workload and builds the character the ability benchmarks read.
+     *
+     * @throws ReflectiveOperationException if the workload cannot be loaded
+     */
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        myWorkload = Workload.load();
+        myCharacter = myWorkload.newCharacter(7);
+    }
+
+    /**
+     * Constructs a character.
+     *
+     * @return the character
+     */
+    @Benchmark
+    public Object construct() {
+        return myWorkload.newCharacter(myIndex++);
+    }
+
+    /**
+     * Gets all six ability modifiers.
+     *
+     * @return their sum
+     */
+    @Benchmark
+    public int abilityModifiers() {
+        return myWorkload.sumAbilityModifiers(myCharacter);
+    }
+
+    /**
+     * Formats all six ability scores.
+     *
+     * @return their total length
+     */
+    @Benchmark
+    public int formattedAbilityScores() {
+        return myWorkload.formatAbilityScores(myCharacter);
+    }
+}
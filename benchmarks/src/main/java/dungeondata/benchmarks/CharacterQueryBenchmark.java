@@ -0,0 +1,88 @@
+package dungeondata.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading characters with their joined details through {@code CharacterDAO}
+ * and mapping each row to a {@code Character}: the whole table, and the first page
+ * that the character table shows.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Workload.JVM_ARGS)
+public class CharacterQueryBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"1000", "10000"})
+    private int myCharacters;
+
+    // The application ships with the log on; off shows what the statement wrapper costs
+    @Param({"on", "off"})
+    private String mySlowQueryLog;
+
+    private Workload myWorkload;
+
+    /**
+     * Creates the database for one trial.
+     *
+     * @throws Exception if the database cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        myWorkload = Workload.load(mySlowQueryLog);
+        myWorkload.open(myCharacters);
+    }
+
+    /**
+     * Drops the database after a trial.
+     *
+     * @throws Exception if the database cannot be closed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        myWorkload.close();
+    }
+
+    /**
+     * Reads every character.
+     *
+     * @return the characters
+     * @throws Exception if the query fails
+     */
+    @Benchmark
+    public Object allCharacters() throws Exception {
+        return myWorkload.readAllCharacters();
+    }
+
+    /**
+     * Reads the first page of characters.
+     *
+     * @return the characters
+     * @throws Exception if the query fails
+     */
+    @Benchmark
+    public Object firstPage() throws Exception {
+        return myWorkload.readCharacterPage(PAGE_SIZE);
+    }
+}
@@ -0,0 +1,87 @@
+package dungeondata.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Event Dispatch Thread's share of showing data: loading a page of
+ * characters into the character table model, as {@code CharacterView} does when it
+ * refreshes, and a report into the result table model, as
+ * {@code ReportView.displayResults} does, then reading every cell as the table does
+ * to paint it. The rows are read from the database once per trial.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {Workload.JVM_ARGS, "-Djava.awt.headless=true"})
+public class TableModelBenchmark {
+    @Param({"200", "1000"})
+    private int myRows;
+
+    private Workload myWorkload;
+    private Object myCharacterPage;
+    private Object myReport;
+
+    /**
+     * Creates the database and reads the rows the benchmarks show.
+     *
+     * @throws Exception if the database cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty("dungeondata.characters.pageSize", String.valueOf(myRows));
+        myWorkload = Workload.load();
+        myWorkload.open(myRows);
+        myCharacterPage = myWorkload.readCharacterPage(myRows);
+        myReport = myWorkload.runReport("ALL_CHARACTERS");
+    }
+
+    /**
+     * Drops the database after a trial.
+     *
+     * @throws Exception if the database cannot be closed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        myWorkload.close();
+    }
+
+    /**
+     * Builds and reads the character table model.
+     *
+     * @return a checksum of the cells
+     */
+    @Benchmark
+    public long characterTable() {
+        return myWorkload.buildCharacterTable(myCharacterPage);
+    }
+
+    /**
+     * Builds and reads the report table model.
+     *
+     * @return a checksum of the cells
+     */
+    @Benchmark
+    public long reportTable() {
+        return myWorkload.buildReportTable(myReport);
+    }
+}
@@ -0,0 +1,133 @@
+package dungeondata.benchmarks;
+
+/**
+ * The application code the benchmarks measure. The application's classes are in the
+ * unnamed package, which a named package cannot refer to, so the benchmarks reach them
+ * through this interface. Its one implementation, {@code BenchmarkWorkload}, is in the
+ * unnamed package and is loaded by name once per trial; the measured calls are plain
+ * interface calls. Results are returned as {@link Object} for the same reason and
+ * should be consumed by a JMH {@code Blackhole}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public interface Workload {
+
+    /**
+     * JVM options for the benchmark forks. The slow query log keeps the application's
+     * settings, since the application ships with it on, but writes to the temporary
+     * directory rather than the working directory.
+     */
+    String JVM_ARGS = "-Ddungeondata.slowQuery.file=%t/dungeondata-benchmark-slow-queries.%g.log";
+
+    /**
+     * Loads the workload implementation.
+     *
+     * @return a new workload
+     * @throws ReflectiveOperationException if the implementation cannot be loaded
+     */
+    static Workload load() throws ReflectiveOperationException {
+        return (Workload) Class.forName("BenchmarkWorkload").getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Loads the workload implementation with the slow query log on, at the application's
+     * threshold, or off. The log reads its settings once, so this only takes effect before
+     * the first query in the JVM; JMH forks a new JVM for each combination of parameters.
+     *
+     * @param theSlowQueryLog "on" or "off"
+     * @return a new workload
+     * @throws ReflectiveOperationException if the implementation cannot be loaded
+     */
+    static Workload load(String theSlowQueryLog) throws ReflectiveOperationException {
+        if (theSlowQueryLog.equals("off")) {
+            System.setProperty("dungeondata.slowQuery.thresholdMs", "-1");
+        }
+        return load();
+    }
+
+    /**
+     * Creates an in-memory database with the given number of characters and opens
+     * the application's connection pool on it.
+     *
+     * @param theCharacters the number of characters to generate
+     * @throws Exception if the database cannot be created
+     */
+    void open(int theCharacters) throws Exception;
+
+    /**
+     * Closes the connection pool and drops the database.
+     *
+     * @throws Exception if the database cannot be closed
+     */
+    void close() throws Exception;
+
+    /**
+     * Runs a report through {@code ReportDAO.executeQuery}.
+     *
+     * @param theReport the report's enum constant name
+     * @return the report's {@code ResultTable}
+     * @throws Exception if the query fails
+     */
+    Object runReport(String theReport) throws Exception;
+
+    /**
+     * Reads every character with its joined details through {@code CharacterDAO}.
+     *
+     * @return the list of characters
+     * @throws Exception if the query fails
+     */
+    Object readAllCharacters() throws Exception;
+
+    /**
+     * Reads the first page of characters, as the character table does when it is shown.
+     *
+     * @param thePageSize the number of characters on the page
+     * @return the list of characters
+     * @throws Exception if the query fails
+     */
+    Object readCharacterPage(int thePageSize) throws Exception;
+
+    /**
+     * Constructs a character with every field set.
+     *
+     * @param theIndex varies the character's name and ability scores
+     * @return the character
+     */
+    Object newCharacter(int theIndex);
+
+    /**
+     * Adds up a character's six ability modifiers with {@code getAbilityModifier}.
+     *
+     * @param theCharacter a character from {@link #newCharacter(int)}
+     * @return the sum of the modifiers
+     */
+    int sumAbilityModifiers(Object theCharacter);
+
+    /**
+     * Formats a character's six ability scores with {@code getFormattedAbilityScore}.
+     *
+     * @param theCharacter a character from {@link #newCharacter(int)}
+     * @return the total length of the formatted scores
+     */
+    int formatAbilityScores(Object theCharacter);
+
+    /**
+     * Loads a page of characters into a new {@code CharacterTableModel}, as the
+     * character view does, and reads every cell as the table would to paint it.
+     *
+     * @param theCharacters a list from {@link #readCharacterPage(int)}
+     * @return a checksum of the cells
+     */
+    long buildCharacterTable(Object theCharacters);
+
+    /**
+     * Shows a report in a {@code ResultTableModel}, as the report view does, and
+     * reads every cell as the table would to paint it.
+     *
+     * @param theResultTable a result from {@link #runReport(String)}
+     * @return a checksum of the cells
+     */
+    long buildReportTable(Object theResultTable);
+}
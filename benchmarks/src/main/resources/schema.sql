@@ -0,0 +1,43 @@
+-- Schema and reference data for the benchmarks, for H2 in MySQL mode.
+-- Players and characters are generated by BenchmarkWorkload.
+CREATE TABLE class (class_id VARCHAR(50) PRIMARY KEY, class_summary TEXT, casting_stat VARCHAR(20),
+                    primary_stat VARCHAR(20), secondary_stat VARCHAR(20));
+CREATE TABLE subclass (subclass_id VARCHAR(50) PRIMARY KEY, class_id VARCHAR(50) REFERENCES class(class_id));
+CREATE TABLE species (species_id VARCHAR(50) PRIMARY KEY, species_size VARCHAR(20), species_summary TEXT);
+CREATE TABLE subspecies (subspecies_id VARCHAR(50) PRIMARY KEY, species_id VARCHAR(50) REFERENCES species(species_id));
+CREATE TABLE background (bg_id VARCHAR(50) PRIMARY KEY);
+CREATE TABLE player (player_id INT PRIMARY KEY, fname VARCHAR(50), lname VARCHAR(50), pref_contact VARCHAR(20),
+                     contact_info VARCHAR(100), time_zone VARCHAR(10));
+CREATE TABLE game (game_id VARCHAR(50) PRIMARY KEY, setting VARCHAR(50), synopsis TEXT, meeting_time TIMESTAMP);
+CREATE TABLE characters (char_id VARCHAR(50) PRIMARY KEY, lvl INT,
+                         subclass_id VARCHAR(50) REFERENCES subclass(subclass_id),
+                         subspecies_id VARCHAR(50) REFERENCES subspecies(subspecies_id),
+                         bg_id VARCHAR(50) REFERENCES background(bg_id),
+                         player_id INT REFERENCES player(player_id),
+                         game_id VARCHAR(50) REFERENCES game(game_id),
+                         s_str INT, s_dex INT, s_con INT, s_int INT, s_wis INT, s_cha INT);
+
+INSERT INTO class VALUES
+    ('Fighter', 'A master of martial combat', NULL, 'STR', 'CON'),
+    ('Wizard', 'A scholarly magic-user', 'INT', 'INT', 'CON'),
+    ('Rogue', 'A scoundrel who uses stealth', NULL, 'DEX', 'INT'),
+    ('Cleric', 'A priestly champion', 'WIS', 'WIS', 'CON'),
+    ('Bard', 'An inspiring magician', 'CHA', 'CHA', 'DEX');
+INSERT INTO subclass VALUES
+    ('Champion', 'Fighter'), ('Battle Master', 'Fighter'), ('Eldritch Knight', 'Fighter'),
+    ('Evoker', 'Wizard'), ('Abjurer', 'Wizard'),
+    ('Thief', 'Rogue'), ('Assassin', 'Rogue'),
+    ('Life Domain', 'Cleric'), ('Light Domain', 'Cleric'),
+    ('College of Lore', 'Bard');
+INSERT INTO species VALUES
+    ('Elf', 'Medium', 'Graceful and long-lived'), ('Dwarf', 'Medium', 'Bold and hardy'),
+    ('Halfling', 'Small', 'Small and lucky'), ('Human', 'Medium', 'Ambitious and varied');
+INSERT INTO subspecies VALUES
+    ('High Elf', 'Elf'), ('Wood Elf', 'Elf'), ('Hill Dwarf', 'Dwarf'), ('Mountain Dwarf', 'Dwarf'),
+    ('Lightfoot', 'Halfling'), ('Stout', 'Halfling'), ('Standard Human', 'Human');
+INSERT INTO background VALUES ('Soldier'), ('Sage'), ('Criminal'), ('Acolyte'), ('Folk Hero');
+INSERT INTO game VALUES
+    ('Lost Mine', 'Forgotten Realms', 'Goblins and a lost mine', TIMESTAMP '2025-01-01 18:00:00'),
+    ('Sky Pirates', 'Eberron', 'Airships over Khorvaire', TIMESTAMP '2025-01-03 19:00:00'),
+    ('Curse of Strahd', 'Ravenloft', 'Gothic horror', NULL),
+    ('Dragon Heist', 'Forgotten Realms', 'A city caper', TIMESTAMP '2025-01-05 17:30:00');
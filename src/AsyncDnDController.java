@@ -0,0 +1,409 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous facade over the data access objects.
+ * Every controller operation is available as a method returning a {@link QueryFuture},
+ * run on its own virtual thread so a slow query never blocks the Event Dispatch Thread.
+ * Cancelling a returned future cancels the statement it is executing. Unlike
+ * {@link DnDController}, failures are not reported here; they complete the future
+ * exceptionally so the caller decides how to present them.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class AsyncDnDController implements AutoCloseable {
+    private final ExecutorService myExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CharacterDAO myCharacterDAO;
+    private final PlayerDAO myPlayerDAO;
+    private final CampaignDAO myCampaignDAO;
+    private final ReferenceDataCache myReferenceData;
+    private final ReportDAO myReportDAO;
+
+    /**
+     * Constructs the asynchronous facade over the given DAOs and reference data cache.
+     *
+     * @param theCharacterDAO the character data access object
+     * @param thePlayerDAO the player data access object
+     * @param theCampaignDAO the campaign data access object
+     * @param theReferenceData the cache that serves class, species and background lookups
+     * @param theReportDAO the report data access object
+     */
+    public AsyncDnDController(CharacterDAO theCharacterDAO, PlayerDAO thePlayerDAO, CampaignDAO theCampaignDAO,
+                              ReferenceDataCache theReferenceData, ReportDAO theReportDAO) {
+        myCharacterDAO = theCharacterDAO;
+        myPlayerDAO = thePlayerDAO;
+        myCampaignDAO = theCampaignDAO;
+        myReferenceData = theReferenceData;
+        myReportDAO = theReportDAO;
+    }
+
+    /**
+     * Retrieves detailed character information in the background.
+     *
+     * @return a future for the list of characters with their player names
+     */
+    public QueryFuture<List<Character>> getCharactersWithDetailsAsync() {
+        return submit(myCharacterDAO::getCharactersWithDetails);
+    }
+
+    /**
+     * Counts the characters in the database in the background.
+     *
+     * @return a future for the number of characters
+     */
+    public QueryFuture<Integer> getCharacterCountAsync() {
+        return submit(myCharacterDAO::getCharacterCount);
+    }
+
+    /**
+     * Retrieves one page of detailed character information after a known character ID
+     * in the background.
+     *
+     * @param theAfterCharId the last character ID of the previous page, or null for the first page
+     * @param thePageSize the maximum number of characters to return
+     * @return a future for the page of characters with their player names
+     */
+    public QueryFuture<List<Character>> getCharactersWithDetailsPageAsync(String theAfterCharId,
+                                                                          int thePageSize) {
+        return submit(() -> myCharacterDAO.getCharactersWithDetailsPage(theAfterCharId, thePageSize));
+    }
+
+    /**
+     * Retrieves one page of detailed character information starting at a row position
+     * in the background.
+     *
+     * @param theOffset the zero-based position of the first character to return
+     * @param thePageSize the maximum number of characters to return
+     * @return a future for the page of characters with their player names
+     */
+    public QueryFuture<List<Character>> getCharactersWithDetailsPageAtAsync(int theOffset, int thePageSize) {
+        return submit(() -> myCharacterDAO.getCharactersWithDetailsPageAt(theOffset, thePageSize));
+    }
+
+    /**
+     * Creates a new character in the database in the background.
+     *
+     * @param theCharacter the character to create
+     * @return a future completing with true if creation was successful, false otherwise
+     */
+    public QueryFuture<Boolean> createCharacterAsync(Character theCharacter) {
+        return submit(() -> myCharacterDAO.insertCharacter(theCharacter));
+    }
+
+    /**
+     * Creates many characters in the background using batched inserts.
+     *
+     * @param theCharacters the characters to create
+     * @return a future for the number of characters created and the rows that were not
+     * @see CharacterDAO#insertCharacters(Collection)
+     */
+    public QueryFuture<BulkInsertResult> createCharactersAsync(Collection<Character> theCharacters) {
+        return submit(() -> myCharacterDAO.insertCharacters(theCharacters));
+    }
+
+    /**
+     * Imports characters from a CSV or JSON file in the background.
+     * Cancelling the future stops the import before its next chunk is committed.
+     *
+     * @param theFile the file to import
+     * @param theResume true to continue after the last chunk an earlier import committed
+     * @param theListener receives progress after each committed chunk, on the importing thread
+     * @return a future for the import's counts, rate and rejected records
+     * @see CharacterImporter#importFile(Path, boolean, CharacterImporter.ProgressListener)
+     */
+    public QueryFuture<ImportResult> importCharactersAsync(Path theFile, boolean theResume,
+                                                           CharacterImporter.ProgressListener theListener) {
+        CharacterImporter importer = new CharacterImporter(myCharacterDAO, myPlayerDAO, myCampaignDAO, myReferenceData);
+        return submit(() -> {
+            try {
+                return importer.importFile(theFile, theResume, theListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Updates an existing character in the database in the background.
+     *
+     * @param theCharacter the character with updated information
+     * @return a future completing with true if update was successful, false otherwise
+     */
+    public QueryFuture<Boolean> updateCharacterAsync(Character theCharacter) {
+        return submit(() -> myCharacterDAO.updateCharacter(theCharacter));
+    }
+
+    /**
+     * Deletes a character from the database in the background.
+     *
+     * @param theCharacterId the ID of the character to delete
+     * @return a future completing with true if deletion was successful, false otherwise
+     */
+    public QueryFuture<Boolean> deleteCharacterAsync(String theCharacterId) {
+        return submit(() -> myCharacterDAO.deleteCharacter(theCharacterId));
+    }
+
+    /**
+     * Retrieves all characters belonging to a specific player in the background.
+     *
+     * @param thePlayerId the ID of the player
+     * @return a future for the list of characters owned by the player
+     */
+    public QueryFuture<List<Character>> getCharactersByPlayerAsync(int thePlayerId) {
+        return submit(() -> myCharacterDAO.getCharactersByPlayer(thePlayerId));
+    }
+
+    /**
+     * Retrieves all players from the database in the background.
+     *
+     * @return a future for the list of all players
+     */
+    public QueryFuture<List<Player>> getAllPlayersAsync() {
+        return submit(myPlayerDAO::getAllPlayers);
+    }
+
+    /**
+     * Creates a new player in the database in the background.
+     *
+     * @param thePlayer the player to create
+     * @return a future completing with true if creation was successful, false otherwise
+     */
+    public QueryFuture<Boolean> createPlayerAsync(Player thePlayer) {
+        return submit(() -> {
+            if (thePlayer.getPlayerId() == 0) {
+                thePlayer.setPlayerId(myPlayerDAO.getNextPlayerId());
+            }
+            return myPlayerDAO.insertPlayer(thePlayer);
+        });
+    }
+
+    /**
+     * Deletes a player from the database in the background.
+     *
+     * @param thePlayerId the ID of the player to delete
+     * @return a future completing with true if deletion was successful, false otherwise
+     */
+    public QueryFuture<Boolean> deletePlayerAsync(int thePlayerId) {
+        return submit(() -> myPlayerDAO.deletePlayer(thePlayerId));
+    }
+
+    /**
+     * Checks if a player has any associated characters in the background.
+     *
+     * @param thePlayerId the ID of the player to check
+     * @return a future completing with true if the player has characters, false otherwise
+     */
+    public QueryFuture<Boolean> playerHasCharactersAsync(int thePlayerId) {
+        return submit(() -> myPlayerDAO.playerHasCharacters(thePlayerId));
+    }
+
+    /**
+     * Gets the count of characters for a specific player in the background.
+     *
+     * @param thePlayerId the ID of the player
+     * @return a future for the number of characters owned by the player
+     */
+    public QueryFuture<Integer> getPlayerCharacterCountAsync(int thePlayerId) {
+        return submit(() -> myPlayerDAO.getCharacterCount(thePlayerId));
+    }
+
+    /**
+     * Retrieves all campaigns from the database in the background.
+     *
+     * @return a future for the list of all campaigns
+     */
+    public QueryFuture<List<Campaign>> getAllCampaignsAsync() {
+        return submit(myCampaignDAO::getAllCampaigns);
+    }
+
+    /**
+     * Retrieves all class names from the reference data cache in the background.
+     *
+     * @return a future for the list of class IDs
+     */
+    public QueryFuture<List<String>> getClassesAsync() {
+        return submit(myReferenceData::getClasses);
+    }
+
+    /**
+     * Retrieves all subclass names from the reference data cache in the background.
+     *
+     * @return a future for the list of subclass IDs
+     */
+    public QueryFuture<List<String>> getSubclassesAsync() {
+        return submit(myReferenceData::getSubclasses);
+    }
+
+    /**
+     * Retrieves subclasses for a specific class in the background.
+     *
+     * @param theClassId the class to get subclasses for
+     * @return a future for the list of subclass IDs for the specified class
+     */
+    public QueryFuture<List<String>> getSubclassesByClassAsync(String theClassId) {
+        return submit(() -> myReferenceData.getSubclassesByClass(theClassId));
+    }
+
+    /**
+     * Retrieves every class with its subclasses in the background.
+     *
+     * @return a future for the map from class ID to subclass IDs
+     */
+    public QueryFuture<Map<String, List<String>>> getSubclassHierarchyAsync() {
+        return submit(myReferenceData::getSubclassHierarchy);
+    }
+
+    /**
+     * Retrieves all species names from the reference data cache in the background.
+     *
+     * @return a future for the list of species IDs
+     */
+    public QueryFuture<List<String>> getSpeciesAsync() {
+        return submit(myReferenceData::getSpecies);
+    }
+
+    /**
+     * Retrieves all subspecies names from the reference data cache in the background.
+     *
+     * @return a future for the list of subspecies IDs
+     */
+    public QueryFuture<List<String>> getSubspeciesAsync() {
+        return submit(myReferenceData::getSubspecies);
+    }
+
+    /**
+     * Retrieves subspecies for a specific species in the background.
+     *
+     * @param theSpeciesId the species to get subspecies for
+     * @return a future for the list of subspecies IDs for the specified species
+     */
+    public QueryFuture<List<String>> getSubspeciesBySpeciesAsync(String theSpeciesId) {
+        return submit(() -> myReferenceData.getSubspeciesBySpecies(theSpeciesId));
+    }
+
+    /**
+     * Retrieves every species with its subspecies in the background.
+     *
+     * @return a future for the map from species ID to subspecies IDs
+     */
+    public QueryFuture<Map<String, List<String>>> getSubspeciesHierarchyAsync() {
+        return submit(myReferenceData::getSubspeciesHierarchy);
+    }
+
+    /**
+     * Retrieves all background names from the reference data cache in the background.
+     *
+     * @return a future for the list of background IDs
+     */
+    public QueryFuture<List<String>> getBackgroundsAsync() {
+        return submit(myReferenceData::getBackgrounds);
+    }
+
+    /**
+     * Retrieves all class objects with detailed information in the background.
+     *
+     * @return a future for the list of DnDClass objects
+     */
+    public QueryFuture<List<DnDClass>> getAllClassesAsync() {
+        return submit(myReferenceData::getAllClasses);
+    }
+
+    /**
+     * Retrieves all species objects with detailed information in the background.
+     *
+     * @return a future for the list of Species objects
+     */
+    public QueryFuture<List<Species>> getAllSpeciesAsync() {
+        return submit(myReferenceData::getAllSpecies);
+    }
+
+    /**
+     * Runs a report in the background.
+     *
+     * @param theReport the report to run
+     * @return a future for the report's rows
+     */
+    public QueryFuture<ResultTable> runReportAsync(ReportDAO.Report theReport) {
+        return submit(() -> myReportDAO.executeQuery(theReport));
+    }
+
+    /**
+     * Delivers the outcome of a future on the Event Dispatch Thread.
+     * Exactly one callback runs unless the future is cancelled, in which case neither does.
+     *
+     * @param <T> the result type
+     * @param theFuture the future to observe
+     * @param theOnSuccess receives the result on the EDT
+     * @param theOnFailure receives the failure cause on the EDT
+     * @return a future that completes after the callback has run
+     */
+    public static <T> CompletableFuture<Void> onEdt(CompletableFuture<T> theFuture,
+                                                    Consumer<? super T> theOnSuccess,
+                                                    Consumer<? super Throwable> theOnFailure) {
+        return theFuture.handleAsync((theResult, theError) -> {
+            if (theError == null) {
+                theOnSuccess.accept(theResult);
+            } else {
+                Throwable cause = theError instanceof CompletionException && theError.getCause() != null
+                        ? theError.getCause() : theError;
+                if (!(cause instanceof CancellationException)) {
+                    theOnFailure.accept(cause);
+                }
+            }
+            return null;
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Streams a report to a CSV or NDJSON file in the background.
+     * Cancelling the future stops the query and leaves any existing file unchanged.
+     *
+     * @param theReport the report to export
+     * @param theFile the file to write; its extension selects the format
+     * @return a future for the number of rows written
+     * @see DataExporter#export(ReportDAO.Report, Path)
+     */
+    public QueryFuture<Long> exportReportAsync(ReportDAO.Report theReport, Path theFile) {
+        return submit(() -> {
+            try {
+                return new DataExporter().export(theReport, theFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Stops accepting new work. Calls already running are left to finish.
+     */
+    @Override
+    public void close() {
+        myExecutor.shutdown();
+    }
+
+    /**
+     * Runs a database task on a new virtual thread.
+     *
+     * @param <T> the result type
+     * @param theTask the database work
+     * @return a future for the task's result
+     */
+    private <T> QueryFuture<T> submit(QueryFuture.SqlTask<T> theTask) {
+        QueryFuture<T> future = new QueryFuture<>();
+        myExecutor.execute(() -> future.run(theTask));
+        return future;
+    }
+}
@@ -0,0 +1,195 @@
+import java.awt.Component;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads data for one part of a view off the Event Dispatch Thread.
+ * Each loader runs at most one request at a time: starting a new load cancels the
+ * previous one, and results from a superseded request are dropped even if they
+ * arrive after it was replaced. While a load is running it is shown in the
+ * main view's status bar. Loaders belong to a tab, so the main view can suspend
+ * them when the user leaves the tab and resume them when the user returns.
+ * Each load that completes is emitted as a {@link ViewRefreshEvent} when a
+ * flight recording is running.
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class BackgroundLoader {
+    private final DnDMainView myMainView;
+    private final Component myOwner;
+    private int myGeneration;
+    private CompletableFuture<?> myPending;
+    private Runnable myLastRequest;
+    private boolean mySuspended;
+
+    /**
+     * Constructs a loader for a component shown in one of the main view's tabs.
+     *
+     * @param theMainView the main application view
+     * @param theOwner the tab component whose data this loader loads
+     */
+    public BackgroundLoader(DnDMainView theMainView, Component theOwner) {
+        myMainView = theMainView;
+        myOwner = theOwner;
+        myMainView.registerLoader(theOwner, this);
+    }
+
+    /**
+     * Starts a load, cancelling any load this loader is already running.
+     * The request runs in the background; exactly one of the callbacks then runs
+     * on the Event Dispatch Thread, unless the load is cancelled or superseded first.
+     *
+     * @param <T> the result type
+     * @param theTask the status bar text shown while the load runs
+     * @param theRequest starts the background work and returns its future
+     * @param theOnLoaded receives the result on the Event Dispatch Thread
+     * @param theOnFailed receives the failure cause on the Event Dispatch Thread
+     */
+    public <T> void load(String theTask, Supplier<? extends CompletableFuture<T>> theRequest,
+                         Consumer<? super T> theOnLoaded, Consumer<? super Throwable> theOnFailed) {
+        myLastRequest = () -> load(theTask, theRequest, theOnLoaded, theOnFailed);
+        mySuspended = false;
+        cancelPending();
+
+        int generation = ++myGeneration;
+        ViewRefreshEvent event = new ViewRefreshEvent();
+        event.begin();
+        CompletableFuture<T> future = theRequest.get();
+        myPending = future;
+        myMainView.loadingStarted(this, theTask);
+
+        AsyncDnDController.onEdt(future, theResult -> {
+            if (finish(generation)) {
+                long buildStart = System.nanoTime();
+                theOnLoaded.accept(theResult);
+                commit(event, theTask, countRows(theResult), System.nanoTime() - buildStart, false);
+            }
+        }, theError -> {
+            if (finish(generation)) {
+                theOnFailed.accept(theError);
+                commit(event, theTask, 0, 0, true);
+            }
+        });
+    }
+
+    /**
+     * Cancels the running load, if any. Its result will never be delivered.
+     *
+     * @return true if a load was running
+     */
+    public boolean cancel() {
+        if (myPending == null) {
+            return false;
+        }
+        myGeneration++;
+        cancelPending();
+        return true;
+    }
+
+    /**
+     * Checks whether a load is running.
+     *
+     * @return true if a load is running
+     */
+    public boolean isLoading() {
+        return myPending != null;
+    }
+
+    /**
+     * Cancels the running load and remembers to repeat it on {@link #resume()}.
+     * Called when the user leaves the loader's tab.
+     */
+    void suspend() {
+        if (cancel()) {
+            mySuspended = true;
+        }
+    }
+
+    /**
+     * Repeats the load that was cancelled by {@link #suspend()}, if any.
+     * Called when the user returns to the loader's tab.
+     */
+    void resume() {
+        if (mySuspended) {
+            mySuspended = false;
+            myLastRequest.run();
+        }
+    }
+
+    /**
+     * Ends a load's flight recorder event and commits it if a recording wants it.
+     *
+     * @param theEvent the event started with the load
+     * @param theTask the status bar text of the load
+     * @param theRows the rows the load delivered
+     * @param theBuildNanos the time spent handing the rows to the view
+     * @param theFailed whether the load failed
+     */
+    private void commit(ViewRefreshEvent theEvent, String theTask, long theRows, long theBuildNanos,
+                        boolean theFailed) {
+        theEvent.end();
+        if (theEvent.shouldCommit()) {
+            theEvent.tab = myMainView.getTabTitle(myOwner);
+            theEvent.task = theTask;
+            theEvent.rows = theRows;
+            theEvent.modelBuildTime = theBuildNanos;
+            theEvent.failed = theFailed;
+            theEvent.commit();
+        }
+    }
+
+    /**
+     * Counts the rows in a load's result: the size of a list, the rows of a
+     * {@link ResultTable}, or the value of a row count. A startup page is counted
+     * by its character count, like a refresh that reads only the count.
+     *
+     * @param theResult the result
+     * @return the number of rows
+     */
+    private static long countRows(Object theResult) {
+        if (theResult instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (theResult instanceof ResultTable table) {
+            return table.getRowCount();
+        }
+        if (theResult instanceof Number count) {
+            return count.longValue();
+        }
+        if (theResult instanceof StartupOrchestrator.StartupPage page) {
+            return page.getCount();
+        }
+        return theResult == null ? 0 : 1;
+    }
+
+    /**
+     * Marks a load as finished if it is still the current one.
+     *
+     * @param theGeneration the generation the load was started with
+     * @return true if the load is current and its result should be delivered
+     */
+    private boolean finish(int theGeneration) {
+        if (theGeneration != myGeneration) {
+            return false;
+        }
+        myPending = null;
+        myMainView.loadingFinished(this);
+        return true;
+    }
+
+    /**
+     * Cancels the pending future and removes it from the status bar.
+     */
+    private void cancelPending() {
+        if (myPending != null) {
+            myPending.cancel(true);
+            myPending = null;
+            myMainView.loadingFinished(this);
+        }
+    }
+}
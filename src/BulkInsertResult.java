@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk character insert. Rows that could not be inserted are
+ * listed with their position in the input and the reason, so the caller can
+ * report or retry them; every other row was inserted and committed.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class BulkInsertResult {
+    private final int mySubmittedCount;
+    private int myInsertedCount;
+    private final List<Failure> myFailures = new ArrayList<>();
+
+    /**
+     * Constructs an empty result for a bulk insert.
+     *
+     * @param theSubmittedCount the number of rows passed to the insert
+     */
+    public BulkInsertResult(int theSubmittedCount) {
+        mySubmittedCount = theSubmittedCount;
+    }
+
+    /**
+     * Gets the number of rows passed to the insert.
+     *
+     * @return the submitted row count
+     */
+    public int getSubmittedCount() {
+        return mySubmittedCount;
+    }
+
+    /**
+     * Gets the number of rows inserted and committed.
+     *
+     * @return the inserted row count
+     */
+    public int getInsertedCount() {
+        return myInsertedCount;
+    }
+
+    /**
+     * Gets the rows that were not inserted, in input order.
+     *
+     * @return an unmodifiable list of failures
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(myFailures);
+    }
+
+    /**
+     * Checks whether any row was not inserted.
+     *
+     * @return true if at least one row failed
+     */
+    public boolean hasFailures() {
+        return !myFailures.isEmpty();
+    }
+
+    /**
+     * Records that rows were inserted and committed.
+     *
+     * @param theCount the number of rows
+     */
+    void addInserted(int theCount) {
+        myInsertedCount += theCount;
+    }
+
+    /**
+     * Records that a row was not inserted.
+     *
+     * @param theIndex the row's zero-based position in the input
+     * @param theCharId the row's character ID, possibly null
+     * @param theReason why the row was not inserted
+     */
+    void addFailure(int theIndex, String theCharId, String theReason) {
+        myFailures.add(new Failure(theIndex, theCharId, theReason));
+    }
+
+    /**
+     * Sorts the failures into input order.
+     */
+    void sortFailures() {
+        myFailures.sort((theFirst, theSecond) -> Integer.compare(theFirst.getIndex(), theSecond.getIndex()));
+    }
+
+    @Override
+    public String toString() {
+        return "Inserted " + myInsertedCount + " of " + mySubmittedCount + " characters"
+                + (myFailures.isEmpty() ? "" : ", " + myFailures.size() + " failed");
+    }
+
+    /**
+     * A row that was not inserted.
+     */
+    public static final class Failure {
+        private final int myIndex;
+        private final String myCharId;
+        private final String myReason;
+
+        /**
+         * Constructs a failure record.
+         *
+         * @param theIndex the row's zero-based position in the input
+         * @param theCharId the row's character ID, possibly null
+         * @param theReason why the row was not inserted
+         */
+        private Failure(int theIndex, String theCharId, String theReason) {
+            myIndex = theIndex;
+            myCharId = theCharId;
+            myReason = theReason;
+        }
+
+        /**
+         * Gets the row's position in the input.
+         *
+         * @return the zero-based input index
+         */
+        public int getIndex() {
+            return myIndex;
+        }
+
+        /**
+         * Gets the row's character ID.
+         *
+         * @return the character ID, possibly null
+         */
+        public String getCharId() {
+            return myCharId;
+        }
+
+        /**
+         * Gets why the row was not inserted.
+         *
+         * @return the failure reason
+         */
+        public String getReason() {
+            return myReason;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + (myIndex + 1) + " (" + myCharId + "): " + myReason;
+        }
+    }
+}
@@ -1,5 +1,3 @@
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -14,15 +12,15 @@ import java.util.List;
  * @version Summer 2025
  */
 public class CampaignDAO {
-    private Connection myConnection;
+    private final DatabaseConnection myDatabase;
 
     /**
-     * Constructs a CampaignDAO and establishes database connection.
+     * Constructs a CampaignDAO backed by the shared connection pool.
      *
      * @throws SQLException if database connection fails
      */
     public CampaignDAO() throws SQLException {
-        myConnection = DatabaseConnection.getInstance().getConnection();
+        myDatabase = DatabaseConnection.getInstance();
     }
 
     /**
@@ -32,22 +30,24 @@ public class CampaignDAO {
      * @throws SQLException if database query fails
      */
     public List<Campaign> getAllCampaigns() throws SQLException {
-        List<Campaign> campaigns = new ArrayList<>();
-        String query = "SELECT game_id, setting, synopsis, meeting_time FROM game ORDER BY game_id";
+        return DaoMetrics.record("CampaignDAO.getAllCampaigns", () -> {
+            List<Campaign> campaigns = new ArrayList<>();
+            String query = "SELECT game_id, setting, synopsis, meeting_time FROM game ORDER BY game_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                Campaign campaign = new Campaign(
-                        rs.getString("game_id"),
-                        rs.getString("setting"),
-                        rs.getString("synopsis"),
-                        rs.getTimestamp("meeting_time")
-                );
-                campaigns.add(campaign);
+                while (rs.next()) {
+                    Campaign campaign = new Campaign(
+                            rs.getString("game_id"),
+                            rs.getString("setting"),
+                            rs.getString("synopsis"),
+                            rs.getTimestamp("meeting_time")
+                    );
+                    campaigns.add(campaign);
+                }
             }
-        }
-        return campaigns;
+            return campaigns;
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+/**
+ * Table model showing one campaign per row. Long synopses are shortened for
+ * display; the full text stays available from the row's {@link Campaign}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class CampaignTableModel extends ListTableModel<Campaign> {
+    private static final int SYNOPSIS_PREVIEW_LENGTH = 100;
+
+    /**
+     * Constructs an empty campaign table model.
+     */
+    public CampaignTableModel() {
+        super("Campaign Name", "Setting", "Synopsis", "Meeting Time");
+    }
+
+    @Override
+    protected Object getKey(Campaign theRow) {
+        return theRow.getGameId();
+    }
+
+    @Override
+    protected Object getColumnValue(Campaign theRow, int theColumn) {
+        return switch (theColumn) {
+            case 0 -> theRow.getGameId();
+            case 1 -> theRow.getSetting();
+            case 2 -> theRow.getSynopsis().length() > SYNOPSIS_PREVIEW_LENGTH ?
+                    theRow.getSynopsis().substring(0, SYNOPSIS_PREVIEW_LENGTH) + "..." :
+                    theRow.getSynopsis();
+            case 3 -> theRow.getMeetingTime();
+            default -> null;
+        };
+    }
+}
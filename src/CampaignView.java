@@ -1,12 +1,9 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
-import java.util.Vector;
 
 /**
  * Campaign management view for displaying and interacting with campaign data.
@@ -20,7 +17,8 @@ public class CampaignView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
     private JTable myCampaignTable;
-    private DefaultTableModel myTableModel;
+    private CampaignTableModel myTableModel;
+    private BackgroundLoader myLoader;
 
     /**
      * Constructs a CampaignView with the specified controller and main view.
@@ -31,6 +29,7 @@ public class CampaignView extends JPanel {
     public CampaignView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myLoader = new BackgroundLoader(myMainView, this);
         initializeComponents();
         setupLayout();
         refreshData();
@@ -40,7 +39,8 @@ public class CampaignView extends JPanel {
      * Initializes GUI components.
      */
     private void initializeComponents() {
-        myCampaignTable = new JTable();
+        myTableModel = new CampaignTableModel();
+        myCampaignTable = new JTable(myTableModel);
         myCampaignTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
         myCampaignTable.addMouseListener(new MouseAdapter() {
@@ -67,17 +67,9 @@ public class CampaignView extends JPanel {
 
             if (columnName.equals("Synopsis")) {
                 try {
-                    String campaignName = (String) myCampaignTable.getValueAt(row, 0);
-
-                    List<Campaign> campaigns = myController.getAllCampaigns();
-                    String fullSynopsis = "";
-
-                    for (Campaign campaign : campaigns) {
-                        if (campaign.getGameId().equals(campaignName)) {
-                            fullSynopsis = campaign.getSynopsis();
-                            break;
-                        }
-                    }
+                    Campaign campaign = myTableModel.getRow(myCampaignTable.convertRowIndexToModel(row));
+                    String campaignName = campaign.getGameId();
+                    String fullSynopsis = campaign.getSynopsis() != null ? campaign.getSynopsis() : "";
 
                     if (!fullSynopsis.isEmpty()) {
                         showTextPopup("Campaign Synopsis: " + campaignName, fullSynopsis);
@@ -140,43 +132,17 @@ public class CampaignView extends JPanel {
     }
 
     /**
-     * Refreshes the campaign data from the database.
+     * Refreshes the campaign data from the database in the background.
+     * A refresh that is still running is cancelled and replaced.
      */
     public void refreshData() {
-        try {
-            List<Campaign> campaigns = myController.getAllCampaigns();
-
-            Vector<String> columnNames = new Vector<String>();
-            columnNames.add("Campaign Name");
-            columnNames.add("Setting");
-            columnNames.add("Synopsis");
-            columnNames.add("Meeting Time");
-
-            Vector<Vector<Object>> data = new Vector<Vector<Object>>();
-            for (Campaign campaign : campaigns) {
-                Vector<Object> row = new Vector<Object>();
-                row.add(campaign.getGameId());
-                row.add(campaign.getSetting());
-                row.add(campaign.getSynopsis().length() > 100 ?
-                        campaign.getSynopsis().substring(0, 100) + "..." :
-                        campaign.getSynopsis());
-                row.add(campaign.getMeetingTime());
-                data.add(row);
-            }
-
-            myTableModel = new DefaultTableModel(data, columnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            myCampaignTable.setModel(myTableModel);
-
-            myMainView.showSuccessMessage("Loaded " + campaigns.size() + " campaigns");
-
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to load campaigns: " + e.getMessage());
-        }
+        myLoader.load("Loading campaigns...",
+                () -> myController.getAsyncController().getAllCampaignsAsync(),
+                theCampaigns -> {
+                    myTableModel.setRows(theCampaigns);
+                    myMainView.showSuccessMessage("Loaded " + theCampaigns.size() + " campaigns");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load campaigns: " + theError.getMessage()));
     }
 
     /**
@@ -190,22 +156,8 @@ public class CampaignView extends JPanel {
         }
 
         try {
-            String campaignName = (String) myCampaignTable.getValueAt(selectedRow, 0);
-
-            List<Campaign> campaigns = myController.getAllCampaigns();
-            Campaign selectedCampaign = null;
-
-            for (Campaign campaign : campaigns) {
-                if (campaign.getGameId().equals(campaignName)) {
-                    selectedCampaign = campaign;
-                    break;
-                }
-            }
-
-            if (selectedCampaign == null) {
-                myMainView.showErrorMessage("Could not find campaign details");
-                return;
-            }
+            Campaign selectedCampaign = myTableModel.getRow(myCampaignTable.convertRowIndexToModel(selectedRow));
+            String campaignName = selectedCampaign.getGameId();
 
             StringBuilder details = new StringBuilder();
             details.append("CAMPAIGN: ").append(selectedCampaign.getGameId()).append("\n");
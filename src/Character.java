@@ -22,6 +22,7 @@ public class Character {
     private int myIntelligence;
     private int myWisdom;
     private int myCharisma;
+    private String myPlayerName = "";
 
     /**
      * Default constructor for Character.
@@ -378,6 +379,25 @@ public class Character {
         return score + " (" + modStr + ")";
     }
 
+    /**
+     * Gets the owning player's display name. It is filled in by queries that join
+     * the player table and is not stored with the character.
+     *
+     * @return the player's full name, or an empty string if not loaded
+     */
+    public String getPlayerName() {
+        return myPlayerName;
+    }
+
+    /**
+     * Sets the owning player's display name.
+     *
+     * @param thePlayerName the player's full name
+     */
+    public void setPlayerName(String thePlayerName) {
+        myPlayerName = thePlayerName;
+    }
+
     /**
      * Gets the full class description including subclass if available.
      *
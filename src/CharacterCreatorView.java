@@ -14,6 +14,8 @@ import java.util.List;
 public class CharacterCreatorView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
+    private BackgroundLoader myPlayerLoader;
+    private BackgroundLoader myCampaignLoader;
 
     private JTextField myNameField;
     private JSpinner myLevelSpinner;
@@ -36,6 +38,8 @@ public class CharacterCreatorView extends JPanel {
     public CharacterCreatorView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myPlayerLoader = new BackgroundLoader(theMainView, this);
+        myCampaignLoader = new BackgroundLoader(theMainView, this);
         initializeComponents();
         setupLayout();
         refreshData();
@@ -193,10 +197,18 @@ public class CharacterCreatorView extends JPanel {
 
     /**
      * Refreshes all form data by loading current information from the database.
-     * Updates combo boxes with classes, species, backgrounds, players, and campaigns.
+     * Classes, species and backgrounds come from the reference data cache and are
+     * loaded at once; players and campaigns are loaded in the background.
      * Also updates dependent dropdowns (subclasses and subspecies).
      */
     public void refreshData() {
+        loadPlayers();
+        loadCampaigns();
+
+        ViewRefreshEvent event = new ViewRefreshEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
         try {
             // Load classes
             myClassCombo.removeAllItems();
@@ -220,33 +232,62 @@ public class CharacterCreatorView extends JPanel {
                 myBackgroundCombo.addItem(background);
             }
 
-            // Load players
-            myPlayerCombo.removeAllItems();
-            List<Player> players = myController.getAllPlayers();
-            for (Player player : players) {
-                myPlayerCombo.addItem(player);
-            }
-
-            // Load campaigns
-            myCampaignCombo.removeAllItems();
-            List<Campaign> campaigns = myController.getAllCampaigns();
-            for (Campaign campaign : campaigns) {
-                myCampaignCombo.addItem(campaign);
-            }
-
             // Update subclasses and subspecies for initially selected items
             updateSubclasses();
             updateSubspecies();
 
-            myMainView.showSuccessMessage("Character creation form loaded with " + classes.size() + " classes, " +
-                    species.size() + " species, " + players.size() + " players, and " +
-                    campaigns.size() + " campaigns");
-
+            myMainView.showSuccessMessage("Character creation form loaded with " + classes.size() + " classes, "
+                    + species.size() + " species, and " + backgrounds.size() + " backgrounds");
+            failed = false;
         } catch (Exception e) {
             myMainView.showErrorMessage("Failed to load character creation data: " + e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.tab = myMainView.getTabTitle(this);
+                event.task = "Loading character creation form";
+                event.rows = myClassCombo.getItemCount() + mySpeciesCombo.getItemCount()
+                        + myBackgroundCombo.getItemCount();
+                // The reference data is read from the cache on the Event Dispatch Thread
+                event.modelBuildTime = System.nanoTime() - start;
+                event.failed = failed;
+                event.commit();
+            }
         }
     }
 
+    /**
+     * Loads the players into the player dropdown in the background.
+     */
+    private void loadPlayers() {
+        myPlayerCombo.removeAllItems();
+        myPlayerLoader.load("Loading players...",
+                () -> myController.getAsyncController().getAllPlayersAsync(),
+                thePlayers -> {
+                    for (Player player : thePlayers) {
+                        myPlayerCombo.addItem(player);
+                    }
+                    myMainView.showInfoMessage("Loaded " + thePlayers.size() + " players");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load players: " + theError.getMessage()));
+    }
+
+    /**
+     * Loads the campaigns into the campaign dropdown in the background.
+     */
+    private void loadCampaigns() {
+        myCampaignCombo.removeAllItems();
+        myCampaignLoader.load("Loading campaigns...",
+                () -> myController.getAsyncController().getAllCampaignsAsync(),
+                theCampaigns -> {
+                    for (Campaign campaign : theCampaigns) {
+                        myCampaignCombo.addItem(campaign);
+                    }
+                    myMainView.showInfoMessage("Loaded " + theCampaigns.size() + " campaigns");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load campaigns: " + theError.getMessage()));
+    }
+
     /**
      * Updates the subclass dropdown based on the currently selected class.
      * Clears existing subclasses and loads those available for the selected class.
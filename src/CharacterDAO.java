@@ -1,8 +1,10 @@
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Data Access Object for Character entities.
@@ -13,15 +15,36 @@ import java.util.Map;
  * @version Summer 2025
  */
 public class CharacterDAO {
-    private Connection myConnection;
+    private static final String DETAILS_QUERY = """
+        SELECT c.char_id, c.lvl, sc.subclass_id, ss.subspecies_id,
+               c.bg_id, c.player_id, p.fname, p.lname, g.game_id,
+               c.s_str, c.s_dex, c.s_con, c.s_int, c.s_wis, c.s_cha,
+               cl.class_id, sp.species_id
+        FROM characters c
+        LEFT JOIN player p ON c.player_id = p.player_id
+        LEFT JOIN game g ON c.game_id = g.game_id
+        LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
+        LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
+        LEFT JOIN class cl ON sc.class_id = cl.class_id
+        LEFT JOIN species sp ON ss.species_id = sp.species_id
+        """;
+
+    private static final String INSERT_QUERY = """
+        INSERT INTO characters (char_id, lvl, subclass_id, subspecies_id, bg_id,
+                              player_id, game_id, s_str, s_dex, s_con, s_int, s_wis, s_cha)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final DatabaseConnection myDatabase;
 
     /**
-     * Constructs a CharacterDAO and establishes database connection.
+     * Constructs a CharacterDAO backed by the shared connection pool.
      *
      * @throws SQLException if database connection fails
      */
     public CharacterDAO() throws SQLException {
-        myConnection = DatabaseConnection.getInstance().getConnection();
+        myDatabase = DatabaseConnection.getInstance();
     }
 
     /**
@@ -31,68 +54,121 @@ public class CharacterDAO {
      * @throws SQLException if database query fails
      */
     public List<Character> getAllCharacters() throws SQLException {
-        List<Character> characters = new ArrayList<>();
-        String query = """
-            SELECT c.char_id, c.lvl, c.subclass_id, c.subspecies_id, c.bg_id, 
-                   c.player_id, c.game_id, c.s_str, c.s_dex, c.s_con, 
-                   c.s_int, c.s_wis, c.s_cha,
-                   sc.class_id, ss.species_id
-            FROM characters c
-            LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
-            LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
-            ORDER BY c.char_id
-            """;
+        return DaoMetrics.record("CharacterDAO.getAllCharacters", () -> {
+            List<Character> characters = new ArrayList<>();
+            String query = """
+                SELECT c.char_id, c.lvl, c.subclass_id, c.subspecies_id, c.bg_id, 
+                       c.player_id, c.game_id, c.s_str, c.s_dex, c.s_con, 
+                       c.s_int, c.s_wis, c.s_cha,
+                       sc.class_id, ss.species_id
+                FROM characters c
+                LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
+                LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
+                ORDER BY c.char_id
+                """;
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                Character character = new Character(
-                        rs.getString("char_id"),
-                        rs.getInt("lvl"),
-                        rs.getString("class_id"),
-                        rs.getString("subclass_id"),
-                        rs.getString("species_id"),
-                        rs.getString("subspecies_id"),
-                        rs.getString("bg_id"),
-                        rs.getInt("player_id"),
-                        rs.getString("game_id"),
-                        rs.getInt("s_str"),
-                        rs.getInt("s_dex"),
-                        rs.getInt("s_con"),
-                        rs.getInt("s_int"),
-                        rs.getInt("s_wis"),
-                        rs.getInt("s_cha")
-                );
-                characters.add(character);
+                while (rs.next()) {
+                    characters.add(readCharacter(rs));
+                }
             }
-        }
-        return characters;
+            return characters;
+        });
     }
 
     /**
      * Retrieves detailed character information with related data.
      *
-     * @return list of character maps with player and campaign details
+     * @return list of characters with their player names, ordered by character ID
      * @throws SQLException if database query fails
      */
-    public List<Map<String, Object>> getCharactersWithDetails() throws SQLException {
-        String query = """
-            SELECT c.char_id, c.lvl, sc.subclass_id, ss.subspecies_id, 
-                   c.bg_id, p.fname, p.lname, g.game_id,
-                   c.s_str, c.s_dex, c.s_con, c.s_int, c.s_wis, c.s_cha,
-                   cl.class_id, sp.species_id
-            FROM characters c
-            LEFT JOIN player p ON c.player_id = p.player_id
-            LEFT JOIN game g ON c.game_id = g.game_id
-            LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
-            LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
-            LEFT JOIN class cl ON sc.class_id = cl.class_id
-            LEFT JOIN species sp ON ss.species_id = sp.species_id
-            ORDER BY c.char_id
-            """;
+    public List<Character> getCharactersWithDetails() throws SQLException {
+        return DaoMetrics.record("CharacterDAO.getCharactersWithDetails", () -> {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(DETAILS_QUERY + "ORDER BY c.char_id").executeQuery()) {
+                return readCharactersWithDetails(rs);
+            }
+        });
+    }
 
-        return executeQuery(query);
+    /**
+     * Counts the characters in the database.
+     *
+     * @return the number of characters
+     * @throws SQLException if database query fails
+     */
+    public int getCharacterCount() throws SQLException {
+        return DaoMetrics.record("CharacterDAO.getCharacterCount", () -> {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement("SELECT COUNT(*) FROM characters").executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    /**
+     * Retrieves one page of detailed character information, continuing after a known
+     * character ID. The page is found through the primary key index, so reading a page
+     * far into the table costs no more than reading the first one.
+     *
+     * @param theAfterCharId the last character ID of the previous page, or null for the first page
+     * @param thePageSize the maximum number of characters to return
+     * @return up to thePageSize characters with their player names, ordered by character ID
+     * @throws SQLException if database query fails
+     */
+    public List<Character> getCharactersWithDetailsPage(String theAfterCharId, int thePageSize)
+            throws SQLException {
+        return DaoMetrics.record("CharacterDAO.getCharactersWithDetailsPage", () -> {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt;
+                if (theAfterCharId == null) {
+                    stmt = lease.prepareStatement(DETAILS_QUERY + "ORDER BY c.char_id LIMIT ?");
+                    stmt.setInt(1, thePageSize);
+                } else {
+                    stmt = lease.prepareStatement(DETAILS_QUERY + """
+                        WHERE c.char_id > ?
+                        ORDER BY c.char_id LIMIT ?
+                        """);
+                    stmt.setString(1, theAfterCharId);
+                    stmt.setInt(2, thePageSize);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return readCharactersWithDetails(rs);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves one page of detailed character information starting at a row position,
+     * for when the previous page's last character ID is not known. Only the primary key
+     * index is scanned to find the first character ID; the page itself is then read as
+     * in {@link #getCharactersWithDetailsPage(String, int)}.
+     *
+     * @param theOffset the zero-based position of the first character to return
+     * @param thePageSize the maximum number of characters to return
+     * @return up to thePageSize characters with their player names, ordered by character ID
+     * @throws SQLException if database query fails
+     */
+    public List<Character> getCharactersWithDetailsPageAt(int theOffset, int thePageSize)
+            throws SQLException {
+        return DaoMetrics.record("CharacterDAO.getCharactersWithDetailsPageAt", () -> {
+            String query = DETAILS_QUERY + """
+                WHERE c.char_id >= (SELECT char_id FROM characters ORDER BY char_id LIMIT 1 OFFSET ?)
+                ORDER BY c.char_id LIMIT ?
+                """;
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, theOffset);
+                stmt.setInt(2, thePageSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return readCharactersWithDetails(rs);
+                }
+            }
+        });
     }
 
     /**
@@ -103,29 +179,92 @@ public class CharacterDAO {
      * @throws SQLException if database operation fails
      */
     public boolean insertCharacter(Character theCharacter) throws SQLException {
-        String query = """
-            INSERT INTO characters (char_id, lvl, subclass_id, subspecies_id, bg_id, 
-                                  player_id, game_id, s_str, s_dex, s_con, s_int, s_wis, s_cha)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
+        return DaoMetrics.record("CharacterDAO.insertCharacter", () -> {
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(INSERT_QUERY);
+                bindInsert(stmt, theCharacter);
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setString(1, theCharacter.getCharId());
-            stmt.setInt(2, theCharacter.getLevel());
-            stmt.setString(3, theCharacter.getSubclassId());
-            stmt.setString(4, theCharacter.getSubspeciesId());
-            stmt.setString(5, theCharacter.getBackgroundId());
-            stmt.setInt(6, theCharacter.getPlayerId());
-            stmt.setString(7, theCharacter.getGameId());
-            stmt.setInt(8, theCharacter.getStrength());
-            stmt.setInt(9, theCharacter.getDexterity());
-            stmt.setInt(10, theCharacter.getConstitution());
-            stmt.setInt(11, theCharacter.getIntelligence());
-            stmt.setInt(12, theCharacter.getWisdom());
-            stmt.setInt(13, theCharacter.getCharisma());
+    /**
+     * Inserts many characters using JDBC batches of the default size.
+     * The batch size can be set with the dungeondata.insert.batchSize property.
+     *
+     * @param theCharacters the characters to insert
+     * @return the number of rows inserted and the rows that were not
+     * @throws SQLException if the database fails for a reason other than a bad row
+     * @see #insertCharacters(Collection, int)
+     */
+    public BulkInsertResult insertCharacters(Collection<Character> theCharacters) throws SQLException {
+        return insertCharacters(theCharacters, Integer.getInteger("dungeondata.insert.batchSize", INSERT_BATCH_SIZE));
+    }
 
-            return stmt.executeUpdate() > 0;
-        }
+    /**
+     * Inserts many characters using JDBC batches. Each batch is committed as its own
+     * transaction, so a failure part way through keeps the batches already committed.
+     * Rows with a missing character ID, a character ID repeated in the input, or a
+     * character ID already in the database are reported as failures and skipped.
+     * If a batch is rejected, it is rolled back and its rows are inserted one at a
+     * time so only the offending rows fail.
+     *
+     * @param theCharacters the characters to insert
+     * @param theBatchSize the number of rows sent and committed together
+     * @return the number of rows inserted and the rows that were not
+     * @throws SQLException if the database fails for a reason other than a bad row;
+     *                      batches committed before the failure stay committed
+     */
+    public BulkInsertResult insertCharacters(Collection<Character> theCharacters, int theBatchSize)
+            throws SQLException {
+        return DaoMetrics.record("CharacterDAO.insertCharacters", () -> {
+            int batchSize = Math.max(1, theBatchSize);
+            BulkInsertResult result = new BulkInsertResult(theCharacters.size());
+
+            List<Character> batch = new ArrayList<>(Math.min(batchSize, theCharacters.size()));
+            List<Integer> batchIndexes = new ArrayList<>(batchSize);
+            Set<String> seen = new HashSet<>();
+
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                Connection connection = lease.getConnection();
+                connection.setAutoCommit(false);
+                try {
+                    int index = 0;
+                    for (Character character : theCharacters) {
+                        String charId = character.getCharId();
+                        if (charId == null || charId.isBlank()) {
+                            result.addFailure(index, charId, "Character name is required");
+                        } else if (!seen.add(charId)) {
+                            result.addFailure(index, charId, "Character name appears more than once in the input");
+                        } else {
+                            batch.add(character);
+                            batchIndexes.add(index);
+                            if (batch.size() == batchSize) {
+                                insertBatch(lease, batch, batchIndexes, result);
+                                batch.clear();
+                                batchIndexes.clear();
+                            }
+                        }
+                        index++;
+                    }
+                    if (!batch.isEmpty()) {
+                        insertBatch(lease, batch, batchIndexes, result);
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    try {
+                        connection.rollback();
+                        connection.setAutoCommit(true);
+                    } catch (SQLException restoreFailure) {
+                        // The pool resets the connection on release; the insert's failure is the one to report
+                        e.addSuppressed(restoreFailure);
+                    }
+                    throw e;
+                }
+                connection.setAutoCommit(true);
+            }
+            result.sortFailures();
+            return result;
+        });
     }
 
     /**
@@ -136,31 +275,34 @@ public class CharacterDAO {
      * @throws SQLException if database operation fails
      */
     public boolean updateCharacter(Character theCharacter) throws SQLException {
-        String query = """
-            UPDATE characters 
-            SET lvl = ?, subclass_id = ?, subspecies_id = ?, bg_id = ?, 
-                player_id = ?, game_id = ?, s_str = ?, s_dex = ?, s_con = ?, 
-                s_int = ?, s_wis = ?, s_cha = ?
-            WHERE char_id = ?
-            """;
+        return DaoMetrics.record("CharacterDAO.updateCharacter", () -> {
+            String query = """
+                UPDATE characters 
+                SET lvl = ?, subclass_id = ?, subspecies_id = ?, bg_id = ?, 
+                    player_id = ?, game_id = ?, s_str = ?, s_dex = ?, s_con = ?, 
+                    s_int = ?, s_wis = ?, s_cha = ?
+                WHERE char_id = ?
+                """;
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, theCharacter.getLevel());
-            stmt.setString(2, theCharacter.getSubclassId());
-            stmt.setString(3, theCharacter.getSubspeciesId());
-            stmt.setString(4, theCharacter.getBackgroundId());
-            stmt.setInt(5, theCharacter.getPlayerId());
-            stmt.setString(6, theCharacter.getGameId());
-            stmt.setInt(7, theCharacter.getStrength());
-            stmt.setInt(8, theCharacter.getDexterity());
-            stmt.setInt(9, theCharacter.getConstitution());
-            stmt.setInt(10, theCharacter.getIntelligence());
-            stmt.setInt(11, theCharacter.getWisdom());
-            stmt.setInt(12, theCharacter.getCharisma());
-            stmt.setString(13, theCharacter.getCharId());
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, theCharacter.getLevel());
+                stmt.setString(2, theCharacter.getSubclassId());
+                stmt.setString(3, theCharacter.getSubspeciesId());
+                stmt.setString(4, theCharacter.getBackgroundId());
+                stmt.setInt(5, theCharacter.getPlayerId());
+                stmt.setString(6, theCharacter.getGameId());
+                stmt.setInt(7, theCharacter.getStrength());
+                stmt.setInt(8, theCharacter.getDexterity());
+                stmt.setInt(9, theCharacter.getConstitution());
+                stmt.setInt(10, theCharacter.getIntelligence());
+                stmt.setInt(11, theCharacter.getWisdom());
+                stmt.setInt(12, theCharacter.getCharisma());
+                stmt.setString(13, theCharacter.getCharId());
 
-            return stmt.executeUpdate() > 0;
-        }
+                return stmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -171,11 +313,14 @@ public class CharacterDAO {
      * @throws SQLException if database operation fails
      */
     public boolean deleteCharacter(String theCharacterId) throws SQLException {
-        String query = "DELETE FROM characters WHERE char_id = ?";
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setString(1, theCharacterId);
-            return stmt.executeUpdate() > 0;
-        }
+        return DaoMetrics.record("CharacterDAO.deleteCharacter", () -> {
+            String query = "DELETE FROM characters WHERE char_id = ?";
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setString(1, theCharacterId);
+                return stmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -186,72 +331,185 @@ public class CharacterDAO {
      * @throws SQLException if database query fails
      */
     public List<Character> getCharactersByPlayer(int thePlayerId) throws SQLException {
-        List<Character> characters = new ArrayList<>();
-        String query = """
-            SELECT c.char_id, c.lvl, c.subclass_id, c.subspecies_id, c.bg_id, 
-                   c.player_id, c.game_id, c.s_str, c.s_dex, c.s_con, c.s_int, c.s_wis, c.s_cha,
-                   sc.class_id, ss.species_id
-            FROM characters c
-            LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
-            LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
-            WHERE c.player_id = ?
-            ORDER BY c.char_id
-            """;
+        return DaoMetrics.record("CharacterDAO.getCharactersByPlayer", () -> {
+            List<Character> characters = new ArrayList<>();
+            String query = """
+                SELECT c.char_id, c.lvl, c.subclass_id, c.subspecies_id, c.bg_id, 
+                       c.player_id, c.game_id, c.s_str, c.s_dex, c.s_con, c.s_int, c.s_wis, c.s_cha,
+                       sc.class_id, ss.species_id
+                FROM characters c
+                LEFT JOIN subclass sc ON c.subclass_id = sc.subclass_id
+                LEFT JOIN subspecies ss ON c.subspecies_id = ss.subspecies_id
+                WHERE c.player_id = ?
+                ORDER BY c.char_id
+                """;
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, thePlayerId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Character character = new Character(
-                            rs.getString("char_id"),
-                            rs.getInt("lvl"),
-                            rs.getString("class_id"),
-                            rs.getString("subclass_id"),
-                            rs.getString("species_id"),
-                            rs.getString("subspecies_id"),
-                            rs.getString("bg_id"),
-                            rs.getInt("player_id"),
-                            rs.getString("game_id"),
-                            rs.getInt("s_str"),
-                            rs.getInt("s_dex"),
-                            rs.getInt("s_con"),
-                            rs.getInt("s_int"),
-                            rs.getInt("s_wis"),
-                            rs.getInt("s_cha")
-                    );
-                    characters.add(character);
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, thePlayerId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        characters.add(readCharacter(rs));
+                    }
                 }
             }
+            return characters;
+        });
+    }
+
+    /**
+     * Inserts and commits one batch of characters, skipping those already in the database.
+     * If the database rejects the batch, it is rolled back and retried one row at a time.
+     *
+     * @param theLease the lease whose connection has auto-commit turned off
+     * @param theBatch the characters to insert
+     * @param theIndexes each character's position in the caller's input
+     * @param theResult collects the inserted count and the failed rows
+     * @throws SQLException if the database fails for a reason other than a bad row
+     */
+    private void insertBatch(ConnectionLease theLease, List<Character> theBatch, List<Integer> theIndexes,
+                             BulkInsertResult theResult) throws SQLException {
+        Set<String> existing = findExistingIds(theLease, theBatch);
+        List<Character> toInsert = new ArrayList<>(theBatch.size());
+        List<Integer> toInsertIndexes = new ArrayList<>(theBatch.size());
+        for (int i = 0; i < theBatch.size(); i++) {
+            Character character = theBatch.get(i);
+            if (existing.contains(character.getCharId())) {
+                theResult.addFailure(theIndexes.get(i), character.getCharId(), "Character name already exists");
+            } else {
+                toInsert.add(character);
+                toInsertIndexes.add(theIndexes.get(i));
+            }
         }
-        return characters;
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        Connection connection = theLease.getConnection();
+        PreparedStatement stmt = theLease.prepareStatement(INSERT_QUERY);
+        try {
+            for (Character character : toInsert) {
+                bindInsert(stmt, character);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            connection.commit();
+            theResult.addInserted(toInsert.size());
+            return;
+        } catch (BatchUpdateException e) {
+            stmt.clearBatch();
+            connection.rollback();
+        }
+
+        // The batch was rejected as a whole; find the rows responsible
+        int inserted = 0;
+        for (int i = 0; i < toInsert.size(); i++) {
+            Character character = toInsert.get(i);
+            try {
+                bindInsert(stmt, character);
+                inserted += stmt.executeUpdate();
+            } catch (SQLException e) {
+                theResult.addFailure(toInsertIndexes.get(i), character.getCharId(), e.getMessage());
+            }
+        }
+        connection.commit();
+        theResult.addInserted(inserted);
     }
 
     /**
-     * Executes a query and returns results as a list of maps.
+     * Finds which of the given characters' IDs are already in the database.
      *
-     * @param theQuery the SQL query to execute
-     * @return list of result maps
+     * @param theLease the lease to query with
+     * @param theCharacters the characters to look up
+     * @return the character IDs that already exist
      * @throws SQLException if database query fails
      */
-    private List<Map<String, Object>> executeQuery(String theQuery) throws SQLException {
-        List<Map<String, Object>> results = new ArrayList<>();
+    private Set<String> findExistingIds(ConnectionLease theLease, List<Character> theCharacters)
+            throws SQLException {
+        String query = "SELECT char_id FROM characters WHERE char_id IN ("
+                + String.join(", ", Collections.nCopies(theCharacters.size(), "?")) + ")";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(theQuery);
-             ResultSet rs = stmt.executeQuery()) {
+        PreparedStatement stmt = theLease.prepareStatement(query);
+        for (int i = 0; i < theCharacters.size(); i++) {
+            stmt.setString(i + 1, theCharacters.get(i).getCharId());
+        }
+        Set<String> existing = new HashSet<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                existing.add(rs.getString(1));
+            }
+        }
+        return existing;
+    }
 
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
+    /**
+     * Sets the parameters of {@link #INSERT_QUERY} from a character.
+     *
+     * @param theStatement the insert statement
+     * @param theCharacter the character to insert
+     * @throws SQLException if a parameter cannot be set
+     */
+    private void bindInsert(PreparedStatement theStatement, Character theCharacter) throws SQLException {
+        theStatement.setString(1, theCharacter.getCharId());
+        theStatement.setInt(2, theCharacter.getLevel());
+        theStatement.setString(3, theCharacter.getSubclassId());
+        theStatement.setString(4, theCharacter.getSubspeciesId());
+        theStatement.setString(5, theCharacter.getBackgroundId());
+        theStatement.setInt(6, theCharacter.getPlayerId());
+        theStatement.setString(7, theCharacter.getGameId());
+        theStatement.setInt(8, theCharacter.getStrength());
+        theStatement.setInt(9, theCharacter.getDexterity());
+        theStatement.setInt(10, theCharacter.getConstitution());
+        theStatement.setInt(11, theCharacter.getIntelligence());
+        theStatement.setInt(12, theCharacter.getWisdom());
+        theStatement.setInt(13, theCharacter.getCharisma());
+    }
 
-            while (rs.next()) {
-                Map<String, Object> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnLabel(i);
-                    Object value = rs.getObject(i);
-                    row.put(columnName, value);
-                }
-                results.add(row);
+    /**
+     * Reads every remaining row of a detailed character query.
+     *
+     * @param theResults a result set from {@link #DETAILS_QUERY}
+     * @return the characters with their player names
+     * @throws SQLException if reading the result set fails
+     */
+    private List<Character> readCharactersWithDetails(ResultSet theResults) throws SQLException {
+        List<Character> characters = new ArrayList<>();
+        while (theResults.next()) {
+            Character character = readCharacter(theResults);
+            String firstName = theResults.getString("fname");
+            String lastName = theResults.getString("lname");
+            if (firstName != null) {
+                character.setPlayerName(lastName != null ? firstName + " " + lastName : firstName);
             }
+            characters.add(character);
         }
-        return results;
+        return characters;
+    }
+
+    /**
+     * Reads the character at the result set's current row.
+     *
+     * @param theResults a result set with the character columns plus class_id and species_id
+     * @return the character
+     * @throws SQLException if reading the row fails
+     */
+    private Character readCharacter(ResultSet theResults) throws SQLException {
+        return new Character(
+                theResults.getString("char_id"),
+                theResults.getInt("lvl"),
+                theResults.getString("class_id"),
+                theResults.getString("subclass_id"),
+                theResults.getString("species_id"),
+                theResults.getString("subspecies_id"),
+                theResults.getString("bg_id"),
+                theResults.getInt("player_id"),
+                theResults.getString("game_id"),
+                theResults.getInt("s_str"),
+                theResults.getInt("s_dex"),
+                theResults.getInt("s_con"),
+                theResults.getInt("s_int"),
+                theResults.getInt("s_wis"),
+                theResults.getInt("s_cha")
+        );
     }
-}
\ No newline at end of file
+}
@@ -14,6 +14,8 @@ public class CharacterEditView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
     private Character myCurrentCharacter;
+    private BackgroundLoader myPlayerLoader;
+    private BackgroundLoader myCampaignLoader;
 
     private JLabel myNameLabel;
     private JSpinner myLevelSpinner;
@@ -39,6 +41,8 @@ public class CharacterEditView extends JPanel {
     public CharacterEditView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myPlayerLoader = new BackgroundLoader(theMainView, this);
+        myCampaignLoader = new BackgroundLoader(theMainView, this);
         initializeComponents();
         setupLayout();
         setVisible(false);
@@ -228,23 +232,7 @@ public class CharacterEditView extends JPanel {
             myBackgroundCombo.setSelectedItem(myCurrentCharacter.getBackgroundId());
         }
 
-        // Set player
-        for (int i = 0; i < myPlayerCombo.getItemCount(); i++) {
-            Player player = myPlayerCombo.getItemAt(i);
-            if (player.getPlayerId() == myCurrentCharacter.getPlayerId()) {
-                myPlayerCombo.setSelectedItem(player);
-                break;
-            }
-        }
-
-        // Set campaign
-        for (int i = 0; i < myCampaignCombo.getItemCount(); i++) {
-            Campaign campaign = myCampaignCombo.getItemAt(i);
-            if (campaign.getGameId().equals(myCurrentCharacter.getGameId())) {
-                myCampaignCombo.setSelectedItem(campaign);
-                break;
-            }
-        }
+        // The player and campaign are selected when their dropdowns have loaded
 
         // Set ability scores
         myAbilitySpinners[0].setValue(myCurrentCharacter.getStrength());
@@ -255,7 +243,20 @@ public class CharacterEditView extends JPanel {
         myAbilitySpinners[5].setValue(myCurrentCharacter.getCharisma());
     }
 
+    /**
+     * Reloads the form's dropdowns. Classes, species and backgrounds come from the
+     * reference data cache and are loaded at once; players and campaigns are loaded
+     * in the background, and the edited character's player and campaign are selected
+     * when they arrive.
+     */
     public void refreshData() {
+        loadPlayers();
+        loadCampaigns();
+
+        ViewRefreshEvent event = new ViewRefreshEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
         try {
             // Load classes
             myClassCombo.removeAllItems();
@@ -277,26 +278,62 @@ public class CharacterEditView extends JPanel {
             for (String background : backgrounds) {
                 myBackgroundCombo.addItem(background);
             }
-
-            // Load players
-            myPlayerCombo.removeAllItems();
-            List<Player> players = myController.getAllPlayers();
-            for (Player player : players) {
-                myPlayerCombo.addItem(player);
-            }
-
-            // Load campaigns
-            myCampaignCombo.removeAllItems();
-            List<Campaign> campaigns = myController.getAllCampaigns();
-            for (Campaign campaign : campaigns) {
-                myCampaignCombo.addItem(campaign);
-            }
-
+            failed = false;
         } catch (Exception e) {
             myMainView.showErrorMessage("Failed to load character edit data: " + e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.tab = myMainView.getTabTitle(this);
+                event.task = "Loading character edit form";
+                event.rows = myClassCombo.getItemCount() + mySpeciesCombo.getItemCount()
+                        + myBackgroundCombo.getItemCount();
+                // The reference data is read from the cache on the Event Dispatch Thread
+                event.modelBuildTime = System.nanoTime() - start;
+                event.failed = failed;
+                event.commit();
+            }
         }
     }
 
+    /**
+     * Loads the players into the player dropdown in the background and selects
+     * the edited character's player.
+     */
+    private void loadPlayers() {
+        myPlayerCombo.removeAllItems();
+        myPlayerLoader.load("Loading players...",
+                () -> myController.getAsyncController().getAllPlayersAsync(),
+                thePlayers -> {
+                    for (Player player : thePlayers) {
+                        myPlayerCombo.addItem(player);
+                        if (myCurrentCharacter != null && player.getPlayerId() == myCurrentCharacter.getPlayerId()) {
+                            myPlayerCombo.setSelectedItem(player);
+                        }
+                    }
+                },
+                theError -> myMainView.showErrorMessage("Failed to load players: " + theError.getMessage()));
+    }
+
+    /**
+     * Loads the campaigns into the campaign dropdown in the background and selects
+     * the edited character's campaign.
+     */
+    private void loadCampaigns() {
+        myCampaignCombo.removeAllItems();
+        myCampaignLoader.load("Loading campaigns...",
+                () -> myController.getAsyncController().getAllCampaignsAsync(),
+                theCampaigns -> {
+                    for (Campaign campaign : theCampaigns) {
+                        myCampaignCombo.addItem(campaign);
+                        if (myCurrentCharacter != null && campaign.getGameId().equals(myCurrentCharacter.getGameId())) {
+                            myCampaignCombo.setSelectedItem(campaign);
+                        }
+                    }
+                },
+                theError -> myMainView.showErrorMessage("Failed to load campaigns: " + theError.getMessage()));
+    }
+
     private void updateSubclasses() {
         mySubclassCombo.removeAllItems();
         String selectedClass = (String) myClassCombo.getSelectedItem();
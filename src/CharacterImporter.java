@@ -0,0 +1,440 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Imports characters from a CSV or JSON file. The file is read one record at a
+ * time, so its size is not limited by memory. Each record is checked against the
+ * cached class, subclass, species, subspecies and background data, its player and
+ * campaign are resolved, and valid characters are inserted in chunks that are each
+ * committed on their own. After every committed chunk a checkpoint file is written
+ * beside the import file, so an import that fails part way can be resumed after
+ * the last committed chunk instead of starting over.
+ *
+ * <p>Field names are matched loosely: for example "name", "char_id" and
+ * "Character Name" all name the character, and "player" may hold a player ID
+ * or a player's full name.</p>
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class CharacterImporter {
+    private static final int CHUNK_SIZE = 1000;
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String[] ABILITIES = {"str", "dex", "con", "int", "wis", "cha"};
+    private static final Pattern NOT_NAME_CHARACTER = Pattern.compile("[^a-z0-9]");
+    private static final Map<String, String> FIELD_ALIASES = Map.ofEntries(
+            Map.entry("name", "name"), Map.entry("charid", "name"),
+            Map.entry("character", "name"), Map.entry("charactername", "name"),
+            Map.entry("level", "level"), Map.entry("lvl", "level"),
+            Map.entry("class", "class"), Map.entry("classid", "class"),
+            Map.entry("subclass", "subclass"), Map.entry("subclassid", "subclass"),
+            Map.entry("species", "species"), Map.entry("speciesid", "species"),
+            Map.entry("subspecies", "subspecies"), Map.entry("subspeciesid", "subspecies"),
+            Map.entry("background", "background"), Map.entry("bgid", "background"),
+            Map.entry("player", "player"), Map.entry("playerid", "player"), Map.entry("playername", "player"),
+            Map.entry("campaign", "campaign"), Map.entry("gameid", "campaign"), Map.entry("game", "campaign"),
+            Map.entry("str", "str"), Map.entry("sstr", "str"), Map.entry("strength", "str"),
+            Map.entry("dex", "dex"), Map.entry("sdex", "dex"), Map.entry("dexterity", "dex"),
+            Map.entry("con", "con"), Map.entry("scon", "con"), Map.entry("constitution", "con"),
+            Map.entry("int", "int"), Map.entry("sint", "int"), Map.entry("intelligence", "int"),
+            Map.entry("wis", "wis"), Map.entry("swis", "wis"), Map.entry("wisdom", "wis"),
+            Map.entry("cha", "cha"), Map.entry("scha", "cha"), Map.entry("charisma", "cha"));
+
+    private final CharacterDAO myCharacterDAO;
+    private final PlayerDAO myPlayerDAO;
+    private final CampaignDAO myCampaignDAO;
+    private final ReferenceDataCache myReferenceData;
+    private final int myChunkSize;
+
+    /**
+     * Receives progress after each committed chunk. Called on the importing thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Reports progress.
+         *
+         * @param theRecordsRead the number of records read so far in this run
+         * @param theInserted the number of characters inserted so far in this run
+         * @param theFailed the number of records rejected so far in this run
+         * @param theRowsPerSecond the processing rate so far
+         */
+        void chunkCommitted(long theRecordsRead, long theInserted, long theFailed, double theRowsPerSecond);
+    }
+
+    /**
+     * Constructs an importer. The number of characters committed together can be
+     * set with the dungeondata.import.chunkSize property.
+     *
+     * @param theCharacterDAO the DAO that inserts the characters
+     * @param thePlayerDAO the DAO used to resolve players
+     * @param theCampaignDAO the DAO used to resolve campaigns
+     * @param theReferenceData the cache used to check classes, species and backgrounds
+     */
+    public CharacterImporter(CharacterDAO theCharacterDAO, PlayerDAO thePlayerDAO, CampaignDAO theCampaignDAO,
+                             ReferenceDataCache theReferenceData) {
+        myCharacterDAO = theCharacterDAO;
+        myPlayerDAO = thePlayerDAO;
+        myCampaignDAO = theCampaignDAO;
+        myReferenceData = theReferenceData;
+        myChunkSize = Math.max(1, Integer.getInteger("dungeondata.import.chunkSize", CHUNK_SIZE));
+    }
+
+    /**
+     * Gets where an earlier, unfinished import of a file can resume. A checkpoint
+     * is ignored if the file has changed since it was written.
+     *
+     * @param theFile the import file
+     * @return the number of records already committed, or 0 if there is nothing to resume
+     */
+    public static long getResumePoint(Path theFile) {
+        Path checkpoint = getCheckpointFile(theFile);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            properties.load(in);
+            if (Long.parseLong(properties.getProperty("size")) != Files.size(theFile)
+                    || Long.parseLong(properties.getProperty("modified"))
+                    != Files.getLastModifiedTime(theFile).toMillis()) {
+                System.err.println("Ignoring import checkpoint for a file that has changed: " + theFile);
+                return 0;
+            }
+            return Long.parseLong(properties.getProperty("records"));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable import checkpoint " + checkpoint + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Imports every character in a file.
+     *
+     * @param theFile the CSV or JSON file to import
+     * @param theResume true to skip the records an earlier, unfinished import committed
+     * @param theListener receives progress after each committed chunk
+     * @return the counts, rate and rejected records of this run
+     * @throws IOException if the file cannot be read or is malformed
+     * @throws SQLException if the database fails; chunks committed before the failure
+     *                      stay committed and the import can be resumed after them
+     */
+    public ImportResult importFile(Path theFile, boolean theResume, ProgressListener theListener)
+            throws IOException, SQLException {
+        long skip = theResume ? getResumePoint(theFile) : 0;
+        ImportResult result = new ImportResult(skip);
+        References references = loadReferences();
+
+        List<Character> chunk = new ArrayList<>(myChunkSize);
+        List<Long> chunkLines = new ArrayList<>(myChunkSize);
+        // Every record repeats the same field names, so each is looked up once
+        Map<String, String> fieldNames = new HashMap<>();
+        long record = 0;
+        try (ImportRecordReader reader = ImportRecordReader.open(theFile)) {
+            Map<String, String> fields;
+            while ((fields = reader.next()) != null) {
+                record++;
+                if (record <= skip) {
+                    continue;
+                }
+                result.addRead();
+
+                Map<String, String> named = normalizeFields(fields, fieldNames);
+                try {
+                    chunk.add(toCharacter(named, references));
+                    chunkLines.add(reader.getLineNumber());
+                } catch (IllegalArgumentException e) {
+                    result.addFailure(reader.getLineNumber(), named.get("name"), e.getMessage());
+                }
+
+                if (chunk.size() == myChunkSize) {
+                    commitChunk(chunk, chunkLines, result);
+                    writeCheckpoint(theFile, record);
+                    theListener.chunkCommitted(result.getReadCount(), result.getInsertedCount(),
+                            result.getFailedCount(), result.getRowsPerSecond());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(chunk, chunkLines, result);
+            }
+        }
+
+        Files.deleteIfExists(getCheckpointFile(theFile));
+        result.updateElapsed();
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Inserts and commits a chunk, recording rows the database rejected.
+     *
+     * @param theChunk the characters to insert; cleared afterwards
+     * @param theLines the file line of each character; cleared afterwards
+     * @param theResult collects the counts and failures
+     * @throws SQLException if the database fails for a reason other than a bad row
+     */
+    private void commitChunk(List<Character> theChunk, List<Long> theLines, ImportResult theResult)
+            throws SQLException {
+        BulkInsertResult inserted = myCharacterDAO.insertCharacters(theChunk, theChunk.size());
+        for (BulkInsertResult.Failure failure : inserted.getFailures()) {
+            theResult.addFailure(theLines.get(failure.getIndex()), failure.getCharId(), failure.getReason());
+        }
+        theResult.addInserted(inserted.getInsertedCount());
+        theResult.updateElapsed();
+        theChunk.clear();
+        theLines.clear();
+    }
+
+    /**
+     * Converts a record into a character, checking every field.
+     *
+     * @param theFields the record's fields under their standard names
+     * @param theReferences the valid reference values
+     * @return the character
+     * @throws IllegalArgumentException if a field is missing or invalid; the message says which
+     */
+    private Character toCharacter(Map<String, String> theFields, References theReferences) {
+        String name = required(theFields, "name");
+        int level = number(theFields, "level", 1, 20);
+
+        String subclass = lookup(theReferences.mySubclasses, required(theFields, "subclass"), "subclass");
+        String subclassClass = theReferences.mySubclassClasses.get(subclass);
+        String className = theFields.get("class");
+        if (className != null && !className.equalsIgnoreCase(subclassClass)) {
+            throw new IllegalArgumentException("Subclass " + subclass + " does not belong to class " + className);
+        }
+
+        String subspecies = lookup(theReferences.mySubspecies, required(theFields, "subspecies"), "subspecies");
+        String subspeciesSpecies = theReferences.mySubspeciesSpecies.get(subspecies);
+        String species = theFields.get("species");
+        if (species != null && !species.equalsIgnoreCase(subspeciesSpecies)) {
+            throw new IllegalArgumentException("Subspecies " + subspecies + " does not belong to species " + species);
+        }
+
+        String background = lookup(theReferences.myBackgrounds, required(theFields, "background"), "background");
+        int playerId = resolvePlayer(theReferences, required(theFields, "player"));
+        String campaign = theFields.get("campaign");
+        if (campaign != null) {
+            campaign = lookup(theReferences.myCampaigns, campaign, "campaign");
+        }
+
+        int[] scores = new int[ABILITIES.length];
+        for (int i = 0; i < ABILITIES.length; i++) {
+            scores[i] = number(theFields, ABILITIES[i], 0, 30);
+        }
+
+        return new Character(name, level, subclassClass, subclass, subspeciesSpecies, subspecies, background,
+                playerId, campaign, scores[0], scores[1], scores[2], scores[3], scores[4], scores[5]);
+    }
+
+    /**
+     * Resolves a player given by ID or by full name.
+     *
+     * @param theReferences the known players
+     * @param thePlayer a player ID, or a player's first name and last name
+     * @return the player ID
+     * @throws IllegalArgumentException if no player, or more than one, matches
+     */
+    private int resolvePlayer(References theReferences, String thePlayer) {
+        try {
+            int playerId = Integer.parseInt(thePlayer);
+            if (theReferences.myPlayerIds.contains(playerId)) {
+                return playerId;
+            }
+            throw new IllegalArgumentException("No player has ID " + playerId);
+        } catch (NumberFormatException e) {
+            List<Integer> matches = theReferences.myPlayersByName.get(thePlayer.toLowerCase(Locale.ROOT));
+            if (matches == null) {
+                throw new IllegalArgumentException("Unknown player " + thePlayer);
+            }
+            if (matches.size() > 1) {
+                throw new IllegalArgumentException("More than one player is named " + thePlayer + "; use the player ID");
+            }
+            return matches.get(0);
+        }
+    }
+
+    /**
+     * Loads the reference values and the players and campaigns records are checked against.
+     *
+     * @return the reference values
+     * @throws SQLException if the data cannot be loaded
+     */
+    private References loadReferences() throws SQLException {
+        References references = new References();
+        myReferenceData.getSubclassHierarchy().forEach((theClass, theSubclasses) -> {
+            for (String subclass : theSubclasses) {
+                references.mySubclasses.put(subclass.toLowerCase(Locale.ROOT), subclass);
+                references.mySubclassClasses.put(subclass, theClass);
+            }
+        });
+        myReferenceData.getSubspeciesHierarchy().forEach((theSpecies, theSubspecies) -> {
+            for (String subspecies : theSubspecies) {
+                references.mySubspecies.put(subspecies.toLowerCase(Locale.ROOT), subspecies);
+                references.mySubspeciesSpecies.put(subspecies, theSpecies);
+            }
+        });
+        for (String background : myReferenceData.getBackgrounds()) {
+            references.myBackgrounds.put(background.toLowerCase(Locale.ROOT), background);
+        }
+        for (Player player : myPlayerDAO.getAllPlayers()) {
+            references.myPlayerIds.add(player.getPlayerId());
+            references.myPlayersByName
+                    .computeIfAbsent(player.getFullName().toLowerCase(Locale.ROOT), theKey -> new ArrayList<>())
+                    .add(player.getPlayerId());
+        }
+        for (Campaign campaign : myCampaignDAO.getAllCampaigns()) {
+            references.myCampaigns.put(campaign.getGameId().toLowerCase(Locale.ROOT), campaign.getGameId());
+        }
+        return references;
+    }
+
+    /**
+     * Renames a record's fields to their standard names, dropping unknown and blank fields.
+     *
+     * @param theFields the fields as named in the file
+     * @param theFieldNames the standard name of each field name seen so far, or "" for an
+     *                      unknown field; names not yet in it are added
+     * @return the fields under their standard names
+     */
+    private static Map<String, String> normalizeFields(Map<String, String> theFields,
+                                                       Map<String, String> theFieldNames) {
+        Map<String, String> named = new HashMap<>();
+        theFields.forEach((theName, theValue) -> {
+            String key = theFieldNames.computeIfAbsent(theName, CharacterImporter::getStandardName);
+            if (!key.isEmpty() && theValue != null && !theValue.isBlank()) {
+                named.put(key, theValue.trim());
+            }
+        });
+        return named;
+    }
+
+    /**
+     * Gets the standard name of a field as named in a file, ignoring case, spaces and punctuation.
+     *
+     * @param theName the field name in the file
+     * @return the standard name, or "" if the field is not one the importer reads
+     */
+    private static String getStandardName(String theName) {
+        String simplified = NOT_NAME_CHARACTER.matcher(theName.toLowerCase(Locale.ROOT)).replaceAll("");
+        return FIELD_ALIASES.getOrDefault(simplified, "");
+    }
+
+    /**
+     * Gets a field that must be present.
+     *
+     * @param theFields the record's fields
+     * @param theName the standard field name
+     * @return the field value
+     * @throws IllegalArgumentException if the field is missing
+     */
+    private static String required(Map<String, String> theFields, String theName) {
+        String value = theFields.get(theName);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + theName);
+        }
+        return value;
+    }
+
+    /**
+     * Gets a required whole-number field within a range.
+     *
+     * @param theFields the record's fields
+     * @param theName the standard field name
+     * @param theMin the smallest allowed value
+     * @param theMax the largest allowed value
+     * @return the value
+     * @throws IllegalArgumentException if the field is missing, not a number, or out of range
+     */
+    private static int number(Map<String, String> theFields, String theName, int theMin, int theMax) {
+        String text = required(theFields, theName);
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(theName + " is not a whole number: " + text);
+        }
+        if (value < theMin || value > theMax) {
+            throw new IllegalArgumentException(theName + " must be between " + theMin + " and " + theMax);
+        }
+        return value;
+    }
+
+    /**
+     * Finds the stored spelling of a reference value, ignoring case.
+     *
+     * @param theValues the stored values keyed by their lower-case form
+     * @param theValue the value from the file
+     * @param theKind the kind of value, for the error message
+     * @return the stored value
+     * @throws IllegalArgumentException if there is no such value
+     */
+    private static String lookup(Map<String, String> theValues, String theValue, String theKind) {
+        String stored = theValues.get(theValue.toLowerCase(Locale.ROOT));
+        if (stored == null) {
+            throw new IllegalArgumentException("Unknown " + theKind + " " + theValue);
+        }
+        return stored;
+    }
+
+    /**
+     * Records that the first records of a file have been committed.
+     * The checkpoint is replaced atomically so a crash never leaves it half written.
+     *
+     * @param theFile the import file
+     * @param theRecords the number of records committed
+     * @throws IOException if the checkpoint cannot be written
+     */
+    private static void writeCheckpoint(Path theFile, long theRecords) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("records", Long.toString(theRecords));
+        properties.setProperty("size", Long.toString(Files.size(theFile)));
+        properties.setProperty("modified", Long.toString(Files.getLastModifiedTime(theFile).toMillis()));
+
+        Path checkpoint = getCheckpointFile(theFile);
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Character import progress for " + theFile.getFileName());
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the checkpoint file kept beside an import file.
+     *
+     * @param theFile the import file
+     * @return the checkpoint file
+     */
+    private static Path getCheckpointFile(Path theFile) {
+        return theFile.resolveSibling(theFile.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    /**
+     * Valid reference values and known players and campaigns, keyed for lookup.
+     */
+    private static final class References {
+        private final Map<String, String> mySubclasses = new HashMap<>();
+        private final Map<String, String> mySubclassClasses = new HashMap<>();
+        private final Map<String, String> mySubspecies = new HashMap<>();
+        private final Map<String, String> mySubspeciesSpecies = new HashMap<>();
+        private final Map<String, String> myBackgrounds = new HashMap<>();
+        private final Set<Integer> myPlayerIds = new HashSet<>();
+        private final Map<String, List<Integer>> myPlayersByName = new HashMap<>();
+        private final Map<String, String> myCampaigns = new HashMap<>();
+    }
+}
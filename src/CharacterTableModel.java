@@ -0,0 +1,257 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Table model showing one character per row, with the owning player's name
+ * and the character's ability scores. Characters are loaded a page at a time
+ * as the table asks for rows, so the table opens immediately however many
+ * characters there are. Only the most recently used pages are kept in memory;
+ * a row whose page is not loaded yet shows as loading until its page arrives.
+ * Must only be used on the Event Dispatch Thread.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class CharacterTableModel extends AbstractTableModel {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 10;
+    private static final String LOADING = "Loading...";
+    private static final String[] COLUMN_NAMES = {
+            "Character Name", "Level", "Class", "Subclass", "Species", "Subspecies", "Background",
+            "Player", "Campaign", "STR", "DEX", "CON", "INT", "WIS", "CHA"
+    };
+
+    private final AsyncDnDController myController;
+    private final Consumer<? super Throwable> myOnPageFailed;
+    private final int myPageSize;
+    private final int myMaxCachedPages;
+    private final Map<Integer, List<Character>> myPages;
+    private final Set<Integer> myStalePages = new HashSet<>();
+    private final Set<Integer> myFailedPages = new HashSet<>();
+    private final Map<Integer, QueryFuture<List<Character>>> myPendingPages = new HashMap<>();
+    private final Map<Integer, String> myPageAnchors = new HashMap<>();
+    private int myRowCount;
+    private int myGeneration;
+
+    /**
+     * Constructs an empty character table model.
+     * The page size and the number of pages kept in memory can be set with the
+     * dungeondata.characters.pageSize and dungeondata.characters.cachedPages properties.
+     *
+     * @param theController the controller that loads pages in the background
+     * @param theOnPageFailed receives the cause when a page fails to load
+     */
+    public CharacterTableModel(AsyncDnDController theController, Consumer<? super Throwable> theOnPageFailed) {
+        myController = theController;
+        myOnPageFailed = theOnPageFailed;
+        myPageSize = getConfiguredPageSize();
+        myMaxCachedPages = Math.max(1, Integer.getInteger("dungeondata.characters.cachedPages", MAX_CACHED_PAGES));
+        myPages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Character>> theEldest) {
+                if (size() > myMaxCachedPages) {
+                    myStalePages.remove(theEldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of characters loaded per page, as set by the
+     * dungeondata.characters.pageSize property.
+     *
+     * @return the page size
+     */
+    public static int getConfiguredPageSize() {
+        return Math.max(1, Integer.getInteger("dungeondata.characters.pageSize", PAGE_SIZE));
+    }
+
+    /**
+     * Sets the number of characters and shows a first page that was already loaded,
+     * such as the one read at startup. The other pages load as they are shown.
+     *
+     * @param theRowCount the number of characters in the database
+     * @param theFirstPage the first {@link #getConfiguredPageSize()} characters in name order
+     */
+    public void reload(int theRowCount, List<Character> theFirstPage) {
+        reload(theRowCount);
+        if (theRowCount > 0) {
+            pageLoaded(myGeneration, 0, theFirstPage);
+        }
+    }
+
+    /**
+     * Sets the number of characters and reloads every page when it is next shown.
+     * Pages already in memory keep being shown until their replacements arrive,
+     * so the table does not flash empty and its selection is kept.
+     *
+     * @param theRowCount the number of characters in the database
+     */
+    public void reload(int theRowCount) {
+        myGeneration++;
+        for (QueryFuture<List<Character>> pending : myPendingPages.values()) {
+            pending.cancel(true);
+        }
+        myPendingPages.clear();
+        myFailedPages.clear();
+        myPageAnchors.clear();
+
+        int oldRowCount = myRowCount;
+        myRowCount = theRowCount;
+        myPages.keySet().removeIf(thePage -> thePage * myPageSize >= theRowCount);
+        myStalePages.clear();
+        myStalePages.addAll(myPages.keySet());
+
+        if (theRowCount > oldRowCount) {
+            fireTableRowsInserted(oldRowCount, theRowCount - 1);
+        } else if (theRowCount < oldRowCount) {
+            fireTableRowsDeleted(theRowCount, oldRowCount - 1);
+        }
+        int kept = Math.min(oldRowCount, theRowCount);
+        if (kept > 0) {
+            fireTableRowsUpdated(0, kept - 1);
+        }
+    }
+
+    /**
+     * Gets the character at a row, starting to load its page if it is not in memory.
+     *
+     * @param theRow the model row index
+     * @return the character, or null if its page has not been loaded yet
+     */
+    public Character getRow(int theRow) {
+        int page = theRow / myPageSize;
+        List<Character> rows = myPages.get(page);
+        if ((rows == null || myStalePages.contains(page)) && !myFailedPages.contains(page)) {
+            requestPage(page);
+        }
+        int index = theRow % myPageSize;
+        return rows != null && index < rows.size() ? rows.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return myRowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int theColumn) {
+        return COLUMN_NAMES[theColumn];
+    }
+
+    @Override
+    public Object getValueAt(int theRow, int theColumn) {
+        Character character = getRow(theRow);
+        if (character == null) {
+            return theColumn == 0 ? LOADING : null;
+        }
+        return switch (theColumn) {
+            case 0 -> character.getCharId();
+            case 1 -> character.getLevel();
+            case 2 -> character.getClassId();
+            case 3 -> character.getSubclassId();
+            case 4 -> character.getSpeciesId();
+            case 5 -> character.getSubspeciesId();
+            case 6 -> character.getBackgroundId();
+            case 7 -> character.getPlayerName();
+            case 8 -> character.getGameId();
+            case 9 -> character.getStrength();
+            case 10 -> character.getDexterity();
+            case 11 -> character.getConstitution();
+            case 12 -> character.getIntelligence();
+            case 13 -> character.getWisdom();
+            case 14 -> character.getCharisma();
+            default -> null;
+        };
+    }
+
+    /**
+     * Starts loading a page unless it is already loading. A page that follows a
+     * loaded page continues from that page's last character ID; any other page is
+     * found by its position, as when the user drags the scroll bar far ahead.
+     *
+     * @param thePage the zero-based page index
+     */
+    private void requestPage(int thePage) {
+        if (myPendingPages.containsKey(thePage)) {
+            return;
+        }
+        String anchor = myPageAnchors.get(thePage);
+        QueryFuture<List<Character>> future;
+        if (thePage == 0 || anchor != null) {
+            future = myController.getCharactersWithDetailsPageAsync(anchor, myPageSize);
+        } else {
+            future = myController.getCharactersWithDetailsPageAtAsync(thePage * myPageSize, myPageSize);
+        }
+        myPendingPages.put(thePage, future);
+
+        int generation = myGeneration;
+        AsyncDnDController.onEdt(future,
+                theRows -> pageLoaded(generation, thePage, theRows),
+                theError -> pageFailed(generation, thePage, theError));
+    }
+
+    /**
+     * Stores a loaded page and repaints its rows. A short page before the end of
+     * the table means characters were deleted since the count was taken, so the
+     * table is shortened to match.
+     *
+     * @param theGeneration the generation the page was requested in
+     * @param thePage the zero-based page index
+     * @param theRows the characters on the page
+     */
+    private void pageLoaded(int theGeneration, int thePage, List<Character> theRows) {
+        if (theGeneration != myGeneration) {
+            return;
+        }
+        myPendingPages.remove(thePage);
+        myPages.put(thePage, theRows);
+        myStalePages.remove(thePage);
+        if (!theRows.isEmpty()) {
+            myPageAnchors.put(thePage + 1, theRows.get(theRows.size() - 1).getCharId());
+        }
+
+        int first = thePage * myPageSize;
+        int end = first + theRows.size();
+        if (theRows.size() < myPageSize && end < myRowCount) {
+            int oldRowCount = myRowCount;
+            myRowCount = end;
+            myPages.keySet().removeIf(theOther -> theOther > thePage);
+            fireTableRowsDeleted(end, oldRowCount - 1);
+        }
+        int last = Math.min(end, myRowCount) - 1;
+        if (last >= first) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    /**
+     * Records that a page failed so it is not requested again until the next reload.
+     *
+     * @param theGeneration the generation the page was requested in
+     * @param thePage the zero-based page index
+     * @param theError the failure cause
+     */
+    private void pageFailed(int theGeneration, int thePage, Throwable theError) {
+        if (theGeneration != myGeneration) {
+            return;
+        }
+        myPendingPages.remove(thePage);
+        myFailedPages.add(thePage);
+        myOnPageFailed.accept(theError);
+    }
+}
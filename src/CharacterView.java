@@ -1,9 +1,7 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
-import java.util.List;
-import java.util.Map;
-import java.util.Vector;
+import java.nio.file.Path;
 
 /**
  * Character management view for displaying and managing character data.
@@ -17,7 +15,9 @@ public class CharacterView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
     private JTable myCharacterTable;
-    private DefaultTableModel myTableModel;
+    private CharacterTableModel myTableModel;
+    private BackgroundLoader myLoader;
+    private JButton myImportButton;
 
     /**
      * Constructs a CharacterView with the specified controller and main view.
@@ -28,17 +28,21 @@ public class CharacterView extends JPanel {
     public CharacterView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myLoader = new BackgroundLoader(myMainView, this);
         initializeComponents();
         setupLayout();
-        refreshData();
+        showStartupData();
     }
 
     /**
      * Initializes GUI components.
      */
     private void initializeComponents() {
-        myCharacterTable = new JTable();
+        myTableModel = new CharacterTableModel(myController.getAsyncController(),
+                theError -> myMainView.showErrorMessage("Failed to load characters: " + theError.getMessage()));
+        myCharacterTable = new JTable(myTableModel);
         myCharacterTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        myCharacterTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
     }
 
     /**
@@ -55,89 +59,51 @@ public class CharacterView extends JPanel {
         JButton editBtn = new JButton("Edit Character");
         JButton deleteBtn = new JButton("Delete Character");
         JButton viewDetailsBtn = new JButton("View Details");
+        myImportButton = new JButton("Import...");
 
         refreshBtn.addActionListener(e -> refreshData());
         editBtn.addActionListener(e -> editSelectedCharacter());
         deleteBtn.addActionListener(e -> deleteSelectedCharacter());
         viewDetailsBtn.addActionListener(e -> viewCharacterDetails());
+        myImportButton.addActionListener(e -> importCharacters());
 
         buttonPanel.add(refreshBtn);
         buttonPanel.add(viewDetailsBtn);
         buttonPanel.add(editBtn);
         buttonPanel.add(deleteBtn);
+        buttonPanel.add(myImportButton);
 
         add(scrollPane, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
     /**
-     * Refreshes the character data from the database.
+     * Shows the character count and first page that were read while the application
+     * started, waiting for them if they have not arrived yet.
      */
-    public void refreshData() {
-        try {
-            List<Map<String, Object>> characters = myController.getCharactersWithDetails();
-
-            Vector<String> columnNames = new Vector<>();
-            columnNames.add("Character Name");
-            columnNames.add("Level");
-            columnNames.add("Class");
-            columnNames.add("Subclass");
-            columnNames.add("Species");
-            columnNames.add("Subspecies");
-            columnNames.add("Background");
-            columnNames.add("Player");
-            columnNames.add("Campaign");
-            columnNames.add("STR");
-            columnNames.add("DEX");
-            columnNames.add("CON");
-            columnNames.add("INT");
-            columnNames.add("WIS");
-            columnNames.add("CHA");
-
-            Vector<Vector<Object>> data = new Vector<>();
-            for (Map<String, Object> character : characters) {
-                Vector<Object> row = new Vector<>();
-                row.add(character.get("char_id"));
-                row.add(character.get("lvl"));
-                row.add(character.get("class_id"));
-                row.add(character.get("subclass_id"));
-                row.add(character.get("species_id"));
-                row.add(character.get("subspecies_id"));
-                row.add(character.get("bg_id"));
-
-                String playerName = "";
-                if (character.get("fname") != null) {
-                    playerName = character.get("fname").toString();
-                    if (character.get("lname") != null) {
-                        playerName += " " + character.get("lname").toString();
-                    }
-                }
-                row.add(playerName);
-                row.add(character.get("game_id"));
-                row.add(character.get("s_str"));
-                row.add(character.get("s_dex"));
-                row.add(character.get("s_con"));
-                row.add(character.get("s_int"));
-                row.add(character.get("s_wis"));
-                row.add(character.get("s_cha"));
-
-                data.add(row);
-            }
-
-            myTableModel = new DefaultTableModel(data, columnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            myCharacterTable.setModel(myTableModel);
-            myCharacterTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-            myMainView.showSuccessMessage("Loaded " + characters.size() + " characters");
+    private void showStartupData() {
+        myLoader.load("Loading characters...",
+                () -> myController.getStartupOrchestrator().getStartupPage(),
+                thePage -> {
+                    myTableModel.reload(thePage.getCount(), thePage.getFirstPage());
+                    myMainView.showSuccessMessage("Found " + thePage.getCount() + " characters");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load characters: " + theError.getMessage()));
+    }
 
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to load characters: " + e.getMessage());
-        }
+    /**
+     * Refreshes the character data from the database in the background.
+     * Only the number of characters is read here; the table model loads the
+     * pages the user scrolls to. A refresh that is still running is cancelled and replaced.
+     */
+    public void refreshData() {
+        myLoader.load("Loading characters...",
+                () -> myController.getAsyncController().getCharacterCountAsync(),
+                theCount -> {
+                    myTableModel.reload(theCount);
+                    myMainView.showSuccessMessage("Found " + theCount + " characters");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load characters: " + theError.getMessage()));
     }
 
     /**
@@ -151,36 +117,12 @@ public class CharacterView extends JPanel {
         }
 
         try {
-            String charName = (String) myCharacterTable.getValueAt(selectedRow, 0);
-            Integer level = (Integer) myCharacterTable.getValueAt(selectedRow, 1);
-            String className = (String) myCharacterTable.getValueAt(selectedRow, 2);
-            String subclassName = (String) myCharacterTable.getValueAt(selectedRow, 3);
-            String speciesName = (String) myCharacterTable.getValueAt(selectedRow, 4);
-            String subspeciesName = (String) myCharacterTable.getValueAt(selectedRow, 5);
-            String backgroundName = (String) myCharacterTable.getValueAt(selectedRow, 6);
-            String playerName = (String) myCharacterTable.getValueAt(selectedRow, 7);
-            String campaignName = (String) myCharacterTable.getValueAt(selectedRow, 8);
-            Integer str = (Integer) myCharacterTable.getValueAt(selectedRow, 9);
-            Integer dex = (Integer) myCharacterTable.getValueAt(selectedRow, 10);
-            Integer con = (Integer) myCharacterTable.getValueAt(selectedRow, 11);
-            Integer intel = (Integer) myCharacterTable.getValueAt(selectedRow, 12);
-            Integer wis = (Integer) myCharacterTable.getValueAt(selectedRow, 13);
-            Integer cha = (Integer) myCharacterTable.getValueAt(selectedRow, 14);
-
-            int playerId = 0;
-            List<Player> players = myController.getAllPlayers();
-            for (Player player : players) {
-                if (player.getFullName().equals(playerName)) {
-                    playerId = player.getPlayerId();
-                    break;
-                }
+            Character characterToEdit = myTableModel.getRow(myCharacterTable.convertRowIndexToModel(selectedRow));
+            if (characterToEdit == null) {
+                myMainView.showWarningMessage("Character is still loading, please try again");
+                return;
             }
 
-            Character characterToEdit = new Character(
-                    charName, level, className, subclassName, speciesName, subspeciesName,
-                    backgroundName, playerId, campaignName, str, dex, con, intel, wis, cha
-            );
-
             myMainView.switchToCharacterEditor(characterToEdit);
 
         } catch (Exception e) {
@@ -198,7 +140,12 @@ public class CharacterView extends JPanel {
             return;
         }
 
-        String charName = (String) myCharacterTable.getValueAt(selectedRow, 0);
+        Character character = myTableModel.getRow(myCharacterTable.convertRowIndexToModel(selectedRow));
+        if (character == null) {
+            myMainView.showWarningMessage("Character is still loading, please try again");
+            return;
+        }
+        String charName = character.getCharId();
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete character: " + charName + "?",
@@ -231,6 +178,10 @@ public class CharacterView extends JPanel {
             myMainView.showWarningMessage("Please select a character to view details");
             return;
         }
+        if (myTableModel.getRow(myCharacterTable.convertRowIndexToModel(selectedRow)) == null) {
+            myMainView.showWarningMessage("Character is still loading, please try again");
+            return;
+        }
 
         StringBuilder details = new StringBuilder();
         details.append("CHARACTER DETAILS\n");
@@ -287,6 +238,85 @@ public class CharacterView extends JPanel {
         myMainView.showInfoMessage("Viewing details for character '" + charName + "'");
     }
 
+    /**
+     * Imports characters from a CSV or JSON file chosen by the user.
+     * If an earlier import of the same file stopped part way, the user can resume it.
+     * Progress is shown in the status bar while the import runs in the background.
+     */
+    private void importCharacters() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV or JSON files", "csv", "json", "jsonl", "ndjson"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+
+        boolean resume = false;
+        long resumePoint = CharacterImporter.getResumePoint(file);
+        if (resumePoint > 0) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                    "An earlier import of this file stopped after record " + resumePoint + ".\n"
+                            + "Resume from there? Choose No to import the whole file again.",
+                    "Resume Import",
+                    JOptionPane.YES_NO_CANCEL_OPTION,
+                    JOptionPane.QUESTION_MESSAGE);
+            if (choice != JOptionPane.YES_OPTION && choice != JOptionPane.NO_OPTION) {
+                return;
+            }
+            resume = choice == JOptionPane.YES_OPTION;
+        }
+
+        myImportButton.setEnabled(false);
+        myMainView.showInfoMessage("Importing characters from " + file.getFileName() + "...");
+        QueryFuture<ImportResult> future = myController.getAsyncController().importCharactersAsync(file, resume,
+                (theRead, theInserted, theFailed, theRowsPerSecond) -> {
+                    String progress = String.format("Importing: %d records read, %d inserted, %d rejected (%.0f rows/sec)",
+                            theRead, theInserted, theFailed, theRowsPerSecond);
+                    SwingUtilities.invokeLater(() -> myMainView.showInfoMessage(progress));
+                });
+
+        AsyncDnDController.onEdt(future, theResult -> {
+            myImportButton.setEnabled(true);
+            showImportResult(theResult);
+            refreshData();
+        }, theError -> {
+            myImportButton.setEnabled(true);
+            myMainView.showErrorMessage("Import failed: " + theError.getMessage()
+                    + ". Import the file again to resume after the last saved chunk.");
+            refreshData();
+        });
+    }
+
+    /**
+     * Shows the outcome of an import, listing the records that were rejected.
+     *
+     * @param theResult the import result
+     */
+    private void showImportResult(ImportResult theResult) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(theResult).append("\n");
+        if (theResult.getFailedCount() > 0) {
+            summary.append("\n--- REJECTED RECORDS ---\n");
+            for (String failure : theResult.getFailures()) {
+                summary.append(failure).append("\n");
+            }
+            if (theResult.getFailedCount() > theResult.getFailures().size()) {
+                summary.append("... and ").append(theResult.getFailedCount() - theResult.getFailures().size())
+                        .append(" more\n");
+            }
+        }
+
+        JTextArea textArea = new JTextArea(summary.toString());
+        textArea.setEditable(false);
+        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        scrollPane.setPreferredSize(new Dimension(600, 400));
+
+        JOptionPane.showMessageDialog(this, scrollPane, "Import Results", JOptionPane.INFORMATION_MESSAGE);
+        myMainView.showSuccessMessage(theResult.toString());
+    }
+
     /**
      * Formats an ability score modifier.
      *
@@ -1,7 +1,9 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -19,15 +21,26 @@ public class ClassSpeciesView extends JPanel {
     private JTable mySubclassTable;
     private JTable mySpeciesTable;
     private JTable mySubspeciesTable;
+    private List<DnDClass> myClasses = List.of();
+    private List<Species> mySpecies = List.of();
+    private BackgroundLoader myClassLoader;
+    private BackgroundLoader mySubclassLoader;
+    private BackgroundLoader mySpeciesLoader;
+    private BackgroundLoader mySubspeciesLoader;
 
     /**
      * Constructs a ClassSpeciesView with the specified controller.
      * Initializes all components, sets up the layout, and loads initial data.
      *
      * @param theController the application controller for data operations
+     * @param theMainView the main application view, which shows loading progress
      */
-    public ClassSpeciesView(DnDController theController) {
+    public ClassSpeciesView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
+        myClassLoader = new BackgroundLoader(theMainView, this);
+        mySubclassLoader = new BackgroundLoader(theMainView, this);
+        mySpeciesLoader = new BackgroundLoader(theMainView, this);
+        mySubspeciesLoader = new BackgroundLoader(theMainView, this);
         initializeComponents();
         setupLayout();
         refreshData();
@@ -170,93 +183,67 @@ public class ClassSpeciesView extends JPanel {
     }
 
     /**
-     * Loads class data from the database and populates the class table.
+     * Loads class data from the database in the background and populates the class table.
      * Includes class ID, casting stat, primary/secondary stats, and description.
      */
     private void loadClasses() {
-        try {
-            List<DnDClass> classes = myController.getAllClasses();
-            Vector<String> classColumnNames = new Vector<>();
-            classColumnNames.add("Class");
-            classColumnNames.add("Casting Stat");
-            classColumnNames.add("Primary Stat");
-            classColumnNames.add("Secondary Stat");
-            classColumnNames.add("Description");
-
-            Vector<Vector<Object>> classData = new Vector<>();
-            for (DnDClass dndClass : classes) {
-                Vector<Object> row = new Vector<>();
-                row.add(dndClass.getClassId());
-                row.add(dndClass.getCastingStat() != null ? dndClass.getCastingStat() : "None");
-                row.add(dndClass.getPrimaryStat());
-                row.add(dndClass.getSecondaryStat());
-                row.add(dndClass.getClassSummary().length() > 100 ?
-                        dndClass.getClassSummary().substring(0, 100) + "..." :
-                        dndClass.getClassSummary());
-                classData.add(row);
-            }
-
-            DefaultTableModel classModel = new DefaultTableModel(classData, classColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            myClassTable.setModel(classModel);
-            myClassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading classes: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        myClassLoader.load("Loading classes...",
+                () -> myController.getAsyncController().getAllClassesAsync(),
+                this::displayClasses,
+                theError -> JOptionPane.showMessageDialog(this, "Error loading classes: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
-     * Loads all subclasses from the database and populates the subclass table.
-     * Determines parent class for each subclass by checking class relationships.
+     * Populates the class table and keeps the classes for the description popups.
+     *
+     * @param theClasses the loaded classes
      */
-    private void loadAllSubclasses() {
-        try {
-            List<String> subclasses = myController.getSubclasses();
-            Vector<String> subclassColumnNames = new Vector<>();
-            subclassColumnNames.add("Subclass");
-            subclassColumnNames.add("Parent Class");
-
-            Vector<Vector<Object>> subclassData = new Vector<>();
-
-            // Get all classes to find parent class for each subclass
-            List<DnDClass> allClasses = myController.getAllClasses();
-
-            for (String subclass : subclasses) {
-                // Find which class this subclass belongs to
-                String parentClass = "Unknown";
-                for (DnDClass dndClass : allClasses) {
-                    List<String> classSubclasses = myController.getSubclassesByClass(dndClass.getClassId());
-                    if (classSubclasses.contains(subclass)) {
-                        parentClass = dndClass.getClassId();
-                        break;
-                    }
-                }
+    private void displayClasses(List<DnDClass> theClasses) {
+        myClasses = theClasses;
+        Vector<String> classColumnNames = new Vector<>();
+        classColumnNames.add("Class");
+        classColumnNames.add("Casting Stat");
+        classColumnNames.add("Primary Stat");
+        classColumnNames.add("Secondary Stat");
+        classColumnNames.add("Description");
+
+        Vector<Vector<Object>> classData = new Vector<>();
+        for (DnDClass dndClass : theClasses) {
+            Vector<Object> row = new Vector<>();
+            row.add(dndClass.getClassId());
+            row.add(dndClass.getCastingStat() != null ? dndClass.getCastingStat() : "None");
+            row.add(dndClass.getPrimaryStat());
+            row.add(dndClass.getSecondaryStat());
+            row.add(dndClass.getClassSummary().length() > 100 ?
+                    dndClass.getClassSummary().substring(0, 100) + "..." :
+                    dndClass.getClassSummary());
+            classData.add(row);
+        }
 
-                Vector<Object> row = new Vector<>();
-                row.add(subclass);
-                row.add(parentClass);
-                subclassData.add(row);
+        DefaultTableModel classModel = new DefaultTableModel(classData, classColumnNames) {
+            @Override
+            public boolean isCellEditable(int theRow, int theColumn) {
+                return false;
             }
+        };
+        myClassTable.setModel(classModel);
+        myClassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+    }
 
-            DefaultTableModel subclassModel = new DefaultTableModel(subclassData, subclassColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            mySubclassTable.setModel(subclassModel);
-            mySubclassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading subclasses: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    /**
+     * Loads all subclasses in the background and populates the subclass table.
+     * Parent classes come from the class hierarchy, which is fetched in one query.
+     */
+    private void loadAllSubclasses() {
+        mySubclassLoader.load("Loading subclasses...",
+                () -> myController.getAsyncController().getSubclassHierarchyAsync(),
+                theHierarchy -> {
+                    mySubclassTable.setModel(buildHierarchyModel(theHierarchy, "Subclass", "Parent Class"));
+                    mySubclassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+                },
+                theError -> JOptionPane.showMessageDialog(this, "Error loading subclasses: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -270,126 +257,133 @@ public class ClassSpeciesView extends JPanel {
             return;
         }
 
-        try {
-            String selectedClassName = (String) myClassTable.getValueAt(selectedRow, 0);
-            List<String> subclasses = myController.getSubclassesByClass(selectedClassName);
-
-            Vector<String> subclassColumnNames = new Vector<>();
-            subclassColumnNames.add("Subclass");
-            subclassColumnNames.add("Parent Class");
-
-            Vector<Vector<Object>> subclassData = new Vector<>();
-            for (String subclass : subclasses) {
-                Vector<Object> row = new Vector<>();
-                row.add(subclass);
-                row.add(selectedClassName);
-                subclassData.add(row);
-            }
+        String selectedClassName = (String) myClassTable.getValueAt(selectedRow, 0);
+        mySubclassLoader.load("Loading subclasses...",
+                () -> myController.getAsyncController().getSubclassesByClassAsync(selectedClassName),
+                theSubclasses -> {
+                    Vector<String> subclassColumnNames = new Vector<>();
+                    subclassColumnNames.add("Subclass");
+                    subclassColumnNames.add("Parent Class");
+
+                    Vector<Vector<Object>> subclassData = new Vector<>();
+                    for (String subclass : theSubclasses) {
+                        Vector<Object> row = new Vector<>();
+                        row.add(subclass);
+                        row.add(selectedClassName);
+                        subclassData.add(row);
+                    }
 
-            DefaultTableModel subclassModel = new DefaultTableModel(subclassData, subclassColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            mySubclassTable.setModel(subclassModel);
-            mySubclassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-            // Update border title to show filter
-            ((JScrollPane)mySubspeciesTable.getParent().getParent()).setBorder(
-                    BorderFactory.createTitledBorder("Subclasses for " + selectedClassName)
-            );
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading subclasses for selected class: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+                    DefaultTableModel subclassModel = new DefaultTableModel(subclassData, subclassColumnNames) {
+                        @Override
+                        public boolean isCellEditable(int theRow, int theColumn) {
+                            return false;
+                        }
+                    };
+                    mySubclassTable.setModel(subclassModel);
+                    mySubclassTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+
+                    // Update border title to show filter
+                    ((JScrollPane)mySubclassTable.getParent().getParent()).setBorder(
+                            BorderFactory.createTitledBorder("Subclasses for " + selectedClassName)
+                    );
+                },
+                theError -> JOptionPane.showMessageDialog(this,
+                        "Error loading subclasses for selected class: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
-     * Loads species data from the database and populates the species table.
+     * Loads species data from the database in the background and populates the species table.
      * Includes species ID, size category, and description summary.
      */
     private void loadSpecies() {
-        try {
-            List<Species> species = myController.getAllSpecies();
-            Vector<String> speciesColumnNames = new Vector<>();
-            speciesColumnNames.add("Species");
-            speciesColumnNames.add("Size");
-            speciesColumnNames.add("Description");
-
-            Vector<Vector<Object>> speciesData = new Vector<>();
-            for (Species sp : species) {
-                Vector<Object> row = new Vector<>();
-                row.add(sp.getSpeciesId());
-                row.add(sp.getSpeciesSize());
-                row.add(sp.getSpeciesSummary().length() > 150 ?
-                        sp.getSpeciesSummary().substring(0, 150) + "..." :
-                        sp.getSpeciesSummary());
-                speciesData.add(row);
-            }
-
-            DefaultTableModel speciesModel = new DefaultTableModel(speciesData, speciesColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            mySpeciesTable.setModel(speciesModel);
-            mySpeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+        mySpeciesLoader.load("Loading species...",
+                () -> myController.getAsyncController().getAllSpeciesAsync(),
+                this::displaySpecies,
+                theError -> JOptionPane.showMessageDialog(this, "Error loading species: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading species: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Populates the species table and keeps the species for the description popups.
+     *
+     * @param theSpecies the loaded species
+     */
+    private void displaySpecies(List<Species> theSpecies) {
+        mySpecies = theSpecies;
+        Vector<String> speciesColumnNames = new Vector<>();
+        speciesColumnNames.add("Species");
+        speciesColumnNames.add("Size");
+        speciesColumnNames.add("Description");
+
+        Vector<Vector<Object>> speciesData = new Vector<>();
+        for (Species sp : theSpecies) {
+            Vector<Object> row = new Vector<>();
+            row.add(sp.getSpeciesId());
+            row.add(sp.getSpeciesSize());
+            row.add(sp.getSpeciesSummary().length() > 150 ?
+                    sp.getSpeciesSummary().substring(0, 150) + "..." :
+                    sp.getSpeciesSummary());
+            speciesData.add(row);
         }
+
+        DefaultTableModel speciesModel = new DefaultTableModel(speciesData, speciesColumnNames) {
+            @Override
+            public boolean isCellEditable(int theRow, int theColumn) {
+                return false;
+            }
+        };
+        mySpeciesTable.setModel(speciesModel);
+        mySpeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
     }
 
     /**
-     * Loads all subspecies from the database and populates the subspecies table.
-     * Determines parent species for each subspecies by checking species relationships.
+     * Loads all subspecies in the background and populates the subspecies table.
+     * Parent species come from the species hierarchy, which is fetched in one query.
      */
     private void loadAllSubspecies() {
-        try {
-            List<String> subspecies = myController.getSubspecies();
-            Vector<String> subspeciesColumnNames = new Vector<>();
-            subspeciesColumnNames.add("Subspecies");
-            subspeciesColumnNames.add("Parent Species");
-
-            Vector<Vector<Object>> subspeciesData = new Vector<>();
-
-            // Get all species to find parent species for each subspecies
-            List<Species> allSpecies = myController.getAllSpecies();
-
-            for (String subspecies_name : subspecies) {
-                // Find which species this subspecies belongs to
-                String parentSpecies = "Unknown";
-                for (Species species : allSpecies) {
-                    List<String> speciesSubspecies = myController.getSubspeciesBySpecies(species.getSpeciesId());
-                    if (speciesSubspecies.contains(subspecies_name)) {
-                        parentSpecies = species.getSpeciesId();
-                        break;
-                    }
-                }
+        mySubspeciesLoader.load("Loading subspecies...",
+                () -> myController.getAsyncController().getSubspeciesHierarchyAsync(),
+                theHierarchy -> {
+                    mySubspeciesTable.setModel(buildHierarchyModel(theHierarchy, "Subspecies", "Parent Species"));
+                    mySubspeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+                },
+                theError -> JOptionPane.showMessageDialog(this, "Error loading subspecies: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
+    /**
+     * Builds a two-column child/parent table model from a parent-to-children map,
+     * with rows ordered by child name.
+     *
+     * @param theHierarchy map from parent ID to child IDs
+     * @param theChildColumn the child column header
+     * @param theParentColumn the parent column header
+     * @return the table model
+     */
+    private DefaultTableModel buildHierarchyModel(Map<String, List<String>> theHierarchy,
+                                                  String theChildColumn, String theParentColumn) {
+        Vector<String> columnNames = new Vector<>();
+        columnNames.add(theChildColumn);
+        columnNames.add(theParentColumn);
+
+        Vector<Vector<Object>> data = new Vector<>();
+        for (Map.Entry<String, List<String>> entry : theHierarchy.entrySet()) {
+            for (String child : entry.getValue()) {
                 Vector<Object> row = new Vector<>();
-                row.add(subspecies_name);
-                row.add(parentSpecies);
-                subspeciesData.add(row);
+                row.add(child);
+                row.add(entry.getKey());
+                data.add(row);
             }
-
-            DefaultTableModel subspeciesModel = new DefaultTableModel(subspeciesData, subspeciesColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            mySubspeciesTable.setModel(subspeciesModel);
-            mySubspeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading subspecies: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
         }
+        data.sort(Comparator.comparing(theRow -> (String) theRow.get(0)));
+
+        return new DefaultTableModel(data, columnNames) {
+            @Override
+            public boolean isCellEditable(int theRow, int theColumn) {
+                return false;
+            }
+        };
     }
 
     /**
@@ -403,40 +397,39 @@ public class ClassSpeciesView extends JPanel {
             return;
         }
 
-        try {
-            String selectedSpeciesName = (String) mySpeciesTable.getValueAt(selectedRow, 0);
-            List<String> subspecies = myController.getSubspeciesBySpecies(selectedSpeciesName);
-
-            Vector<String> subspeciesColumnNames = new Vector<>();
-            subspeciesColumnNames.add("Subspecies");
-            subspeciesColumnNames.add("Parent Species");
-
-            Vector<Vector<Object>> subspeciesData = new Vector<>();
-            for (String subspecies_name : subspecies) {
-                Vector<Object> row = new Vector<>();
-                row.add(subspecies_name);
-                row.add(selectedSpeciesName);
-                subspeciesData.add(row);
-            }
+        String selectedSpeciesName = (String) mySpeciesTable.getValueAt(selectedRow, 0);
+        mySubspeciesLoader.load("Loading subspecies...",
+                () -> myController.getAsyncController().getSubspeciesBySpeciesAsync(selectedSpeciesName),
+                theSubspecies -> {
+                    Vector<String> subspeciesColumnNames = new Vector<>();
+                    subspeciesColumnNames.add("Subspecies");
+                    subspeciesColumnNames.add("Parent Species");
+
+                    Vector<Vector<Object>> subspeciesData = new Vector<>();
+                    for (String subspecies_name : theSubspecies) {
+                        Vector<Object> row = new Vector<>();
+                        row.add(subspecies_name);
+                        row.add(selectedSpeciesName);
+                        subspeciesData.add(row);
+                    }
 
-            DefaultTableModel subspeciesModel = new DefaultTableModel(subspeciesData, subspeciesColumnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            mySubspeciesTable.setModel(subspeciesModel);
-            mySubspeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-            // Update border title to show filter
-            ((JScrollPane)mySubspeciesTable.getParent().getParent()).setBorder(
-                    BorderFactory.createTitledBorder("Subspecies for " + selectedSpeciesName)
-            );
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading subspecies for selected species: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+                    DefaultTableModel subspeciesModel = new DefaultTableModel(subspeciesData, subspeciesColumnNames) {
+                        @Override
+                        public boolean isCellEditable(int theRow, int theColumn) {
+                            return false;
+                        }
+                    };
+                    mySubspeciesTable.setModel(subspeciesModel);
+                    mySubspeciesTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+
+                    // Update border title to show filter
+                    ((JScrollPane)mySubspeciesTable.getParent().getParent()).setBorder(
+                            BorderFactory.createTitledBorder("Subspecies for " + selectedSpeciesName)
+                    );
+                },
+                theError -> JOptionPane.showMessageDialog(this,
+                        "Error loading subspecies for selected species: " + theError.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -444,6 +437,7 @@ public class ClassSpeciesView extends JPanel {
      * Resets the border title to the default "Subclasses".
      */
     private void clearSubclassTable() {
+        mySubclassLoader.cancel();
         DefaultTableModel emptyModel = new DefaultTableModel();
         emptyModel.addColumn("Subclass");
         emptyModel.addColumn("Parent Class");
@@ -460,6 +454,7 @@ public class ClassSpeciesView extends JPanel {
      * Resets the border title to the default "Subspecies".
      */
     private void clearSubspeciesTable() {
+        mySubspeciesLoader.cancel();
         DefaultTableModel emptyModel = new DefaultTableModel();
         emptyModel.addColumn("Subspecies");
         emptyModel.addColumn("Parent Species");
@@ -489,11 +484,10 @@ public class ClassSpeciesView extends JPanel {
                 try {
                     String className = (String) myClassTable.getValueAt(row, 0);
 
-                    // Get the full description from the controller
-                    List<DnDClass> classes = myController.getAllClasses();
+                    // Get the full description from the loaded classes
                     String fullDescription = "";
 
-                    for (DnDClass dndClass : classes) {
+                    for (DnDClass dndClass : myClasses) {
                         if (dndClass.getClassId().equals(className)) {
                             fullDescription = dndClass.getClassSummary();
                             break;
@@ -533,11 +527,10 @@ public class ClassSpeciesView extends JPanel {
                 try {
                     String speciesName = (String) mySpeciesTable.getValueAt(row, 0);
 
-                    // Get the full description from the controller
-                    List<Species> speciesList = myController.getAllSpecies();
+                    // Get the full description from the loaded species
                     String fullDescription = "";
 
-                    for (Species species : speciesList) {
+                    for (Species species : mySpecies) {
                         if (species.getSpeciesId().equals(speciesName)) {
                             fullDescription = species.getSpeciesSummary();
                             break;
@@ -0,0 +1,124 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * A connection borrowed from a {@link ConnectionPool} for one unit of work.
+ * Closing the lease returns the connection to the pool instead of closing it,
+ * so leases are meant to be used in try-with-resources blocks.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ConnectionLease implements AutoCloseable {
+    private final ConnectionPool myPool;
+    private final ConnectionPool.PoolEntry myEntry;
+    private QueryFuture<?> myTrackedFuture;
+    private boolean myWrote;
+    private boolean myReleased;
+
+    /**
+     * Constructs a lease on a pooled connection.
+     *
+     * @param thePool the pool that owns the connection
+     * @param theEntry the borrowed pool entry
+     */
+    ConnectionLease(ConnectionPool thePool, ConnectionPool.PoolEntry theEntry) {
+        myPool = thePool;
+        myEntry = theEntry;
+    }
+
+    /**
+     * Gets the borrowed connection. It must not be closed directly.
+     *
+     * @return the connection
+     */
+    public Connection getConnection() {
+        if (myReleased) {
+            throw new IllegalStateException("Connection lease has already been returned to the pool");
+        }
+        return myEntry.getConnection();
+    }
+
+    /**
+     * Gets a prepared statement for the SQL text from the connection's statement cache.
+     * The statement stays owned by the cache: callers close its result sets but must
+     * not close the statement itself. If the calling thread is running a
+     * {@link QueryFuture}, the statement becomes the one that future cancels.
+     * A statement other than a query marks the lease as having written.
+     *
+     * @param theQuery the SQL text
+     * @return the cached prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String theQuery) throws SQLException {
+        getConnection();
+        if (!myWrote && !isQuery(theQuery)) {
+            myWrote = true;
+        }
+        PreparedStatement stmt = myEntry.getStatementCache().prepare(theQuery);
+        track(stmt);
+        return stmt;
+    }
+
+    /**
+     * Marks the lease as having written, for work that writes through
+     * {@link #getConnection()} rather than {@link #prepareStatement(String)}. Reads
+     * stay on the primary for a while after a lease that wrote is closed, so they see the write.
+     */
+    public void markWrite() {
+        myWrote = true;
+    }
+
+    /**
+     * Makes a statement prepared on this lease's connection the one the calling
+     * thread's {@link QueryFuture} cancels, until the lease is closed.
+     *
+     * @param theStatement the statement about to run
+     * @throws SQLException if the current query has already been cancelled
+     */
+    void track(Statement theStatement) throws SQLException {
+        QueryFuture<?> future = QueryFuture.track(theStatement);
+        if (future != null) {
+            myTrackedFuture = future;
+        }
+    }
+
+    /**
+     * Returns the connection to the pool. Calling this more than once has no effect.
+     * A future tracking one of the lease's statements stops tracking it first, so it
+     * can never cancel a query that another thread runs on the same connection.
+     */
+    @Override
+    public void close() {
+        if (!myReleased) {
+            myReleased = true;
+            if (myTrackedFuture != null) {
+                myTrackedFuture.untrack();
+                myTrackedFuture = null;
+            }
+            myPool.release(myEntry, myWrote);
+        }
+    }
+
+    /**
+     * Checks whether SQL text only reads, by its first keyword.
+     *
+     * @param theQuery the SQL text
+     * @return true for SELECT, WITH, SHOW, EXPLAIN and DESCRIBE statements
+     */
+    private static boolean isQuery(String theQuery) {
+        String sql = theQuery.stripLeading();
+        int end = 0;
+        while (end < sql.length() && java.lang.Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return switch (sql.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT", "WITH", "SHOW", "EXPLAIN", "DESCRIBE" -> true;
+            default -> false;
+        };
+    }
+}
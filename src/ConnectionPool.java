@@ -0,0 +1,500 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of JDBC connections.
+ * Callers borrow a connection for the duration of one unit of work and return it
+ * by closing the {@link ConnectionLease}. The pool keeps at least the minimum number
+ * of connections open, never opens more than the maximum, validates connections
+ * before handing them out, and closes connections that sit idle for too long.
+ * Each pooled connection carries its own {@link StatementCache}, which lives and
+ * dies with the physical connection.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final long MIN_EVICTION_PERIOD_MILLIS = 1000;
+
+    private final String myName;
+    private final String myUrl;
+    private final String myUser;
+    private final String myPassword;
+    private final int myMinSize;
+    private final int myMaxSize;
+    private final long myIdleTimeoutMillis;
+    private final long myBorrowTimeoutMillis;
+    private final int myStatementCacheSize;
+    private final LongAdder myStatementCacheHits = new LongAdder();
+    private final LongAdder myStatementCacheMisses = new LongAdder();
+
+    private final ReentrantLock myLock = new ReentrantLock();
+    private final Condition myAvailable = myLock.newCondition();
+    private final Deque<PoolEntry> myIdleEntries = new ArrayDeque<>();
+    private final ScheduledExecutorService myEvictor;
+    private int myOpenCount;
+    private int myBorrowedCount;
+    private volatile boolean myClosed;
+    private volatile long myLastWriteMillis;
+
+    /**
+     * Constructs a pool for the given database. No connections are opened until
+     * {@link #fill()} or {@link #borrow()} is called.
+     *
+     * @param theName the name the pool is reported under, e.g. "primary"
+     * @param theUrl the JDBC URL
+     * @param theUser the database user
+     * @param thePassword the database password
+     * @param theMinSize the number of connections to keep open while idle
+     * @param theMaxSize the maximum number of open connections
+     * @param theIdleTimeoutMillis how long a connection may sit idle before it is closed
+     * @param theBorrowTimeoutMillis how long a caller waits for a free connection
+     * @param theStatementCacheSize the number of prepared statements cached per connection
+     */
+    public ConnectionPool(String theName, String theUrl, String theUser, String thePassword,
+                          int theMinSize, int theMaxSize,
+                          long theIdleTimeoutMillis, long theBorrowTimeoutMillis,
+                          int theStatementCacheSize) {
+        if (theMinSize < 0 || theMaxSize < 1 || theMinSize > theMaxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + theMinSize + ", max=" + theMaxSize);
+        }
+        myName = theName;
+        myUrl = theUrl;
+        myUser = theUser;
+        myPassword = thePassword;
+        myMinSize = theMinSize;
+        myMaxSize = theMaxSize;
+        myIdleTimeoutMillis = theIdleTimeoutMillis;
+        myBorrowTimeoutMillis = theBorrowTimeoutMillis;
+        myStatementCacheSize = theStatementCacheSize;
+
+        myEvictor = Executors.newSingleThreadScheduledExecutor(theRunnable -> {
+            Thread thread = new Thread(theRunnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(MIN_EVICTION_PERIOD_MILLIS, myIdleTimeoutMillis / 2);
+        myEvictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens connections until the pool holds its minimum size.
+     *
+     * @throws SQLException if a connection cannot be opened
+     */
+    public void fill() throws SQLException {
+        while (true) {
+            myLock.lock();
+            try {
+                if (myClosed || myOpenCount >= myMinSize) {
+                    return;
+                }
+                myOpenCount++;
+            } finally {
+                myLock.unlock();
+            }
+
+            PoolEntry entry;
+            try {
+                entry = openEntry();
+            } catch (SQLException e) {
+                discardSlot();
+                throw e;
+            }
+
+            myLock.lock();
+            try {
+                myIdleEntries.addLast(entry);
+                myAvailable.signal();
+            } finally {
+                myLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Borrows a validated connection, waiting up to the borrow timeout for one to
+     * become free. The caller must close the returned lease to give it back.
+     *
+     * @return a lease on a pooled connection
+     * @throws SQLException if the pool is closed, the wait times out, or a new connection fails
+     */
+    public ConnectionLease borrow() throws SQLException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(myBorrowTimeoutMillis);
+
+        while (true) {
+            PoolEntry entry = null;
+            boolean openNew = false;
+
+            myLock.lock();
+            try {
+                while (entry == null && !openNew) {
+                    if (myClosed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    entry = myIdleEntries.pollFirst();
+                    if (entry == null && myOpenCount < myMaxSize) {
+                        myOpenCount++;
+                        openNew = true;
+                    }
+                    if (entry == null && !openNew) {
+                        if (remainingNanos <= 0) {
+                            throw new SQLTransientConnectionException("Timed out after " + myBorrowTimeoutMillis
+                                    + " ms waiting for a database connection (pool size " + myMaxSize + ")");
+                        }
+                        remainingNanos = myAvailable.awaitNanos(remainingNanos);
+                    }
+                }
+                myBorrowedCount++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            } finally {
+                myLock.unlock();
+            }
+
+            if (openNew) {
+                try {
+                    entry = openEntry();
+                } catch (SQLException e) {
+                    myLock.lock();
+                    try {
+                        myBorrowedCount--;
+                    } finally {
+                        myLock.unlock();
+                    }
+                    discardSlot();
+                    throw e;
+                }
+                return new ConnectionLease(this, entry);
+            }
+
+            if (isUsable(entry)) {
+                return new ConnectionLease(this, entry);
+            }
+
+            // Stale connection: drop it and try again with a fresh one
+            myLock.lock();
+            try {
+                myBorrowedCount--;
+            } finally {
+                myLock.unlock();
+            }
+            destroy(entry);
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. Called by {@link ConnectionLease#close()}.
+     *
+     * @param theEntry the entry being returned
+     * @param theWrote whether the lease wrote to the database
+     */
+    void release(PoolEntry theEntry, boolean theWrote) {
+        if (theWrote) {
+            myLastWriteMillis = System.currentTimeMillis();
+        }
+        boolean reusable = !myClosed && resetState(theEntry);
+
+        myLock.lock();
+        try {
+            myBorrowedCount--;
+            if (reusable && !myClosed) {
+                theEntry.myLastUsedNanos = System.nanoTime();
+                myIdleEntries.addFirst(theEntry);
+                myAvailable.signal();
+                return;
+            }
+        } finally {
+            myLock.unlock();
+        }
+        destroy(theEntry);
+    }
+
+    /**
+     * Gets when a lease that wrote to the database last gave its connection back,
+     * which is after the write committed.
+     *
+     * @return the time in epoch milliseconds, or 0 if there has been no write
+     */
+    public long getLastWriteMillis() {
+        return myLastWriteMillis;
+    }
+
+    /**
+     * Gets the number of connections currently open, idle or borrowed.
+     *
+     * @return the open connection count
+     */
+    public int getOpenCount() {
+        myLock.lock();
+        try {
+            return myOpenCount;
+        } finally {
+            myLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of connections currently borrowed.
+     *
+     * @return the borrowed connection count
+     */
+    public int getBorrowedCount() {
+        myLock.lock();
+        try {
+            return myBorrowedCount;
+        } finally {
+            myLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of statement requests served from a connection's statement cache.
+     *
+     * @return the statement cache hit count
+     */
+    public long getStatementCacheHits() {
+        return myStatementCacheHits.sum();
+    }
+
+    /**
+     * Gets the number of statement requests that had to prepare a new statement.
+     *
+     * @return the statement cache miss count
+     */
+    public long getStatementCacheMisses() {
+        return myStatementCacheMisses.sum();
+    }
+
+    /**
+     * Gets the fraction of statement requests served from a statement cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if no statements have been requested
+     */
+    public double getStatementCacheHitRate() {
+        long hits = getStatementCacheHits();
+        long total = hits + getStatementCacheMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the maximum number of connections this pool will open.
+     *
+     * @return the maximum pool size
+     */
+    public int getMaxSize() {
+        return myMaxSize;
+    }
+
+    /**
+     * Checks whether the pool has been closed.
+     *
+     * @return true if the pool is closed
+     */
+    public boolean isClosed() {
+        return myClosed;
+    }
+
+    /**
+     * Closes the pool and all idle connections, and reports how well the statement
+     * caches did. Borrowed connections are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        List<PoolEntry> toClose;
+        myLock.lock();
+        try {
+            if (myClosed) {
+                return;
+            }
+            myClosed = true;
+            toClose = new ArrayList<>(myIdleEntries);
+            myIdleEntries.clear();
+            myAvailable.signalAll();
+        } finally {
+            myLock.unlock();
+        }
+        myEvictor.shutdownNow();
+        for (PoolEntry entry : toClose) {
+            destroy(entry);
+        }
+        System.out.printf("Statement cache (%s pool): %d hits, %d misses (%.1f%% hit rate)%n",
+                myName, getStatementCacheHits(), getStatementCacheMisses(), getStatementCacheHitRate() * 100);
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout,
+     * then tops the pool back up to its minimum size.
+     */
+    private void evictIdleConnections() {
+        List<PoolEntry> expired = new ArrayList<>();
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(myIdleTimeoutMillis);
+
+        myLock.lock();
+        try {
+            // Least recently used entries sit at the tail
+            Iterator<PoolEntry> oldestFirst = myIdleEntries.descendingIterator();
+            int removable = myOpenCount - myMinSize;
+            while (oldestFirst.hasNext() && removable > 0) {
+                PoolEntry entry = oldestFirst.next();
+                if (now - entry.myLastUsedNanos < timeoutNanos) {
+                    break;
+                }
+                oldestFirst.remove();
+                expired.add(entry);
+                removable--;
+            }
+        } finally {
+            myLock.unlock();
+        }
+
+        for (PoolEntry entry : expired) {
+            destroy(entry);
+        }
+
+        try {
+            fill();
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not restore minimum size: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a new physical connection along with its statement cache.
+     *
+     * @return the new pool entry
+     * @throws SQLException if the connection cannot be opened
+     */
+    private PoolEntry openEntry() throws SQLException {
+        Connection connection = DriverManager.getConnection(myUrl, myUser, myPassword);
+        return new PoolEntry(connection,
+                new StatementCache(connection, myStatementCacheSize, myStatementCacheHits, myStatementCacheMisses));
+    }
+
+    /**
+     * Checks that an idle connection is still alive before lending it out.
+     * Connections returned within the last few hundred milliseconds skip the round trip.
+     *
+     * @param theEntry the entry to check
+     * @return true if the connection can be used
+     */
+    private boolean isUsable(PoolEntry theEntry) {
+        try {
+            if (theEntry.myConnection.isClosed()) {
+                return false;
+            }
+            long idleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - theEntry.myLastUsedNanos);
+            return idleMillis < VALIDATION_BYPASS_MILLIS
+                    || theEntry.myConnection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restores a returned connection to auto-commit mode, rolling back any open transaction.
+     *
+     * @param theEntry the entry being returned
+     * @return true if the connection is still fit for reuse
+     */
+    private boolean resetState(PoolEntry theEntry) {
+        try {
+            Connection connection = theEntry.myConnection;
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes a connection and frees its slot in the pool.
+     *
+     * @param theEntry the entry to close
+     */
+    private void destroy(PoolEntry theEntry) {
+        theEntry.myStatementCache.close();
+        try {
+            theEntry.myConnection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+        discardSlot();
+    }
+
+    /**
+     * Frees a slot reserved for a connection and wakes up one waiting borrower.
+     */
+    private void discardSlot() {
+        myLock.lock();
+        try {
+            myOpenCount--;
+            myAvailable.signal();
+        } finally {
+            myLock.unlock();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool along with its bookkeeping.
+     */
+    static final class PoolEntry {
+        private final Connection myConnection;
+        private final StatementCache myStatementCache;
+        private long myLastUsedNanos;
+
+        /**
+         * Wraps a freshly opened connection.
+         *
+         * @param theConnection the physical connection
+         * @param theStatementCache the statement cache bound to the connection
+         */
+        PoolEntry(Connection theConnection, StatementCache theStatementCache) {
+            myConnection = theConnection;
+            myStatementCache = theStatementCache;
+            myLastUsedNanos = System.nanoTime();
+        }
+
+        /**
+         * Gets the physical connection.
+         *
+         * @return the connection
+         */
+        Connection getConnection() {
+            return myConnection;
+        }
+
+        /**
+         * Gets the statement cache bound to the connection.
+         *
+         * @return the statement cache
+         */
+        StatementCache getStatementCache() {
+            return myStatementCache;
+        }
+    }
+}
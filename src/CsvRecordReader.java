@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV records one at a time. The first line names the fields; each later
+ * line is one record. Fields may be quoted with double quotes, in which case
+ * they can contain commas, line breaks and doubled quotes. Blank lines are skipped.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class CsvRecordReader implements ImportRecordReader {
+    private static final int NONE = -2;
+
+    private final Reader myReader;
+    private final List<String> myHeader;
+    private final StringBuilder myField = new StringBuilder();
+    private int myPeeked = NONE;
+    private long myLine = 1;
+    private long myRecordLine;
+
+    /**
+     * Constructs a reader and reads the header line.
+     *
+     * @param theReader the CSV text, ideally buffered
+     * @throws IOException if the header cannot be read or the file is empty
+     */
+    public CsvRecordReader(Reader theReader) throws IOException {
+        myReader = theReader;
+        int first = read();
+        if (first != '\uFEFF') {
+            unread(first);
+        }
+        myHeader = readFields();
+        if (myHeader == null) {
+            throw new IOException("CSV file is empty");
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < myHeader.size() && i < fields.size(); i++) {
+            record.put(myHeader.get(i), fields.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public long getLineNumber() {
+        return myRecordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        myReader.close();
+    }
+
+    /**
+     * Reads the fields of the next line, following quoted fields across line breaks.
+     *
+     * @return the fields, or null at the end of the file
+     * @throws IOException if reading fails or a quoted field is not closed
+     */
+    private List<String> readFields() throws IOException {
+        myRecordLine = myLine;
+        List<String> fields = new ArrayList<>();
+        myField.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        myField.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    myField.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(myField.toString().trim());
+                myField.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                break;
+            } else {
+                myField.append((char) c);
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("Quoted field starting on line " + myRecordLine + " is never closed");
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(myField.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Reads one character, counting lines.
+     *
+     * @return the character, or -1 at the end of the file
+     * @throws IOException if reading fails
+     */
+    private int read() throws IOException {
+        int c;
+        if (myPeeked != NONE) {
+            c = myPeeked;
+            myPeeked = NONE;
+        } else {
+            c = myReader.read();
+        }
+        if (c == '\n') {
+            myLine++;
+        }
+        return c;
+    }
+
+    /**
+     * Pushes back the character just read so the next {@link #read()} returns it again.
+     *
+     * @param theChar the character, or -1 at the end of the file
+     */
+    private void unread(int theChar) {
+        if (theChar == '\n') {
+            myLine--;
+        }
+        myPeeked = theChar;
+    }
+}
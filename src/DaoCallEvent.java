@@ -0,0 +1,39 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for one DAO method call, emitted by {@link DaoMetrics}.
+ * The event's duration is the call's duration. When no recording is running the
+ * event is never committed, so it costs next to nothing.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@Name("dungeondata.DaoCall")
+@Label("DAO Call")
+@Category({"DungeonData", "Database"})
+@Description("A call to a DAO method and the query it ran")
+@StackTrace(false)
+public class DaoCallEvent extends Event {
+    @Label("SQL Id")
+    @Description("The DAO method, such as PlayerDAO.getAllPlayers, or the report that was run")
+    String sqlId;
+
+    @Label("Rows")
+    @Description("Rows returned or written")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Connection Wait")
+    @Description("Time spent waiting for a pooled connection")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionWait;
+}
@@ -0,0 +1,108 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, row, error and connection wait metrics of one DAO method,
+ * collected by {@link DaoMetrics}. Safe to update from many threads at once.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class DaoMethodMetrics implements DaoMethodMetricsMBean {
+    private final String myMethod;
+    private final LatencyHistogram myLatency = new LatencyHistogram();
+    private final LatencyHistogram myConnectionWait = new LatencyHistogram();
+    private final LongAdder myErrors = new LongAdder();
+    private final LongAdder myRows = new LongAdder();
+
+    /**
+     * Constructs empty metrics for a method.
+     *
+     * @param theMethod the DAO method name, such as {@code PlayerDAO.getAllPlayers}
+     */
+    DaoMethodMetrics(String theMethod) {
+        myMethod = theMethod;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param theNanos how long the call took
+     * @param theConnectionWaitNanos how long the call waited to borrow connections
+     * @param theRows the rows the call returned or wrote
+     * @param theFailed whether the call threw an exception
+     */
+    void record(long theNanos, long theConnectionWaitNanos, long theRows, boolean theFailed) {
+        myLatency.record(theNanos);
+        myConnectionWait.record(theConnectionWaitNanos);
+        myRows.add(theRows);
+        if (theFailed) {
+            myErrors.increment();
+        }
+    }
+
+    /**
+     * Clears the metrics.
+     */
+    void reset() {
+        myLatency.reset();
+        myConnectionWait.reset();
+        myErrors.reset();
+        myRows.reset();
+    }
+
+    @Override
+    public String getMethod() {
+        return myMethod;
+    }
+
+    @Override
+    public long getCalls() {
+        return myLatency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return myErrors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return myRows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return myLatency.getMeanMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return myLatency.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return myLatency.getPercentileMillis(0.95);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return myLatency.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return myLatency.getMaxMillis();
+    }
+
+    @Override
+    public double getMeanConnectionWaitMillis() {
+        return myConnectionWait.getMeanMillis();
+    }
+
+    @Override
+    public double getMaxConnectionWaitMillis() {
+        return myConnectionWait.getMaxMillis();
+    }
+}
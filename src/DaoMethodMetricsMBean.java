@@ -0,0 +1,85 @@
+/**
+ * JMX view of the metrics of one DAO method. Times are in milliseconds.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public interface DaoMethodMetricsMBean {
+    /**
+     * Gets the DAO method name, such as {@code PlayerDAO.getAllPlayers}.
+     *
+     * @return the method name
+     */
+    String getMethod();
+
+    /**
+     * Gets the number of calls, including failed ones.
+     *
+     * @return the call count
+     */
+    long getCalls();
+
+    /**
+     * Gets the number of calls that threw an exception.
+     *
+     * @return the error count
+     */
+    long getErrors();
+
+    /**
+     * Gets the total number of rows returned or written by successful calls.
+     *
+     * @return the row count
+     */
+    long getRows();
+
+    /**
+     * Gets the mean call time.
+     *
+     * @return the mean in milliseconds
+     */
+    double getMeanMillis();
+
+    /**
+     * Gets the median call time.
+     *
+     * @return the p50 in milliseconds
+     */
+    double getP50Millis();
+
+    /**
+     * Gets the 95th percentile call time.
+     *
+     * @return the p95 in milliseconds
+     */
+    double getP95Millis();
+
+    /**
+     * Gets the 99th percentile call time.
+     *
+     * @return the p99 in milliseconds
+     */
+    double getP99Millis();
+
+    /**
+     * Gets the longest call time.
+     *
+     * @return the maximum in milliseconds
+     */
+    double getMaxMillis();
+
+    /**
+     * Gets the mean time a call waited to borrow database connections.
+     *
+     * @return the mean wait in milliseconds
+     */
+    double getMeanConnectionWaitMillis();
+
+    /**
+     * Gets the longest time a call waited to borrow database connections.
+     *
+     * @return the maximum wait in milliseconds
+     */
+    double getMaxConnectionWaitMillis();
+}
@@ -0,0 +1,272 @@
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects latency, row count, error and connection wait metrics for every DAO
+ * method. Each public DAO method runs its work through {@link #record(String, QueryFuture.SqlTask)},
+ * which times the call and counts the rows in its result; the time the call spends
+ * waiting for a pooled connection is reported by {@link DatabaseConnection}.
+ *
+ * <p>Once {@link #registerMBeans()} has been called, the metrics can be read with
+ * any JMX client such as JConsole, under {@code dungeondata:type=DaoMethod}, and
+ * dumped to a CSV file through the {@code dungeondata:type=DaoMetrics} bean.
+ * The command-line tool never registers them, so it does not pay to start JMX.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public final class DaoMetrics implements DaoMetricsMBean {
+    private static final DaoMetrics INSTANCE = new DaoMetrics();
+    private static final String DOMAIN = "dungeondata";
+    // Connection wait of the DAO call running on the current thread
+    private static final ThreadLocal<long[]> CURRENT_WAIT = new ThreadLocal<>();
+
+    private final Map<String, DaoMethodMetrics> myMethods = new ConcurrentHashMap<>();
+    private volatile MBeanServer myMBeanServer;
+
+    /**
+     * Prevents instantiation outside this class.
+     */
+    private DaoMetrics() {
+    }
+
+    /**
+     * Runs one DAO call and records how long it took, how many rows its result holds
+     * and whether it failed. Rows are the size of a returned list or map, the rows of
+     * a {@link ResultTable}, the inserted rows of a {@link BulkInsertResult}, 1 for a
+     * true result of an update, and 1 for any other single value. The call is also
+     * emitted as a {@link DaoCallEvent} when a flight recording is running.
+     *
+     * @param <T> the result type
+     * @param theMethod the DAO method name, such as {@code PlayerDAO.getAllPlayers}
+     * @param theCall the DAO method's work
+     * @return the call's result
+     * @throws SQLException if the call fails
+     */
+    public static <T> T record(String theMethod, QueryFuture.SqlTask<T> theCall) throws SQLException {
+        long[] outerWait = CURRENT_WAIT.get();
+        long[] wait = new long[1];
+        CURRENT_WAIT.set(wait);
+        int slowQueryMark = SlowQueryLog.isEnabled() ? SlowQueryLog.callStarted() : -1;
+        DaoCallEvent event = new DaoCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        long rows = 0;
+        try {
+            T result = theCall.call();
+            rows = countRows(result);
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (outerWait == null) {
+                CURRENT_WAIT.remove();
+            } else {
+                outerWait[0] += wait[0];
+                CURRENT_WAIT.set(outerWait);
+            }
+            INSTANCE.getMethod(theMethod).record(elapsed, wait[0], rows, failed);
+            if (slowQueryMark >= 0) {
+                SlowQueryLog.callFinished(slowQueryMark, theMethod, failed ? -1 : rows);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.sqlId = theMethod;
+                event.rows = rows;
+                event.failed = failed;
+                event.connectionWait = wait[0];
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a DAO call is running on this thread.
+     *
+     * @return true inside {@link #record(String, QueryFuture.SqlTask)}
+     */
+    static boolean isRecording() {
+        return CURRENT_WAIT.get() != null;
+    }
+
+    /**
+     * Adds time spent waiting for a pooled connection to the DAO call running on this thread.
+     *
+     * @param theNanos the wait in nanoseconds
+     */
+    static void addConnectionWait(long theNanos) {
+        long[] wait = CURRENT_WAIT.get();
+        if (wait != null) {
+            wait[0] += theNanos;
+        }
+    }
+
+    /**
+     * Gets the metrics of every method called so far.
+     *
+     * @return the metrics, ordered by method name
+     */
+    public static List<DaoMethodMetrics> getAll() {
+        List<DaoMethodMetrics> all = new ArrayList<>(INSTANCE.myMethods.values());
+        all.sort(Comparator.comparing(DaoMethodMetrics::getMethod));
+        return all;
+    }
+
+    /**
+     * Gets the instance that is registered with JMX.
+     *
+     * @return the instance
+     */
+    public static DaoMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Methods called later are
+     * registered when they are first called. Calling this again has no effect.
+     */
+    public static synchronized void registerMBeans() {
+        if (INSTANCE.myMBeanServer != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(DOMAIN, "type", "DaoMetrics"));
+        } catch (JMException e) {
+            System.err.println("Could not register DAO metrics with JMX: " + e.getMessage());
+            return;
+        }
+        // Set first, so a method first called during the loop is registered by whichever thread gets there first
+        INSTANCE.myMBeanServer = server;
+        for (DaoMethodMetrics method : INSTANCE.myMethods.values()) {
+            INSTANCE.register(method);
+        }
+    }
+
+    @Override
+    public int getMethodCount() {
+        return myMethods.size();
+    }
+
+    @Override
+    public String dump(String theFile) throws IOException {
+        Path file = Paths.get(theFile).toAbsolutePath();
+        dump(file);
+        return file.toString();
+    }
+
+    /**
+     * Writes the metrics of every method to a CSV file with a header line.
+     * Times are in milliseconds.
+     *
+     * @param theFile the file to write; replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(Path theFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(theFile)) {
+            writer.write("method,calls,errors,rows,mean_ms,p50_ms,p95_ms,p99_ms,max_ms,"
+                    + "mean_connection_wait_ms,max_connection_wait_ms");
+            writer.newLine();
+            for (DaoMethodMetrics method : getAll()) {
+                writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        method.getMethod(), method.getCalls(), method.getErrors(), method.getRows(),
+                        method.getMeanMillis(), method.getP50Millis(), method.getP95Millis(),
+                        method.getP99Millis(), method.getMaxMillis(),
+                        method.getMeanConnectionWaitMillis(), method.getMaxConnectionWaitMillis()));
+                writer.newLine();
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (DaoMethodMetrics method : myMethods.values()) {
+            method.reset();
+        }
+    }
+
+    /**
+     * Gets the metrics of a method, creating and registering them on its first call.
+     *
+     * @param theMethod the DAO method name
+     * @return the method's metrics
+     */
+    private DaoMethodMetrics getMethod(String theMethod) {
+        DaoMethodMetrics method = myMethods.get(theMethod);
+        if (method == null) {
+            DaoMethodMetrics created = new DaoMethodMetrics(theMethod);
+            method = myMethods.putIfAbsent(theMethod, created);
+            if (method == null) {
+                method = created;
+                if (myMBeanServer != null) {
+                    register(created);
+                }
+            }
+        }
+        return method;
+    }
+
+    /**
+     * Registers one method's metrics with the MBean server.
+     *
+     * @param theMethod the method's metrics
+     */
+    private void register(DaoMethodMetrics theMethod) {
+        String name = theMethod.getMethod();
+        int dot = name.indexOf('.');
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=DaoMethod,dao=" + name.substring(0, dot)
+                    + ",name=" + name.substring(dot + 1));
+            if (!myMBeanServer.isRegistered(objectName)) {
+                myMBeanServer.registerMBean(theMethod, objectName);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by another thread at the same time
+        } catch (JMException e) {
+            System.err.println("Could not register metrics for " + name + " with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Counts the rows in a DAO call's result.
+     *
+     * @param theResult the result
+     * @return the row count
+     */
+    private static long countRows(Object theResult) {
+        if (theResult instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (theResult instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (theResult instanceof ResultTable table) {
+            return table.getRowCount();
+        }
+        if (theResult instanceof BulkInsertResult inserted) {
+            return inserted.getInsertedCount();
+        }
+        if (theResult instanceof Boolean success) {
+            return success ? 1 : 0;
+        }
+        return theResult == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,32 @@
+import java.io.IOException;
+
+/**
+ * JMX operations on the DAO metrics as a whole. The metrics of each method are
+ * registered as their own {@link DaoMethodMetricsMBean}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public interface DaoMetricsMBean {
+    /**
+     * Gets the number of DAO methods that have been called.
+     *
+     * @return the method count
+     */
+    int getMethodCount();
+
+    /**
+     * Writes the metrics of every method to a CSV file.
+     *
+     * @param theFile the path of the file to write; replaced if it exists
+     * @return the absolute path written
+     * @throws IOException if the file cannot be written
+     */
+    String dump(String theFile) throws IOException;
+
+    /**
+     * Clears the metrics of every method.
+     */
+    void reset();
+}
@@ -0,0 +1,350 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Writes a report straight from the database to a CSV or newline-delimited JSON file.
+ * Rows are streamed from the server one at a time and encoded into a fixed-size
+ * buffer that is written to a file channel whenever it fills, so memory use stays
+ * the same however many rows the report returns. A file is written under a
+ * temporary name and only renamed into place once the export succeeds.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class DataExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // MySQL Connector/J streams rows one at a time only for this fetch size
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * The file formats an export can be written in.
+     */
+    public enum Format {
+        /** Comma-separated values with a header line. */
+        CSV,
+        /** One JSON object per line. */
+        NDJSON;
+
+        /**
+         * Chooses a format from a file's extension: .json, .jsonl and .ndjson files
+         * are written as NDJSON and anything else as CSV.
+         *
+         * @param theFile the file to export to
+         * @return the format
+         */
+        public static Format forFile(Path theFile) {
+            String name = theFile.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson") ? NDJSON : CSV;
+        }
+    }
+
+    private final DatabaseConnection myDatabase;
+
+    /**
+     * Constructs an exporter backed by the shared connection pool.
+     *
+     * @throws SQLException if database connection fails
+     */
+    public DataExporter() throws SQLException {
+        myDatabase = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Exports a report to a file in the format its extension implies.
+     *
+     * @param theReport the report to export
+     * @param theFile the file to write; replaced if it exists
+     * @return the number of rows written
+     * @throws SQLException if the query fails or is cancelled
+     * @throws IOException if the file cannot be written
+     */
+    public long export(ReportDAO.Report theReport, Path theFile) throws SQLException, IOException {
+        return export(theReport, Format.forFile(theFile), theFile);
+    }
+
+    /**
+     * Exports a report to a file. If the export fails, any existing file is left unchanged.
+     *
+     * @param theReport the report to export
+     * @param theFormat the file format
+     * @param theFile the file to write; replaced if it exists
+     * @return the number of rows written
+     * @throws SQLException if the query fails or is cancelled
+     * @throws IOException if the file cannot be written
+     */
+    public long export(ReportDAO.Report theReport, Format theFormat, Path theFile)
+            throws SQLException, IOException {
+        Path partFile = theFile.resolveSibling(theFile.getFileName() + ".part");
+        long rows;
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            rows = export(theReport, theFormat, channel);
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(partFile);
+            throw e;
+        }
+        Files.move(partFile, theFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    /**
+     * Exports a report to a channel, such as standard output. The channel is left open.
+     *
+     * @param theReport the report to export
+     * @param theFormat the output format
+     * @param theChannel the channel to write to
+     * @return the number of rows written
+     * @throws SQLException if the query fails or is cancelled
+     * @throws IOException if the channel cannot be written
+     */
+    public long export(ReportDAO.Report theReport, Format theFormat, WritableByteChannel theChannel)
+            throws SQLException, IOException {
+        try (ConnectionLease lease = myDatabase.borrowReadConnection();
+             PreparedStatement stmt = prepareStreaming(lease, theReport.getQuery());
+             ResultSet rs = stmt.executeQuery();
+             ChannelWriter writer = new ChannelWriter(theChannel)) {
+
+            return theFormat == Format.CSV ? writeCsv(rs, writer) : writeNdjson(rs, writer);
+        }
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement that streams its rows instead of
+     * reading them all into memory. The statement is not taken from the statement
+     * cache, since a streaming fetch size must not carry over to other queries.
+     *
+     * @param theLease the lease to prepare the statement on
+     * @param theQuery the SQL text
+     * @return the statement, which the caller must close
+     * @throws SQLException if the statement cannot be prepared
+     */
+    private PreparedStatement prepareStreaming(ConnectionLease theLease, String theQuery) throws SQLException {
+        Connection connection = theLease.getConnection();
+        PreparedStatement stmt = connection.prepareStatement(theQuery,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mySql = connection.getMetaData().getDriverName().startsWith("MySQL");
+        stmt.setFetchSize(mySql ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE);
+        theLease.track(stmt);
+        return stmt;
+    }
+
+    /**
+     * Writes a result set as CSV with a header line.
+     *
+     * @param theResults the rows to write
+     * @param theWriter the destination
+     * @return the number of rows written
+     * @throws SQLException if reading a row fails
+     * @throws IOException if writing fails
+     */
+    private long writeCsv(ResultSet theResults, ChannelWriter theWriter) throws SQLException, IOException {
+        ResultSetMetaData metaData = theResults.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        StringBuilder line = new StringBuilder();
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                line.append(',');
+            }
+            appendCsvValue(line, metaData.getColumnLabel(i));
+        }
+        theWriter.write(line.append("\r\n"));
+
+        long rows = 0;
+        while (theResults.next()) {
+            line.setLength(0);
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    line.append(',');
+                }
+                Object value = theResults.getObject(i);
+                if (value != null) {
+                    appendCsvValue(line, value.toString());
+                }
+            }
+            theWriter.write(line.append("\r\n"));
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Writes a result set as one JSON object per line, keyed by column label.
+     *
+     * @param theResults the rows to write
+     * @param theWriter the destination
+     * @return the number of rows written
+     * @throws SQLException if reading a row fails
+     * @throws IOException if writing fails
+     */
+    private long writeNdjson(ResultSet theResults, ChannelWriter theWriter) throws SQLException, IOException {
+        ResultSetMetaData metaData = theResults.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] keys = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            StringBuilder key = new StringBuilder();
+            appendJsonString(key, metaData.getColumnLabel(i + 1));
+            keys[i] = key.append(':').toString();
+        }
+
+        StringBuilder line = new StringBuilder();
+        long rows = 0;
+        while (theResults.next()) {
+            line.setLength(0);
+            line.append('{');
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(keys[i]);
+                Object value = theResults.getObject(i + 1);
+                if (value == null) {
+                    line.append("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    line.append(value);
+                } else {
+                    appendJsonString(line, value.toString());
+                }
+            }
+            theWriter.write(line.append("}\n"));
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it contains a comma, quote or line break.
+     *
+     * @param theLine the line being built
+     * @param theValue the field value
+     */
+    private static void appendCsvValue(StringBuilder theLine, String theValue) {
+        boolean quote = false;
+        for (int i = 0; i < theValue.length() && !quote; i++) {
+            char c = theValue.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            theLine.append(theValue);
+            return;
+        }
+        theLine.append('"');
+        for (int i = 0; i < theValue.length(); i++) {
+            char c = theValue.charAt(i);
+            if (c == '"') {
+                theLine.append('"');
+            }
+            theLine.append(c);
+        }
+        theLine.append('"');
+    }
+
+    /**
+     * Appends a quoted JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param theLine the line being built
+     * @param theValue the string value
+     */
+    private static void appendJsonString(StringBuilder theLine, String theValue) {
+        theLine.append('"');
+        for (int i = 0; i < theValue.length(); i++) {
+            char c = theValue.charAt(i);
+            switch (c) {
+                case '"' -> theLine.append("\\\"");
+                case '\\' -> theLine.append("\\\\");
+                case '\n' -> theLine.append("\\n");
+                case '\r' -> theLine.append("\\r");
+                case '\t' -> theLine.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        theLine.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        theLine.append(c);
+                    }
+                }
+            }
+        }
+        theLine.append('"');
+    }
+
+    /**
+     * Encodes text as UTF-8 into a fixed-size buffer and writes the buffer to a
+     * channel each time it fills.
+     */
+    private static final class ChannelWriter implements AutoCloseable {
+        private final WritableByteChannel myChannel;
+        private final ByteBuffer myBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder myEncoder = StandardCharsets.UTF_8.newEncoder();
+
+        /**
+         * Constructs a writer over a channel.
+         *
+         * @param theChannel the channel to write to
+         */
+        private ChannelWriter(WritableByteChannel theChannel) {
+            myChannel = theChannel;
+        }
+
+        /**
+         * Encodes text into the buffer, writing the buffer out whenever it fills.
+         *
+         * @param theText the text to write
+         * @throws IOException if writing fails or the text cannot be encoded
+         */
+        private void write(CharSequence theText) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(theText);
+            while (true) {
+                CoderResult result = myEncoder.encode(chars, myBuffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the channel.
+         *
+         * @throws IOException if writing fails
+         */
+        private void drain() throws IOException {
+            myBuffer.flip();
+            while (myBuffer.hasRemaining()) {
+                myChannel.write(myBuffer);
+            }
+            myBuffer.clear();
+        }
+
+        /**
+         * Writes any remaining bytes. The channel is left open.
+         *
+         * @throws IOException if writing fails
+         */
+        @Override
+        public void close() throws IOException {
+            myEncoder.encode(CharBuffer.allocate(0), myBuffer, true);
+            myEncoder.flush(myBuffer);
+            drain();
+        }
+    }
+}
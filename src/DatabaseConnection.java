@@ -2,7 +2,13 @@ import java.sql.*;
 
 /**
  * Singleton class for managing database connections.
- * Provides a single point of access to the MySQL database.
+ * Provides a single point of access to the MySQL database through a bounded
+ * connection pool. DAOs borrow a connection per call and return it by closing
+ * the lease, so independent queries can run on separate threads at once.
+ * Read-only queries can be routed to an optional read replica, which is bypassed
+ * when it is down, lagging, or a write has just gone to the primary.
+ * Creating the instance opens no connections; they are opened on first use, or
+ * ahead of time by {@link #open()}.
  *
  * @author David Norman
  * @author Georgia Karwhite
@@ -10,24 +16,91 @@ import java.sql.*;
  */
 public class DatabaseConnection {
     private static DatabaseConnection myInstance;
-    private Connection myConnection;
+    private final ConnectionPool myPool;
+    private final ReadReplica myReplica;
+    private final long myReadAfterWriteMillis;
+    private boolean myOpened;
 
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/DATABASENAME?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/DATABASENAME?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useServerPrepStmts=true&rewriteBatchedStatements=true";
     private static final String DB_USER = "root";
     private static final String DB_PASSWORD = "";
 
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    private static final long POOL_BORROW_TIMEOUT_MS = 10 * 1000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Leave REPLICA_URL empty to send every query to the primary
+    private static final String REPLICA_URL = "";
+    private static final long REPLICA_MAX_LAG_SECONDS = 5;
+    private static final long REPLICA_LAG_CHECK_MS = 5 * 1000;
+    private static final long REPLICA_RETRY_MS = 30 * 1000;
+    private static final long READ_AFTER_WRITE_MS = 2 * 1000;
+
+    /**
+     * Private constructor to create the connection pools without opening any connections.
+     * Each setting can be overridden with a {@code dungeondata.*} system property.
+     */
+    private DatabaseConnection() {
+        String user = System.getProperty("dungeondata.db.user", DB_USER);
+        String password = System.getProperty("dungeondata.db.password", DB_PASSWORD);
+        myPool = createPool("primary", System.getProperty("dungeondata.db.url", DB_URL), user, password);
+
+        String replicaUrl = System.getProperty("dungeondata.replica.url", REPLICA_URL);
+        if (replicaUrl.isEmpty()) {
+            myReplica = null;
+        } else {
+            myReplica = new ReadReplica(
+                    createPool("replica", replicaUrl,
+                            System.getProperty("dungeondata.replica.user", user),
+                            System.getProperty("dungeondata.replica.password", password)),
+                    Long.getLong("dungeondata.replica.maxLagSeconds", REPLICA_MAX_LAG_SECONDS),
+                    Long.getLong("dungeondata.replica.lagCheckMs", REPLICA_LAG_CHECK_MS),
+                    Long.getLong("dungeondata.replica.retryMs", REPLICA_RETRY_MS),
+                    Boolean.parseBoolean(System.getProperty("dungeondata.replica.requireLagCheck")));
+        }
+        myReadAfterWriteMillis = Long.getLong("dungeondata.replica.readAfterWriteMs", READ_AFTER_WRITE_MS);
+    }
+
     /**
-     * Private constructor to establish database connection.
+     * Gets the singleton instance of DatabaseConnection. No connection is opened here.
      *
+     * @return the DatabaseConnection instance
      * @throws SQLException if database connection fails
      */
-    private DatabaseConnection() throws SQLException {
+    public static synchronized DatabaseConnection getInstance() throws SQLException {
+        if (myInstance == null || myInstance.myPool.isClosed()) {
+            myInstance = new DatabaseConnection();
+        }
+        return myInstance;
+    }
+
+    /**
+     * Loads the JDBC driver and opens the pools' idle connections, so that the first
+     * queries do not have to wait for a connection handshake. This can take a while,
+     * so the application calls it off the Event Dispatch Thread while the window is built.
+     * Does nothing once it has succeeded.
+     *
+     * @throws SQLException if the driver is missing or the primary database cannot be reached
+     */
+    public synchronized void open() throws SQLException {
+        if (myOpened) {
+            return;
+        }
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            myConnection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("Database connected successfully!");
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found. Make sure MySQL Connector/J is in your classpath.", e);
+        }
+
+        try {
+            myPool.fill();
+            System.out.println("Database connected successfully!");
+            if (myReplica != null) {
+                myReplica.start();
+            }
+            myOpened = true;
         } catch (SQLException e) {
             System.err.println("Failed to connect to database. Please check:");
             System.err.println("1. MySQL server is running");
@@ -39,38 +112,103 @@ public class DatabaseConnection {
     }
 
     /**
-     * Gets the singleton instance of DatabaseConnection.
+     * Creates a connection pool using the shared pool settings.
      *
-     * @return the DatabaseConnection instance
-     * @throws SQLException if database connection fails
+     * @param theName the name the pool is reported under
+     * @param theUrl the JDBC URL
+     * @param theUser the database user
+     * @param thePassword the database password
+     * @return the new pool
      */
-    public static DatabaseConnection getInstance() throws SQLException {
-        if (myInstance == null || myInstance.getConnection().isClosed()) {
-            myInstance = new DatabaseConnection();
-        }
-        return myInstance;
+    private static ConnectionPool createPool(String theName, String theUrl, String theUser,
+                                             String thePassword) {
+        return new ConnectionPool(theName, theUrl, theUser, thePassword,
+                Integer.getInteger("dungeondata.pool.min", POOL_MIN_SIZE),
+                Integer.getInteger("dungeondata.pool.max", POOL_MAX_SIZE),
+                Long.getLong("dungeondata.pool.idleTimeoutMs", POOL_IDLE_TIMEOUT_MS),
+                Long.getLong("dungeondata.pool.borrowTimeoutMs", POOL_BORROW_TIMEOUT_MS),
+                Integer.getInteger("dungeondata.pool.statementCacheSize", STATEMENT_CACHE_SIZE));
     }
 
     /**
-     * Gets the database connection.
+     * Borrows a connection to the primary database. Use it for writes and for reads
+     * that must see the latest writes. Close the returned lease to give it back; if it
+     * wrote, reads stay on the primary for the read-after-write window from then on.
      *
-     * @return the Connection object
+     * @return a lease on a primary connection
+     * @throws SQLException if no connection becomes available
      */
-    public Connection getConnection() {
-        return myConnection;
+    public ConnectionLease borrowConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return myPool.borrow();
+        } finally {
+            DaoMetrics.addConnectionWait(System.nanoTime() - start);
+        }
     }
 
     /**
-     * Closes the database connection.
+     * Borrows a connection for read-only queries. The read replica serves the query
+     * when it is configured, reachable and within its staleness limit, and no write
+     * went to the primary within the read-after-write window; otherwise the primary does.
+     *
+     * @return a lease on a replica or primary connection
+     * @throws SQLException if no connection becomes available
      */
-    public void closeConnection() {
+    public ConnectionLease borrowReadConnection() throws SQLException {
+        long start = System.nanoTime();
         try {
-            if (myConnection != null && !myConnection.isClosed()) {
-                myConnection.close();
-                System.out.println("Database connection closed.");
+            return borrowReadConnectionFromPools();
+        } finally {
+            DaoMetrics.addConnectionWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Borrows a read connection from the replica if it should serve the read, otherwise from the primary.
+     *
+     * @return a lease on a replica or primary connection
+     * @throws SQLException if no connection becomes available
+     */
+    private ConnectionLease borrowReadConnectionFromPools() throws SQLException {
+        if (myReplica != null
+                && System.currentTimeMillis() - myPool.getLastWriteMillis() >= myReadAfterWriteMillis) {
+            ConnectionLease lease = myReplica.tryBorrow();
+            if (lease != null) {
+                return lease;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        }
+        return myPool.borrow();
+    }
+
+    /**
+     * Gets the underlying connection pool.
+     *
+     * @return the connection pool
+     */
+    public ConnectionPool getPool() {
+        return myPool;
+    }
+
+    /**
+     * Gets the read replica, if one is configured.
+     *
+     * @return the read replica, or null if every query goes to the primary
+     */
+    public ReadReplica getReplica() {
+        return myReplica;
+    }
+
+    /**
+     * Closes the connection pools and every idle connection.
+     */
+    public void closeConnection() {
+        if (myReplica != null) {
+            myReplica.close();
+        }
+        if (!myPool.isClosed()) {
+            myPool.close();
+            System.out.println("Database connection closed.");
         }
     }
-}
\ No newline at end of file
+}
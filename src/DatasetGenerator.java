@@ -0,0 +1,631 @@
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the database with generated players, campaigns and characters for scale testing.
+ * Characters use the subclasses, subspecies and backgrounds already in the database,
+ * with a few classes, species and campaigns far more popular than the rest, most
+ * characters at low levels, some players owning many characters, and ability scores
+ * rolled with 4d6 (dropping the lowest) and placed to suit the character's class.
+ *
+ * <p>Rows are generated in shards of {@value #SHARD_SIZE}. Each shard has its own
+ * random number generator, split from the seed in shard order before any work starts,
+ * so the same seed on the same starting database always gives the same rows however
+ * many threads are used. Shards are generated and inserted in parallel, each worker
+ * sending JDBC batches of {@value #BATCH_SIZE} rows on its own pooled connection, so
+ * the connection pool should allow at least as many connections as threads.
+ * New players and campaigns are numbered after the existing ones, so the generator
+ * can be run again on the same database.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class DatasetGenerator {
+    private static final int SHARD_SIZE = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final String INSERT_PLAYER_QUERY = """
+            INSERT INTO player (player_id, fname, lname, pref_contact, contact_info, time_zone)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_GAME_QUERY = """
+            INSERT INTO game (game_id, setting, synopsis, meeting_time)
+            VALUES (?, ?, ?, ?)
+            """;
+    /** The highest number ending a column's values, such as 42 for "Sunken Crown 42"; format with column, table. */
+    private static final String MAX_NUMBER_QUERY = """
+            SELECT COALESCE(MAX(CAST(REGEXP_SUBSTR(%s, '[0-9]{1,9}$') AS SIGNED)), 0) FROM %s
+            """;
+
+    private static final String[] FIRST_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley",
+        "Jamie", "Avery", "Quinn", "Drew", "Harper", "Rowan", "Emerson", "Parker", "Skyler", "Reese", "Logan",
+        "Dana", "Kai", "Noel", "Robin", "Sasha", "Tatum", "Blake", "Cameron", "Devon", "Elliot", "Finley", "Hayden"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Nguyen", "Garcia", "Brown", "Lee", "Martinez",
+        "Davis", "Lopez", "Wilson", "Anderson", "Thomas", "Moore", "Jackson", "Martin", "Kim", "Clark", "Lewis",
+        "Walker", "Hall", "Young", "King", "Wright", "Scott", "Green", "Baker", "Adams", "Nelson", "Hill", "Campbell"};
+    private static final String[] CONTACTS = {"Email", "Discord", "Phone", "Text"};
+    private static final double[] CONTACT_WEIGHTS = {45, 35, 10, 10};
+    private static final String[] TIME_ZONES = {"PST", "MST", "CST", "EST", "GMT", "CET", "AEST"};
+    private static final double[] TIME_ZONE_WEIGHTS = {30, 8, 15, 32, 6, 6, 3};
+
+    private static final String[] SETTINGS = {"Forgotten Realms", "Homebrew", "Eberron", "Ravenloft", "Greyhawk",
+        "Exandria", "Dark Sun"};
+    private static final double[] SETTING_WEIGHTS = {45, 20, 12, 10, 5, 5, 3};
+    private static final String[] GAME_ADJECTIVES = {"Lost", "Sunken", "Shattered", "Crimson", "Silent", "Frozen",
+        "Burning", "Hidden", "Forgotten", "Iron", "Golden", "Hollow"};
+    private static final String[] GAME_NOUNS = {"Crown", "Mine", "Throne", "Citadel", "Road", "Tomb", "Vale",
+        "Spire", "Harbor", "Forest", "Keep", "Oath"};
+    private static final String[] SYNOPSES = {"A band of heroes answers a desperate call for help.",
+        "Ancient ruins stir as a cult gathers power.", "Political intrigue threatens a fragile peace.",
+        "A dungeon crawl through a mountain of secrets.", "Pirates, storms and a map to a sunken treasure.",
+        "A haunted land where no one leaves alive."};
+
+    private static final String[] CHARACTER_NAMES = {"Aria", "Borin", "Cade", "Dain", "Elara", "Fenwick", "Gwyn",
+        "Hale", "Ilsa", "Jorin", "Kael", "Lyra", "Milo", "Nyx", "Orin", "Pip", "Quill", "Rhea", "Soren", "Tamsin",
+        "Ulric", "Vesper", "Wren", "Xander", "Yara", "Zephyr"};
+    private static final String[] EPITHETS = {"Stormwind", "Ironfist", "Brightblade", "Shadowstep", "Oakenshield",
+        "Flamecaller", "Nightbloom", "Stonehelm", "Swiftarrow", "Moonwhisper", "Thornhollow", "Ashgrove"};
+    private static final String[] ABILITIES = {"STR", "DEX", "CON", "INT", "WIS", "CHA"};
+    // Chance that a character is not in any campaign
+    private static final double NO_CAMPAIGN_CHANCE = 0.15;
+
+    private final DatabaseConnection myDatabase;
+    private final CharacterDAO myCharacterDAO;
+    private final long mySeed;
+    private final int myThreads;
+    private final PrintStream myLog;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param theSeed the seed all generated rows are derived from
+     * @param theThreads the number of shards generated and inserted at once
+     * @param theLog where progress is printed
+     * @throws SQLException if the database cannot be reached
+     */
+    public DatasetGenerator(long theSeed, int theThreads, PrintStream theLog) throws SQLException {
+        myDatabase = DatabaseConnection.getInstance();
+        myCharacterDAO = new CharacterDAO();
+        mySeed = theSeed;
+        myThreads = Math.max(1, theThreads);
+        myLog = theLog;
+    }
+
+    /**
+     * Generates and inserts the rows. With no new players or campaigns, characters
+     * are given to the players and campaigns already in the database.
+     *
+     * @param thePlayers the number of players to add
+     * @param theGames the number of campaigns to add
+     * @param theCharacters the number of characters to add
+     * @return the number of rows inserted
+     * @throws SQLException if the reference data cannot be read or the rows cannot be inserted;
+     *                      batches committed before the failure stay committed
+     */
+    public long generate(int thePlayers, int theGames, int theCharacters) throws SQLException {
+        SplittableRandom root = new SplittableRandom(mySeed);
+        ReferenceData reference = ReferenceData.load(root.split());
+
+        ExecutorService executor = Executors.newFixedThreadPool(myThreads);
+        try {
+            long inserted = 0;
+            List<Integer> playerIds;
+            if (thePlayers > 0) {
+                int firstId = queryInt("SELECT COALESCE(MAX(player_id), 0) FROM player") + 1;
+                inserted += run(executor, "players", thePlayers, root,
+                        (theStart, theCount, theRandom) -> insertPlayers(firstId + theStart, theCount, theRandom));
+                playerIds = new ArrayList<>(thePlayers);
+                for (int i = 0; i < thePlayers; i++) {
+                    playerIds.add(firstId + i);
+                }
+            } else {
+                playerIds = new ArrayList<>();
+                for (Player player : new PlayerDAO().getAllPlayers()) {
+                    playerIds.add(player.getPlayerId());
+                }
+            }
+
+            List<String> gameIds;
+            if (theGames > 0) {
+                // Numbered past the highest existing number, not the row count, so deleted rows do not cause reuse
+                int firstNumber = queryInt(MAX_NUMBER_QUERY.formatted("game_id", "game")) + 1;
+                inserted += run(executor, "campaigns", theGames, root,
+                        (theStart, theCount, theRandom) -> insertGames(firstNumber + theStart, theCount, theRandom));
+                gameIds = new ArrayList<>(theGames);
+                for (int i = 0; i < theGames; i++) {
+                    gameIds.add(gameId(firstNumber + i));
+                }
+            } else {
+                gameIds = new ArrayList<>();
+                for (Campaign campaign : new CampaignDAO().getAllCampaigns()) {
+                    gameIds.add(campaign.getGameId());
+                }
+            }
+
+            if (theCharacters > 0) {
+                if (playerIds.isEmpty()) {
+                    throw new SQLException("Characters need at least one player; add some with --players");
+                }
+                int firstNumber = queryInt(MAX_NUMBER_QUERY.formatted("char_id", "characters")) + 1;
+                Choice games = gameIds.isEmpty() ? null : Choice.zipf(gameIds.size(), 1.1);
+                inserted += run(executor, "characters", theCharacters, root,
+                        (theStart, theCount, theRandom) -> insertCharacters(firstNumber + theStart, theCount,
+                                theRandom, reference, playerIds, gameIds, games));
+            }
+            return inserted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates and inserts one table's rows in shards, in parallel, and reports the rate.
+     *
+     * @param theExecutor the executor the shards run on
+     * @param theTable the table name, for progress messages
+     * @param theRows the number of rows
+     * @param theRoot the generator the shards' generators are split from
+     * @param theShard generates and inserts one shard
+     * @return the number of rows inserted
+     * @throws SQLException if a shard fails
+     */
+    private long run(ExecutorService theExecutor, String theTable, int theRows, SplittableRandom theRoot,
+                     Shard theShard) throws SQLException {
+        long start = System.nanoTime();
+        List<Future<Long>> shards = new ArrayList<>();
+        for (int first = 0; first < theRows; first += SHARD_SIZE) {
+            int shardStart = first;
+            int count = Math.min(SHARD_SIZE, theRows - first);
+            // Split here, in shard order, so each shard's rows do not depend on scheduling
+            SplittableRandom random = theRoot.split();
+            shards.add(theExecutor.submit((Callable<Long>) () -> theShard.insert(shardStart, count, random)));
+        }
+
+        long inserted = 0;
+        try {
+            for (Future<Long> shard : shards) {
+                inserted += shard.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Generating " + theTable + " was interrupted", e);
+        } catch (ExecutionException e) {
+            for (Future<Long> shard : shards) {
+                shard.cancel(true);
+            }
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Generating " + theTable + " failed: " + e.getCause(), e.getCause());
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        myLog.printf("Inserted %,d %s in %.1f s (%,.0f rows/s)%n", inserted, theTable, seconds, inserted / seconds);
+        if (inserted < theRows) {
+            myLog.printf("  %,d %s were skipped because they already exist%n", theRows - inserted, theTable);
+        }
+        return inserted;
+    }
+
+    /**
+     * Generates and inserts players with consecutive IDs.
+     *
+     * @param theFirstId the first player's ID
+     * @param theCount the number of players
+     * @param theRandom the shard's random number generator
+     * @return the number of players inserted
+     * @throws SQLException if the players cannot be inserted
+     */
+    private long insertPlayers(int theFirstId, int theCount, SplittableRandom theRandom) throws SQLException {
+        return insertBatches(INSERT_PLAYER_QUERY, theCount, (theStatement, theIndex) -> {
+            int id = theFirstId + theIndex;
+            String first = pick(FIRST_NAMES, theRandom);
+            String last = pick(LAST_NAMES, theRandom);
+            String contact = CONTACTS[weighted(CONTACT_WEIGHTS, theRandom)];
+            theStatement.setInt(1, id);
+            theStatement.setString(2, first);
+            theStatement.setString(3, last);
+            theStatement.setString(4, contact);
+            theStatement.setString(5, switch (contact) {
+                case "Email" -> (first + "." + last + id + "@example.com").toLowerCase();
+                case "Discord" -> (first + last).toLowerCase() + "#" + (1000 + theRandom.nextInt(9000));
+                default -> String.format("555-%03d-%04d", theRandom.nextInt(1000), theRandom.nextInt(10000));
+            });
+            theStatement.setString(6, TIME_ZONES[weighted(TIME_ZONE_WEIGHTS, theRandom)]);
+        });
+    }
+
+    /**
+     * Generates and inserts campaigns with consecutive numbers.
+     *
+     * @param theFirstNumber the first campaign's number
+     * @param theCount the number of campaigns
+     * @param theRandom the shard's random number generator
+     * @return the number of campaigns inserted
+     * @throws SQLException if the campaigns cannot be inserted
+     */
+    private long insertGames(int theFirstNumber, int theCount, SplittableRandom theRandom) throws SQLException {
+        return insertBatches(INSERT_GAME_QUERY, theCount, (theStatement, theIndex) -> {
+            theStatement.setString(1, gameId(theFirstNumber + theIndex));
+            theStatement.setString(2, SETTINGS[weighted(SETTING_WEIGHTS, theRandom)]);
+            theStatement.setString(3, pick(SYNOPSES, theRandom));
+            // Most campaigns meet on a weekday evening; some have no schedule yet
+            Timestamp meeting = null;
+            if (theRandom.nextDouble() >= 0.1) {
+                meeting = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 17, 0)
+                        .plusDays(theRandom.nextInt(365))
+                        .plusMinutes(30L * theRandom.nextInt(8)));
+            }
+            theStatement.setTimestamp(4, meeting);
+        });
+    }
+
+    /**
+     * Generates characters and inserts them through {@link CharacterDAO#insertCharacters(java.util.Collection, int)},
+     * which skips any whose name is already taken.
+     *
+     * @param theFirstNumber the number in the first character's name
+     * @param theCount the number of characters
+     * @param theRandom the shard's random number generator
+     * @param theReference the classes, species and backgrounds to choose from
+     * @param thePlayerIds the players to give characters to
+     * @param theGameIds the campaigns characters can join
+     * @param theGames chooses a campaign index, or null if there are no campaigns
+     * @return the number of characters inserted
+     * @throws SQLException if the characters cannot be inserted
+     */
+    private long insertCharacters(int theFirstNumber, int theCount, SplittableRandom theRandom,
+                                  ReferenceData theReference, List<Integer> thePlayerIds, List<String> theGameIds,
+                                  Choice theGames) throws SQLException {
+        List<Character> characters = new ArrayList<>(theCount);
+        int[] rolls = new int[ABILITIES.length];
+        for (int i = 0; i < theCount; i++) {
+            int classIndex = theReference.myClassChoice.next(theRandom);
+            DnDClass dndClass = theReference.myClasses.get(classIndex);
+            List<String> subclasses = theReference.mySubclasses.get(classIndex);
+            int speciesIndex = theReference.mySpeciesChoice.next(theRandom);
+            List<String> subspecies = theReference.mySubspecies.get(speciesIndex);
+
+            // Most characters are low level: an exponential spread with a mean of about five
+            int level = 1 + (int) Math.min(19, -Math.log(1 - theRandom.nextDouble()) * 4);
+            // Squaring skews characters toward some players, who end up owning many
+            int player = thePlayerIds.get((int) (thePlayerIds.size() * Math.pow(theRandom.nextDouble(), 2)));
+            String game = theGames == null || theRandom.nextDouble() < NO_CAMPAIGN_CHANCE
+                    ? null : theGameIds.get(theGames.next(theRandom));
+
+            int[] scores = rollAbilities(theRandom, rolls, dndClass);
+            characters.add(new Character(
+                    pick(CHARACTER_NAMES, theRandom) + " " + pick(EPITHETS, theRandom) + " " + (theFirstNumber + i),
+                    level, dndClass.getClassId(),
+                    subclasses.get(theReference.mySubclassChoices.get(classIndex).next(theRandom)),
+                    theReference.mySpecies.get(speciesIndex),
+                    subspecies.get(theRandom.nextInt(subspecies.size())),
+                    theReference.myBackgrounds.get(theReference.myBackgroundChoice.next(theRandom)),
+                    player, game, scores[0], scores[1], scores[2], scores[3], scores[4], scores[5]));
+        }
+        return myCharacterDAO.insertCharacters(characters, BATCH_SIZE).getInsertedCount();
+    }
+
+    /**
+     * Rolls six ability scores with 4d6, dropping the lowest die, and gives the highest
+     * to the class's primary ability and the next highest to its secondary ability.
+     *
+     * @param theRandom the random number generator
+     * @param theRolls scratch space for six rolls
+     * @param theClass the character's class
+     * @return the scores in STR, DEX, CON, INT, WIS, CHA order
+     */
+    private static int[] rollAbilities(SplittableRandom theRandom, int[] theRolls, DnDClass theClass) {
+        for (int i = 0; i < theRolls.length; i++) {
+            int lowest = 6;
+            int total = 0;
+            for (int die = 0; die < 4; die++) {
+                int roll = 1 + theRandom.nextInt(6);
+                total += roll;
+                lowest = Math.min(lowest, roll);
+            }
+            theRolls[i] = total - lowest;
+        }
+        Arrays.sort(theRolls);
+
+        int[] scores = new int[ABILITIES.length];
+        Arrays.fill(scores, -1);
+        int next = theRolls.length - 1;
+        for (String preferred : new String[] {theClass.getPrimaryStat(), theClass.getSecondaryStat()}) {
+            int ability = preferred == null ? -1 : Arrays.asList(ABILITIES).indexOf(preferred.toUpperCase());
+            if (ability >= 0 && scores[ability] < 0) {
+                scores[ability] = theRolls[next--];
+            }
+        }
+        // The rest go to the remaining abilities in a random order
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] < 0) {
+                int swap = theRandom.nextInt(next + 1);
+                scores[i] = theRolls[swap];
+                theRolls[swap] = theRolls[next--];
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Inserts rows in JDBC batches on one pooled connection, committing each batch.
+     *
+     * @param theQuery the insert statement
+     * @param theCount the number of rows
+     * @param theRow sets the statement's parameters for one row
+     * @return the number of rows inserted
+     * @throws SQLException if a batch fails; batches committed before it stay committed
+     */
+    private long insertBatches(String theQuery, int theCount, Row theRow) throws SQLException {
+        try (ConnectionLease lease = myDatabase.borrowConnection()) {
+            Connection connection = lease.getConnection();
+            connection.setAutoCommit(false);
+            try {
+                PreparedStatement stmt = lease.prepareStatement(theQuery);
+                for (int i = 0; i < theCount; i++) {
+                    theRow.bind(stmt, i);
+                    stmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i + 1 == theCount) {
+                        stmt.executeBatch();
+                        connection.commit();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } catch (SQLException restoreFailure) {
+                    // The pool resets the connection on release; the batch's failure is the one to report
+                    e.addSuppressed(restoreFailure);
+                }
+                throw e;
+            }
+            connection.setAutoCommit(true);
+            return theCount;
+        }
+    }
+
+    /**
+     * Runs a query that returns a single number.
+     *
+     * @param theQuery the query
+     * @return the number
+     * @throws SQLException if the query fails
+     */
+    private int queryInt(String theQuery) throws SQLException {
+        try (ConnectionLease lease = myDatabase.borrowConnection();
+             ResultSet rs = lease.prepareStatement(theQuery).executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Builds a generated campaign's ID from its number.
+     *
+     * @param theNumber the campaign's number
+     * @return the campaign ID, such as "Sunken Crown 42"
+     */
+    private static String gameId(int theNumber) {
+        return GAME_ADJECTIVES[theNumber % GAME_ADJECTIVES.length] + " "
+                + GAME_NOUNS[theNumber / GAME_ADJECTIVES.length % GAME_NOUNS.length] + " " + theNumber;
+    }
+
+    /**
+     * Picks one of several values with equal chance.
+     *
+     * @param theValues the values
+     * @param theRandom the random number generator
+     * @return the chosen value
+     */
+    private static String pick(String[] theValues, SplittableRandom theRandom) {
+        return theValues[theRandom.nextInt(theValues.length)];
+    }
+
+    /**
+     * Picks an index with chance proportional to its weight.
+     *
+     * @param theWeights the weights
+     * @param theRandom the random number generator
+     * @return the chosen index
+     */
+    private static int weighted(double[] theWeights, SplittableRandom theRandom) {
+        double total = 0;
+        for (double weight : theWeights) {
+            total += weight;
+        }
+        double target = theRandom.nextDouble() * total;
+        for (int i = 0; i < theWeights.length - 1; i++) {
+            target -= theWeights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return theWeights.length - 1;
+    }
+
+    /**
+     * Generates and inserts one shard of a table.
+     */
+    @FunctionalInterface
+    private interface Shard {
+
+        /**
+         * Generates and inserts a shard's rows.
+         *
+         * @param theStart the index of the shard's first row within the table's new rows
+         * @param theCount the number of rows in the shard
+         * @param theRandom the shard's random number generator
+         * @return the number of rows inserted
+         * @throws SQLException if the rows cannot be inserted
+         */
+        long insert(int theStart, int theCount, SplittableRandom theRandom) throws SQLException;
+    }
+
+    /**
+     * Sets an insert statement's parameters for one generated row.
+     */
+    @FunctionalInterface
+    private interface Row {
+
+        /**
+         * Sets the parameters.
+         *
+         * @param theStatement the insert statement
+         * @param theIndex the row's index within its shard
+         * @throws SQLException if a parameter cannot be set
+         */
+        void bind(PreparedStatement theStatement, int theIndex) throws SQLException;
+    }
+
+    /**
+     * Chooses indexes with a Zipf distribution, so that the first index is the most
+     * likely, the second about half as likely, and so on, with the popularity order
+     * shuffled once when the choice is made.
+     */
+    private static final class Choice {
+        private final double[] myCumulative;
+        private final int[] myOrder;
+
+        /**
+         * Constructs a choice from cumulative weights and the index each rank maps to.
+         *
+         * @param theCumulative the cumulative weight of each rank
+         * @param theOrder the index chosen for each rank
+         */
+        private Choice(double[] theCumulative, int[] theOrder) {
+            myCumulative = theCumulative;
+            myOrder = theOrder;
+        }
+
+        /**
+         * Creates a Zipf choice over indexes with the most popular index being the first.
+         *
+         * @param theCount the number of indexes
+         * @param theExponent how strongly popularity falls off; 0 makes every index equally likely
+         * @return the choice
+         */
+        static Choice zipf(int theCount, double theExponent) {
+            return zipf(theCount, theExponent, null);
+        }
+
+        /**
+         * Creates a Zipf choice over indexes whose popularity order is shuffled.
+         *
+         * @param theCount the number of indexes
+         * @param theExponent how strongly popularity falls off
+         * @param theRandom shuffles the popularity order, or null to keep index order
+         * @return the choice
+         */
+        static Choice zipf(int theCount, double theExponent, SplittableRandom theRandom) {
+            double[] cumulative = new double[theCount];
+            double total = 0;
+            for (int rank = 0; rank < theCount; rank++) {
+                total += 1 / Math.pow(rank + 1, theExponent);
+                cumulative[rank] = total;
+            }
+            int[] order = new int[theCount];
+            for (int i = 0; i < theCount; i++) {
+                order[i] = i;
+            }
+            if (theRandom != null) {
+                for (int i = theCount - 1; i > 0; i--) {
+                    int swap = theRandom.nextInt(i + 1);
+                    int held = order[i];
+                    order[i] = order[swap];
+                    order[swap] = held;
+                }
+            }
+            return new Choice(cumulative, order);
+        }
+
+        /**
+         * Chooses an index.
+         *
+         * @param theRandom the random number generator
+         * @return the index
+         */
+        int next(SplittableRandom theRandom) {
+            double target = theRandom.nextDouble() * myCumulative[myCumulative.length - 1];
+            int rank = Arrays.binarySearch(myCumulative, target);
+            rank = rank >= 0 ? rank : Math.min(-rank - 1, myCumulative.length - 1);
+            return myOrder[rank];
+        }
+    }
+
+    /**
+     * The classes, species and backgrounds characters are made from, with how
+     * popular each is. Only classes with subclasses and species with subspecies are used.
+     */
+    private static final class ReferenceData {
+        private final List<DnDClass> myClasses = new ArrayList<>();
+        private final List<List<String>> mySubclasses = new ArrayList<>();
+        private final List<Choice> mySubclassChoices = new ArrayList<>();
+        private final List<String> mySpecies = new ArrayList<>();
+        private final List<List<String>> mySubspecies = new ArrayList<>();
+        private final List<String> myBackgrounds;
+        private Choice myClassChoice;
+        private Choice mySpeciesChoice;
+        private Choice myBackgroundChoice;
+
+        /**
+         * Constructs reference data with the given backgrounds.
+         *
+         * @param theBackgrounds the background IDs
+         */
+        private ReferenceData(List<String> theBackgrounds) {
+            myBackgrounds = theBackgrounds;
+        }
+
+        /**
+         * Reads the reference data and decides how popular each value is.
+         *
+         * @param theRandom shuffles the popularity orders
+         * @return the reference data
+         * @throws SQLException if the data cannot be read, or there is not enough of it to make characters
+         */
+        static ReferenceData load(SplittableRandom theRandom) throws SQLException {
+            LookupDAO lookup = new LookupDAO();
+            ReferenceData data = new ReferenceData(lookup.getBackgrounds());
+            Map<String, List<String>> subclasses = lookup.getSubclassHierarchy();
+            for (DnDClass dndClass : lookup.getAllClasses()) {
+                List<String> classSubclasses = subclasses.getOrDefault(dndClass.getClassId(), Collections.emptyList());
+                if (!classSubclasses.isEmpty()) {
+                    data.myClasses.add(dndClass);
+                    data.mySubclasses.add(classSubclasses);
+                    data.mySubclassChoices.add(Choice.zipf(classSubclasses.size(), 0.8, theRandom));
+                }
+            }
+            for (Map.Entry<String, List<String>> species : lookup.getSubspeciesHierarchy().entrySet()) {
+                if (!species.getValue().isEmpty()) {
+                    data.mySpecies.add(species.getKey());
+                    data.mySubspecies.add(species.getValue());
+                }
+            }
+            if (data.myClasses.isEmpty() || data.mySpecies.isEmpty() || data.myBackgrounds.isEmpty()) {
+                throw new SQLException("Characters need at least one subclass, subspecies and background");
+            }
+            data.myClassChoice = Choice.zipf(data.myClasses.size(), 1.0, theRandom);
+            data.mySpeciesChoice = Choice.zipf(data.mySpecies.size(), 1.0, theRandom);
+            data.myBackgroundChoice = Choice.zipf(data.myBackgrounds.size(), 0.7, theRandom);
+            return data;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line entry point for running reports and exports without the user interface,
+ * for example from cron. It loads no AWT or Swing classes and opens a single pooled
+ * database connection, so it starts far faster than the GUI.
+ *
+ * <pre>
+ * DnDCli list
+ * DnDCli report &lt;report&gt; [--format csv|ndjson] [--output &lt;file&gt;]
+ * DnDCli generate [--players n] [--games n] [--characters n] [--seed n] [--threads n]
+ * DnDCli loadtest [--users n] [--duration s] [--warmup s] [--think ms] [--seed n] [--output dir]
+ * DnDCli migrate [--check]
+ * </pre>
+ *
+ * Report rows go to standard output unless an output file is given; progress and
+ * log messages go to standard error so they never mix with the data.
+ * The exit status is 0 on success, 1 if the report fails and 2 for a usage error.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public final class DnDCli {
+    private static final int EXIT_FAILURE = 1;
+    private static final int EXIT_USAGE = 2;
+
+    /**
+     * Prevents instantiation.
+     */
+    private DnDCli() {
+    }
+
+    /**
+     * Runs one command and exits.
+     *
+     * @param theArgs the command and its arguments
+     */
+    public static void main(String[] theArgs) {
+        long start = System.nanoTime();
+        // Keep the real standard output for report data; everything else is logged to standard error
+        FileChannel stdout = new FileOutputStream(FileDescriptor.out).getChannel();
+        PrintStream log = System.err;
+        System.setOut(log);
+        setDefault("dungeondata.pool.min", "1");
+        // The generator sizes the pool to its thread count, and load tests use the application's pool size
+        if (theArgs.length == 0 || !theArgs[0].equals("generate") && !theArgs[0].equals("loadtest")) {
+            setDefault("dungeondata.pool.max", "1");
+        }
+
+        int status = run(theArgs, stdout, log);
+        log.printf("Finished in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+        System.exit(status);
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param theArgs the command and its arguments
+     * @param theStdout the channel report data is written to by default
+     * @param theLog where messages are printed
+     * @return the exit status
+     */
+    private static int run(String[] theArgs, FileChannel theStdout, PrintStream theLog) {
+        if (theArgs.length == 0) {
+            return usage(theLog);
+        }
+        return switch (theArgs[0]) {
+            case "list" -> listReports(theLog);
+            case "report" -> runReport(theArgs, theStdout, theLog);
+            case "generate" -> generate(theArgs, theLog);
+            case "loadtest" -> loadTest(theArgs, theLog);
+            case "migrate" -> migrate(theArgs, theLog);
+            default -> usage(theLog);
+        };
+    }
+
+    /**
+     * Runs a report, writing it to standard output or to a file.
+     *
+     * @param theArgs "report", the report name and options
+     * @param theStdout the channel to write to when no output file is given
+     * @param theLog where messages are printed
+     * @return the exit status
+     */
+    private static int runReport(String[] theArgs, FileChannel theStdout, PrintStream theLog) {
+        if (theArgs.length < 2) {
+            return usage(theLog);
+        }
+        ReportDAO.Report report = parseReport(theArgs[1]);
+        if (report == null) {
+            theLog.println("Unknown report: " + theArgs[1]);
+            listReports(theLog);
+            return EXIT_USAGE;
+        }
+
+        Path output = null;
+        DataExporter.Format format = null;
+        for (int i = 2; i < theArgs.length; i++) {
+            if (i + 1 >= theArgs.length) {
+                return usage(theLog);
+            }
+            switch (theArgs[i]) {
+                case "--output", "-o" -> output = Paths.get(theArgs[++i]);
+                case "--format", "-f" -> {
+                    try {
+                        format = DataExporter.Format.valueOf(theArgs[++i].toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        theLog.println("Unknown format: " + theArgs[i]);
+                        return EXIT_USAGE;
+                    }
+                }
+                default -> {
+                    return usage(theLog);
+                }
+            }
+        }
+        if (format == null) {
+            format = output != null ? DataExporter.Format.forFile(output) : DataExporter.Format.CSV;
+        }
+
+        DataExporter exporter = null;
+        try {
+            exporter = new DataExporter();
+            long rows = output != null
+                    ? exporter.export(report, format, output)
+                    : exporter.export(report, format, theStdout);
+            theLog.println("Wrote " + rows + " rows of " + report.getTitle()
+                    + (output != null ? " to " + output : ""));
+            return 0;
+        } catch (SQLException | IOException e) {
+            theLog.println("Report failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        } finally {
+            if (exporter != null) {
+                closeDatabase();
+            }
+        }
+    }
+
+    /**
+     * Fills the database with generated players, campaigns and characters for scale testing.
+     *
+     * @param theArgs "generate" and options
+     * @param theLog where messages are printed
+     * @return the exit status
+     */
+    private static int generate(String[] theArgs, PrintStream theLog) {
+        int players = 1_000;
+        int games = 100;
+        int characters = 10_000;
+        long seed = 42;
+        int threads = Math.min(8, Runtime.getRuntime().availableProcessors());
+        for (int i = 1; i < theArgs.length; i++) {
+            if (i + 1 >= theArgs.length) {
+                return usage(theLog);
+            }
+            try {
+                switch (theArgs[i]) {
+                    case "--players" -> players = Integer.parseInt(theArgs[++i]);
+                    case "--games" -> games = Integer.parseInt(theArgs[++i]);
+                    case "--characters" -> characters = Integer.parseInt(theArgs[++i]);
+                    case "--seed" -> seed = Long.parseLong(theArgs[++i]);
+                    case "--threads" -> threads = Integer.parseInt(theArgs[++i]);
+                    default -> {
+                        return usage(theLog);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                theLog.println("Not a number: " + theArgs[i]);
+                return EXIT_USAGE;
+            }
+        }
+        setDefault("dungeondata.pool.max", String.valueOf(threads));
+        // Every insert batch would be logged as a slow query
+        setDefault("dungeondata.slowQuery.thresholdMs", "-1");
+
+        try {
+            long rows = new DatasetGenerator(seed, threads, theLog).generate(players, games, characters);
+            theLog.printf("Generated %,d rows with seed %d%n", rows, seed);
+            return 0;
+        } catch (SQLException e) {
+            theLog.println("Generation failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        } finally {
+            closeDatabase();
+        }
+    }
+
+    /**
+     * Runs a load test of many simulated users and writes its reports.
+     *
+     * @param theArgs "loadtest" and options
+     * @param theLog where messages are printed
+     * @return the exit status
+     */
+    private static int loadTest(String[] theArgs, PrintStream theLog) {
+        int users = 20;
+        int duration = 60;
+        int warmup = 10;
+        long think = 0;
+        long seed = 42;
+        Path output = Paths.get("load-test");
+        for (int i = 1; i < theArgs.length; i++) {
+            if (i + 1 >= theArgs.length) {
+                return usage(theLog);
+            }
+            try {
+                switch (theArgs[i]) {
+                    case "--users" -> users = Integer.parseInt(theArgs[++i]);
+                    case "--duration" -> duration = Integer.parseInt(theArgs[++i]);
+                    case "--warmup" -> warmup = Integer.parseInt(theArgs[++i]);
+                    case "--think" -> think = Long.parseLong(theArgs[++i]);
+                    case "--seed" -> seed = Long.parseLong(theArgs[++i]);
+                    case "--output", "-o" -> output = Paths.get(theArgs[++i]);
+                    default -> {
+                        return usage(theLog);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                theLog.println("Not a number: " + theArgs[i]);
+                return EXIT_USAGE;
+            }
+        }
+
+        try {
+            LoadTestDriver driver = new LoadTestDriver(users, warmup, duration, think, seed, theLog);
+            try {
+                driver.run();
+                driver.printSummary(theLog);
+                Files.createDirectories(output);
+                driver.writeCsv(output.resolve("load-test.csv"));
+                driver.writeHtml(output.resolve("load-test.html"));
+                theLog.println("Wrote reports to " + output.toAbsolutePath());
+            } finally {
+                driver.cleanUp();
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            theLog.println(e.getMessage());
+            return EXIT_USAGE;
+        } catch (SQLException | IOException e) {
+            theLog.println("Load test failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            theLog.println("Load test interrupted");
+            return EXIT_FAILURE;
+        } finally {
+            closeDatabase();
+        }
+    }
+
+    /**
+     * Brings the database schema up to date and checks its indexes, or with --check
+     * only reports what is out of date.
+     *
+     * @param theArgs "migrate" and options
+     * @param theLog where messages are printed
+     * @return the exit status: 1 if the schema is out of date or indexes are missing
+     */
+    private static int migrate(String[] theArgs, PrintStream theLog) {
+        boolean checkOnly = theArgs.length == 2 && theArgs[1].equals("--check");
+        if (theArgs.length > 2 || theArgs.length == 2 && !checkOnly) {
+            return usage(theLog);
+        }
+
+        try {
+            SchemaMigrator migrator = new SchemaMigrator(DatabaseConnection.getInstance());
+            if (!checkOnly) {
+                migrator.migrate();
+            }
+            int version = migrator.getCurrentVersion();
+            theLog.printf("Schema version %d of %d%n", version, SchemaMigrator.getLatestVersion());
+            List<String> missing = migrator.checkIndexes();
+            if (missing.isEmpty()) {
+                theLog.println("All expected indexes are present");
+            }
+            return version < SchemaMigrator.getLatestVersion() || !missing.isEmpty() ? EXIT_FAILURE : 0;
+        } catch (SQLException e) {
+            theLog.println("Migration failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        } finally {
+            closeDatabase();
+        }
+    }
+
+    /**
+     * Prints the names of the reports that can be run.
+     *
+     * @param theLog where the list is printed
+     * @return the exit status
+     */
+    private static int listReports(PrintStream theLog) {
+        theLog.println("Reports:");
+        for (ReportDAO.Report report : ReportDAO.Report.values()) {
+            theLog.printf("  %-34s %s%n", report.name().toLowerCase(Locale.ROOT).replace('_', '-'), report.getTitle());
+        }
+        return 0;
+    }
+
+    /**
+     * Prints how to use the command line.
+     *
+     * @param theLog where the usage is printed
+     * @return the usage error exit status
+     */
+    private static int usage(PrintStream theLog) {
+        theLog.println("Usage:");
+        theLog.println("  DnDCli list");
+        theLog.println("  DnDCli report <report> [--format csv|ndjson] [--output <file>]");
+        theLog.println("  DnDCli generate [--players n] [--games n] [--characters n] [--seed n] [--threads n]");
+        theLog.println("  DnDCli loadtest [--users n] [--duration s] [--warmup s] [--think ms] [--seed n] "
+                + "[--output dir]");
+        theLog.println("  DnDCli migrate [--check]");
+        return EXIT_USAGE;
+    }
+
+    /**
+     * Finds a report by name, ignoring case and treating dashes as underscores.
+     *
+     * @param theName the report name
+     * @return the report, or null if there is no such report
+     */
+    private static ReportDAO.Report parseReport(String theName) {
+        try {
+            return ReportDAO.Report.valueOf(theName.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets a system property unless the user already set it.
+     *
+     * @param theKey the property name
+     * @param theValue the default value
+     */
+    private static void setDefault(String theKey, String theValue) {
+        if (System.getProperty(theKey) == null) {
+            System.setProperty(theKey, theValue);
+        }
+    }
+
+    /**
+     * Closes the database connection opened by a command.
+     */
+    private static void closeDatabase() {
+        try {
+            DatabaseConnection.getInstance().closeConnection();
+        } catch (SQLException e) {
+            System.err.println("Error closing database connection: " + e.getMessage());
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import javax.swing.*;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -16,44 +17,119 @@ public class DnDController {
     private CharacterDAO myCharacterDAO;
     private PlayerDAO myPlayerDAO;
     private CampaignDAO myCampaignDAO;
-    private LookupDAO myLookupDAO;
+    private ReferenceDataCache myReferenceData;
     private ReportDAO myReportDAO;
+    private AsyncDnDController myAsyncController;
+    private final StartupTimer myStartupTimer;
+    private final StartupOrchestrator myStartup;
+    private EdtWatchdog myEdtWatchdog;
 
     /**
-     * Constructs the main controller and initializes all DAOs and the main view.
+     * Constructs the main controller, initializes all DAOs and builds the main view.
+     * No connection is opened here: the connection pool, the reference data and
+     * the first characters are loaded in the background while the view is built.
+     * If the database cannot be reached, an error is shown and the application exits.
+     *
+     * @param theStartupTimer the timer that records how long startup takes
      */
-    public DnDController() {
+    public DnDController(StartupTimer theStartupTimer) {
+        myStartupTimer = theStartupTimer;
+        myStartup = new StartupOrchestrator(theStartupTimer);
         try {
             myCharacterDAO = new CharacterDAO();
             myPlayerDAO = new PlayerDAO();
             myCampaignDAO = new CampaignDAO();
-            myLookupDAO = new LookupDAO();
+            myReferenceData = new ReferenceDataCache(new LookupDAO(), ReferenceDataCache.getDefaultSnapshotFile());
             myReportDAO = new ReportDAO();
+            myAsyncController = new AsyncDnDController(myCharacterDAO, myPlayerDAO, myCampaignDAO,
+                    myReferenceData, myReportDAO);
+            myStartup.start(DatabaseConnection.getInstance(), myReferenceData, myAsyncController);
+            myStartupTimer.mark("DAOs created");
 
             myMainView = new DnDMainView(this);
+            myEdtWatchdog = new EdtWatchdog(myMainView::showStalls);
+            myStartupTimer.mark("main window built");
+
+            AsyncDnDController.onEdt(myStartup.getDatabaseReady(), theReady -> { },
+                    theError -> connectionFailed(theError.getMessage()));
 
         } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null,
-                    "Database connection failed: " + e.getMessage(),
-                    "Connection Error",
-                    JOptionPane.ERROR_MESSAGE);
-            System.exit(1);
+            connectionFailed(e.getMessage());
         }
     }
 
     /**
-     * Shows the main application window.
+     * Tells the user that the database could not be reached and exits.
+     *
+     * @param theMessage the reason the connection failed
+     */
+    private void connectionFailed(String theMessage) {
+        JOptionPane.showMessageDialog(myMainView,
+                "Database connection failed: " + theMessage,
+                "Connection Error",
+                JOptionPane.ERROR_MESSAGE);
+        System.exit(1);
+    }
+
+    /**
+     * Shows the main application window and starts watching the Event Dispatch Thread for stalls.
      */
     public void showMainView() {
         myMainView.setVisible(true);
+        myEdtWatchdog.start();
+        myStartupTimer.mark("window shown");
+    }
+
+    /**
+     * Gets the orchestrator whose futures complete as the background startup tasks finish.
+     *
+     * @return the startup orchestrator
+     */
+    public StartupOrchestrator getStartupOrchestrator() {
+        return myStartup;
+    }
+
+    /**
+     * Gets the timer that records how long startup takes.
+     *
+     * @return the startup timer
+     */
+    public StartupTimer getStartupTimer() {
+        return myStartupTimer;
+    }
+
+    /**
+     * Gets the asynchronous facade for running controller operations off the
+     * Event Dispatch Thread.
+     *
+     * @return the asynchronous controller
+     */
+    public AsyncDnDController getAsyncController() {
+        return myAsyncController;
+    }
+
+    /**
+     * Gets the cache that serves class, species and background lookups.
+     *
+     * @return the reference data cache
+     */
+    public ReferenceDataCache getReferenceDataCache() {
+        return myReferenceData;
+    }
+
+    /**
+     * Discards the cached reference data so that it is reloaded on next use.
+     */
+    public void invalidateReferenceData() {
+        myReferenceData.invalidate();
     }
 
     /**
      * Retrieves detailed character information.
      *
-     * @return list of character maps with related data
+     * @return list of characters with their player names
      */
-    public List<Map<String, Object>> getCharactersWithDetails() {
+    public List<Character> getCharactersWithDetails() {
         try {
             return myCharacterDAO.getCharactersWithDetails();
         } catch (SQLException e) {
@@ -62,6 +138,36 @@ public class DnDController {
         }
     }
 
+    /**
+     * Counts the characters in the database.
+     *
+     * @return the number of characters, or 0 if the count fails
+     */
+    public int getCharacterCount() {
+        try {
+            return myCharacterDAO.getCharacterCount();
+        } catch (SQLException e) {
+            handleError("Error counting characters", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Retrieves one page of detailed character information after a known character ID.
+     *
+     * @param theAfterCharId the last character ID of the previous page, or null for the first page
+     * @param thePageSize the maximum number of characters to return
+     * @return the page of characters with their player names
+     */
+    public List<Character> getCharactersWithDetailsPage(String theAfterCharId, int thePageSize) {
+        try {
+            return myCharacterDAO.getCharactersWithDetailsPage(theAfterCharId, thePageSize);
+        } catch (SQLException e) {
+            handleError("Error loading characters", e);
+            return List.of();
+        }
+    }
+
     /**
      * Creates a new character in the database.
      *
@@ -214,13 +320,13 @@ public class DnDController {
     }
 
     /**
-     * Retrieves all class names from the database.
+     * Retrieves all class names from the reference data cache.
      *
      * @return list of class IDs
      */
     public List<String> getClasses() {
         try {
-            return myLookupDAO.getClasses();
+            return myReferenceData.getClasses();
         } catch (SQLException e) {
             handleError("Error loading classes", e);
             return List.of();
@@ -228,13 +334,13 @@ public class DnDController {
     }
 
     /**
-     * Retrieves all subclass names from the database.
+     * Retrieves all subclass names from the reference data cache.
      *
      * @return list of subclass IDs
      */
     public List<String> getSubclasses() {
         try {
-            return myLookupDAO.getSubclasses();
+            return myReferenceData.getSubclasses();
         } catch (SQLException e) {
             handleError("Error loading subclasses", e);
             return List.of();
@@ -249,7 +355,7 @@ public class DnDController {
      */
     public List<String> getSubclassesByClass(String theClassId) {
         try {
-            return myLookupDAO.getSubclassesByClass(theClassId);
+            return myReferenceData.getSubclassesByClass(theClassId);
         } catch (SQLException e) {
             handleError("Error loading subclasses for class: " + theClassId, e);
             return List.of();
@@ -257,13 +363,27 @@ public class DnDController {
     }
 
     /**
-     * Retrieves all species names from the database.
+     * Retrieves every class with its subclasses.
+     *
+     * @return map from class ID to subclass IDs
+     */
+    public Map<String, List<String>> getSubclassHierarchy() {
+        try {
+            return myReferenceData.getSubclassHierarchy();
+        } catch (SQLException e) {
+            handleError("Error loading subclasses", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Retrieves all species names from the reference data cache.
      *
      * @return list of species IDs
      */
     public List<String> getSpecies() {
         try {
-            return myLookupDAO.getSpecies();
+            return myReferenceData.getSpecies();
         } catch (SQLException e) {
             handleError("Error loading species", e);
             return List.of();
@@ -271,13 +391,13 @@ public class DnDController {
     }
 
     /**
-     * Retrieves all subspecies names from the database.
+     * Retrieves all subspecies names from the reference data cache.
      *
      * @return list of subspecies IDs
      */
     public List<String> getSubspecies() {
         try {
-            return myLookupDAO.getSubspecies();
+            return myReferenceData.getSubspecies();
         } catch (SQLException e) {
             handleError("Error loading subspecies", e);
             return List.of();
@@ -292,7 +412,7 @@ public class DnDController {
      */
     public List<String> getSubspeciesBySpecies(String theSpeciesId) {
         try {
-            return myLookupDAO.getSubspeciesBySpecies(theSpeciesId);
+            return myReferenceData.getSubspeciesBySpecies(theSpeciesId);
         } catch (SQLException e) {
             handleError("Error loading subspecies for species: " + theSpeciesId, e);
             return List.of();
@@ -300,13 +420,27 @@ public class DnDController {
     }
 
     /**
-     * Retrieves all background names from the database.
+     * Retrieves every species with its subspecies.
+     *
+     * @return map from species ID to subspecies IDs
+     */
+    public Map<String, List<String>> getSubspeciesHierarchy() {
+        try {
+            return myReferenceData.getSubspeciesHierarchy();
+        } catch (SQLException e) {
+            handleError("Error loading subspecies", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Retrieves all background names from the reference data cache.
      *
      * @return list of background IDs
      */
     public List<String> getBackgrounds() {
         try {
-            return myLookupDAO.getBackgrounds();
+            return myReferenceData.getBackgrounds();
         } catch (SQLException e) {
             handleError("Error loading backgrounds", e);
             return List.of();
@@ -320,7 +454,7 @@ public class DnDController {
      */
     public List<DnDClass> getAllClasses() {
         try {
-            return myLookupDAO.getAllClasses();
+            return myReferenceData.getAllClasses();
         } catch (SQLException e) {
             handleError("Error loading classes", e);
             return List.of();
@@ -334,7 +468,7 @@ public class DnDController {
      */
     public List<Species> getAllSpecies() {
         try {
-            return myLookupDAO.getAllSpecies();
+            return myReferenceData.getAllSpecies();
         } catch (SQLException e) {
             handleError("Error loading species", e);
             return List.of();
@@ -344,147 +478,163 @@ public class DnDController {
     /**
      * Generates characters by class and campaign report.
      *
-     * @return list of character-class-campaign data
+     * @return table of character-class-campaign data
      */
-    public List<Map<String, Object>> getCharactersByClassAndCampaign() {
+    public ResultTable getCharactersByClassAndCampaign() {
         try {
             return myReportDAO.getCharactersByClassAndCampaign();
         } catch (SQLException e) {
             handleError("Error generating report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates classes with most subclasses report.
      *
-     * @return list of classes and their subclass counts
+     * @return table of classes and their subclass counts
      */
-    public List<Map<String, Object>> getClassesWithMostSubclasses() {
+    public ResultTable getClassesWithMostSubclasses() {
         try {
             return myReportDAO.getClassesWithMostSubclasses();
         } catch (SQLException e) {
             handleError("Error generating classes with most subclasses report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates above average level by species report.
      *
-     * @return list of characters above species average level
+     * @return table of characters above species average level
      */
-    public List<Map<String, Object>> getAboveAverageLevelBySpecies() {
+    public ResultTable getAboveAverageLevelBySpecies() {
         try {
             return myReportDAO.getAboveAverageLevelBySpecies();
         } catch (SQLException e) {
             handleError("Error generating report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates all players and characters report.
      *
-     * @return list of player-character relationships
+     * @return table of player-character relationships
      */
-    public List<Map<String, Object>> getAllPlayersAndCharacters() {
+    public ResultTable getAllPlayersAndCharacters() {
         try {
             return myReportDAO.getAllPlayersAndCharacters();
         } catch (SQLException e) {
             handleError("Error generating all players and characters report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates popular settings and military report.
      *
-     * @return list of characters matching criteria
+     * @return table of characters matching criteria
      */
-    public List<Map<String, Object>> getPopularSettingsAndMilitary() {
+    public ResultTable getPopularSettingsAndMilitary() {
         try {
             return myReportDAO.getPopularSettingsAndMilitary();
         } catch (SQLException e) {
             handleError("Error generating popular settings and military report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates character species and size report.
      *
-     * @return list of character-species-size data
+     * @return table of character-species-size data
      */
-    public List<Map<String, Object>> getCharacterSpeciesAndSize() {
+    public ResultTable getCharacterSpeciesAndSize() {
         try {
             return myReportDAO.getCharacterSpeciesAndSize();
         } catch (SQLException e) {
             handleError("Error generating character species and size report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates player character counts report.
      *
-     * @return list of players and their character counts
+     * @return table of players and their character counts
      */
-    public List<Map<String, Object>> getPlayerCharacterCounts() {
+    public ResultTable getPlayerCharacterCounts() {
         try {
             return myReportDAO.getPlayerCharacterCounts();
         } catch (SQLException e) {
             handleError("Error generating report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates campaign participation report.
      *
-     * @return list of campaigns and their player counts
+     * @return table of campaigns and their player counts
      */
-    public List<Map<String, Object>> getCampaignParticipation() {
+    public ResultTable getCampaignParticipation() {
         try {
             return myReportDAO.getCampaignParticipation();
         } catch (SQLException e) {
             handleError("Error generating report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates class distribution report.
      *
-     * @return list of classes and their usage statistics
+     * @return table of classes and their usage statistics
      */
-    public List<Map<String, Object>> getClassDistribution() {
+    public ResultTable getClassDistribution() {
         try {
             return myReportDAO.getClassDistribution();
         } catch (SQLException e) {
             handleError("Error generating class distribution report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
      * Generates character ability modifiers report.
      *
-     * @return list of characters with calculated ability modifiers
+     * @return table of characters with calculated ability modifiers
      */
-    public List<Map<String, Object>> getCharacterAbilityModifiers() {
+    public ResultTable getCharacterAbilityModifiers() {
         try {
             return myReportDAO.getCharacterAbilityModifiers();
         } catch (SQLException e) {
             handleError("Error generating report", e);
-            return List.of();
+            return ResultTable.empty();
         }
     }
 
     /**
-     * Shuts down the application and closes database connections.
+     * Shuts down the application and closes database connections. If the
+     * dungeondata.metrics.file property is set, the DAO metrics are saved to that file first.
+     * A summary of any Event Dispatch Thread stalls is printed.
      */
     public void shutdown() {
+        String metricsFile = System.getProperty("dungeondata.metrics.file");
+        if (metricsFile != null) {
+            try {
+                System.out.println("Query metrics saved to " + DaoMetrics.getInstance().dump(metricsFile));
+            } catch (IOException e) {
+                System.err.println("Could not save query metrics: " + e.getMessage());
+            }
+        }
+        myEdtWatchdog.stop();
+        if (myEdtWatchdog.getStallCount() > 0) {
+            myEdtWatchdog.printSummary(System.out);
+        }
+        myAsyncController.close();
+        myReferenceData.close();
         try {
             DatabaseConnection.getInstance().closeConnection();
         } catch (SQLException e) {
@@ -517,14 +667,17 @@ public class DnDController {
      * @param theArgs command line arguments
      */
     public static void main(String[] theArgs) {
+        StartupTimer startupTimer = new StartupTimer();
         SwingUtilities.invokeLater(() -> {
+            startupTimer.mark("event dispatch thread");
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
             } catch (Exception e) {
                 e.printStackTrace();
             }
+            startupTimer.mark("look and feel");
 
-            DnDController controller = new DnDController();
+            DnDController controller = new DnDController(startupTimer);
             controller.showMainView();
         });
     }
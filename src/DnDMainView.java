@@ -1,19 +1,49 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Main application window for the D&D Character Database Manager.
  * Provides a tabbed interface for managing characters, players, campaigns, and reports.
+ * Tabs load their data with {@link BackgroundLoader}s; running loads are shown in the
+ * status bar, and a tab's loads are cancelled when the user switches away from it
+ * and restarted when the user comes back. Each tab's view is only built, and its
+ * data only loaded, the first time the tab is selected, so the window appears
+ * before any listing query has run.
  *
  * @author David Norman
  * @author Georgia Karwhite
  * @version Summer 2025
  */
 public class DnDMainView extends JFrame {
+    private static final int CHARACTERS_TAB = 0;
+    private static final int PLAYERS_TAB = 1;
+    private static final int CAMPAIGNS_TAB = 2;
+    private static final int CLASSES_SPECIES_TAB = 3;
+    private static final int CREATOR_TAB = 4;
+    private static final int EDITOR_TAB = 5;
+    private static final int REPORTS_TAB = 6;
+
     private final DnDController myController;
     private JTabbedPane myTabbedPane;
     private JLabel myStatusBar;
+    private JProgressBar myProgressBar;
+    private JLabel myStallLabel;
     private Timer myStatusTimer;
+    private final Map<Component, List<BackgroundLoader>> myLoaders = new HashMap<>();
+    private final Map<BackgroundLoader, String> myActiveLoads = new LinkedHashMap<>();
+    private Component mySelectedTab;
+    private boolean myFirstTabShown;
 
     private CharacterView myCharacterView;
     private PlayerView myPlayerView;
@@ -47,28 +77,41 @@ public class DnDMainView extends JFrame {
 
         myTabbedPane = new JTabbedPane();
 
-        myCharacterView = new CharacterView(myController, this);
-        myPlayerView = new PlayerView(myController, this);
-        myCampaignView = new CampaignView(myController, this);
-        myClassSpeciesView = new ClassSpeciesView(myController);
-        myCharacterCreatorView = new CharacterCreatorView(myController, this);
-        myCharacterEditView = new CharacterEditView(myController, this);
-        myReportView = new ReportView(myController, this);
+        myProgressBar = new JProgressBar();
+        myProgressBar.setIndeterminate(true);
+        myProgressBar.setStringPainted(true);
+        myProgressBar.setVisible(false);
+
+        myStallLabel = new JLabel();
+        myStallLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+        myStallLabel.setVisible(false);
     }
 
     /**
-     * Sets up the main layout and adds all tabs.
+     * Sets up the main layout and adds all tabs. Each tab starts with a placeholder
+     * that is replaced by its view when the tab is first selected.
      */
     private void setupLayout() {
         setLayout(new BorderLayout());
 
-        myTabbedPane.addTab("Characters", myCharacterView);
-        myTabbedPane.addTab("Players", myPlayerView);
-        myTabbedPane.addTab("Campaigns", myCampaignView);
-        myTabbedPane.addTab("Classes & Species", myClassSpeciesView);
-        myTabbedPane.addTab("Character Creator", myCharacterCreatorView);
-        myTabbedPane.addTab("Character Editor", myCharacterEditView);
-        myTabbedPane.addTab("Reports", myReportView);
+        myTabbedPane.addTab("Characters", createPlaceholder());
+        myTabbedPane.addTab("Players", createPlaceholder());
+        myTabbedPane.addTab("Campaigns", createPlaceholder());
+        myTabbedPane.addTab("Classes & Species", createPlaceholder());
+        myTabbedPane.addTab("Character Creator", createPlaceholder());
+        myTabbedPane.addTab("Character Editor", createPlaceholder());
+        myTabbedPane.addTab("Reports", createPlaceholder());
+
+        mySelectedTab = myTabbedPane.getSelectedComponent();
+        myTabbedPane.addChangeListener(e -> tabChanged());
+
+        // Build the first tab only once the window is on screen and has had a chance to paint
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent theEvent) {
+                SwingUtilities.invokeLater(DnDMainView.this::showFirstTab);
+            }
+        });
 
         add(myTabbedPane, BorderLayout.CENTER);
 
@@ -80,7 +123,257 @@ public class DnDMainView extends JFrame {
         myStatusBar.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
         myStatusBar.setOpaque(true);
         myStatusBar.setBackground(new Color(240, 240, 240));
-        add(myStatusBar, BorderLayout.SOUTH);
+
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.add(myStatusBar, BorderLayout.CENTER);
+        JPanel indicatorPanel = new JPanel(new BorderLayout());
+        indicatorPanel.add(myStallLabel, BorderLayout.WEST);
+        indicatorPanel.add(myProgressBar, BorderLayout.EAST);
+        statusPanel.add(indicatorPanel, BorderLayout.EAST);
+        add(statusPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Creates the component shown in a tab until its view is built.
+     *
+     * @return the placeholder
+     */
+    private JComponent createPlaceholder() {
+        JPanel placeholder = new JPanel(new BorderLayout());
+        placeholder.add(new JLabel("Loading...", JLabel.CENTER), BorderLayout.CENTER);
+        return placeholder;
+    }
+
+    /**
+     * Builds the initially selected tab and records the end of startup once its
+     * data has loaded.
+     */
+    private void showFirstTab() {
+        StartupTimer startupTimer = myController.getStartupTimer();
+        tabChanged();
+        myFirstTabShown = true;
+        startupTimer.mark(myTabbedPane.getTitleAt(myTabbedPane.getSelectedIndex()) + " tab built");
+        if (myActiveLoads.isEmpty()) {
+            startupTimer.finish("first tab loaded");
+        }
+    }
+
+    /**
+     * Builds the view of a tab if it has not been built yet.
+     *
+     * @param theIndex the tab index
+     */
+    private void buildTab(int theIndex) {
+        switch (theIndex) {
+            case CHARACTERS_TAB -> getCharacterView();
+            case PLAYERS_TAB -> getPlayerView();
+            case CAMPAIGNS_TAB -> getCampaignView();
+            case CLASSES_SPECIES_TAB -> getClassSpeciesView();
+            case CREATOR_TAB -> getCharacterCreatorView();
+            case EDITOR_TAB -> getCharacterEditView();
+            case REPORTS_TAB -> getReportView();
+            default -> { }
+        }
+    }
+
+    /**
+     * Builds a tab's view, which starts loading its data, and puts it in place of
+     * the tab's placeholder.
+     *
+     * @param <T> the view type
+     * @param theIndex the tab index
+     * @param theFactory constructs the view
+     * @return the view
+     */
+    private <T extends Component> T installTab(int theIndex, Supplier<T> theFactory) {
+        long start = System.nanoTime();
+        T view = theFactory.get();
+        myTabbedPane.setComponentAt(theIndex, view);
+        System.out.printf("Built %s tab in %d ms%n", myTabbedPane.getTitleAt(theIndex),
+                (System.nanoTime() - start) / 1_000_000);
+        return view;
+    }
+
+    /**
+     * Gets the view of the Characters tab, building it if needed.
+     *
+     * @return the view
+     */
+    private CharacterView getCharacterView() {
+        if (myCharacterView == null) {
+            myCharacterView = installTab(CHARACTERS_TAB, () -> new CharacterView(myController, this));
+        }
+        return myCharacterView;
+    }
+
+    /**
+     * Gets the view of the Players tab, building it if needed.
+     *
+     * @return the view
+     */
+    private PlayerView getPlayerView() {
+        if (myPlayerView == null) {
+            myPlayerView = installTab(PLAYERS_TAB, () -> new PlayerView(myController, this));
+        }
+        return myPlayerView;
+    }
+
+    /**
+     * Gets the view of the Campaigns tab, building it if needed.
+     *
+     * @return the view
+     */
+    private CampaignView getCampaignView() {
+        if (myCampaignView == null) {
+            myCampaignView = installTab(CAMPAIGNS_TAB, () -> new CampaignView(myController, this));
+        }
+        return myCampaignView;
+    }
+
+    /**
+     * Gets the view of the Classes & Species tab, building it if needed.
+     *
+     * @return the view
+     */
+    private ClassSpeciesView getClassSpeciesView() {
+        if (myClassSpeciesView == null) {
+            myClassSpeciesView = installTab(CLASSES_SPECIES_TAB, () -> new ClassSpeciesView(myController, this));
+        }
+        return myClassSpeciesView;
+    }
+
+    /**
+     * Gets the view of the Character Creator tab, building it if needed.
+     *
+     * @return the view
+     */
+    private CharacterCreatorView getCharacterCreatorView() {
+        if (myCharacterCreatorView == null) {
+            myCharacterCreatorView = installTab(CREATOR_TAB, () -> new CharacterCreatorView(myController, this));
+        }
+        return myCharacterCreatorView;
+    }
+
+    /**
+     * Gets the view of the Character Editor tab, building it if needed.
+     *
+     * @return the view
+     */
+    private CharacterEditView getCharacterEditView() {
+        if (myCharacterEditView == null) {
+            myCharacterEditView = installTab(EDITOR_TAB, () -> new CharacterEditView(myController, this));
+        }
+        return myCharacterEditView;
+    }
+
+    /**
+     * Gets the view of the Reports tab, building it if needed.
+     *
+     * @return the view
+     */
+    private ReportView getReportView() {
+        if (myReportView == null) {
+            myReportView = installTab(REPORTS_TAB, () -> new ReportView(myController, this));
+        }
+        return myReportView;
+    }
+
+    /**
+     * Builds the selected tab if this is its first selection, suspends the loads
+     * of the tab the user left and resumes the loads of the tab the user selected,
+     * if they were suspended earlier.
+     */
+    private void tabChanged() {
+        buildTab(myTabbedPane.getSelectedIndex());
+        Component selected = myTabbedPane.getSelectedComponent();
+        if (selected == mySelectedTab) {
+            return;
+        }
+        for (BackgroundLoader loader : myLoaders.getOrDefault(mySelectedTab, List.of())) {
+            loader.suspend();
+        }
+        mySelectedTab = selected;
+        for (BackgroundLoader loader : myLoaders.getOrDefault(selected, List.of())) {
+            loader.resume();
+        }
+    }
+
+    /**
+     * Registers a loader so that it is suspended while its tab is not selected.
+     *
+     * @param theOwner the tab component the loader belongs to
+     * @param theLoader the loader
+     */
+    void registerLoader(Component theOwner, BackgroundLoader theLoader) {
+        myLoaders.computeIfAbsent(theOwner, theKey -> new ArrayList<>()).add(theLoader);
+    }
+
+    /**
+     * Shows how often the user interface has frozen in the status bar.
+     * Called on the Event Dispatch Thread after each stall.
+     *
+     * @param theWatchdog the watchdog that saw the stall
+     */
+    void showStalls(EdtWatchdog theWatchdog) {
+        myStallLabel.setText(String.format("UI stalls: %d (longest %d ms)",
+                theWatchdog.getStallCount(), theWatchdog.getMaxStallMillis()));
+        myStallLabel.setToolTipText(String.format("Last stall: %d ms in %s, %d ms in total",
+                theWatchdog.getLastStallMillis(), theWatchdog.getLastStallMethod(),
+                theWatchdog.getTotalStallMillis()));
+        myStallLabel.setVisible(true);
+    }
+
+    /**
+     * Gets the title of the tab a component is shown in.
+     *
+     * @param theComponent a tab component
+     * @return the tab's title, or the component's class name if it is not in a tab
+     */
+    String getTabTitle(Component theComponent) {
+        int index = myTabbedPane.indexOfComponent(theComponent);
+        return index >= 0 ? myTabbedPane.getTitleAt(index) : theComponent.getClass().getSimpleName();
+    }
+
+    /**
+     * Shows a load in the status bar progress indicator.
+     *
+     * @param theLoader the loader that started the load
+     * @param theTask the description of the load
+     */
+    void loadingStarted(BackgroundLoader theLoader, String theTask) {
+        myActiveLoads.remove(theLoader);
+        myActiveLoads.put(theLoader, theTask);
+        updateProgress();
+    }
+
+    /**
+     * Removes a finished or cancelled load from the status bar progress indicator.
+     *
+     * @param theLoader the loader whose load ended
+     */
+    void loadingFinished(BackgroundLoader theLoader) {
+        myActiveLoads.remove(theLoader);
+        updateProgress();
+        if (myFirstTabShown && myActiveLoads.isEmpty()) {
+            myController.getStartupTimer().finish("first tab loaded");
+        }
+    }
+
+    /**
+     * Shows the most recently started load, or hides the progress indicator when none are running.
+     */
+    private void updateProgress() {
+        if (myActiveLoads.isEmpty()) {
+            myProgressBar.setVisible(false);
+            return;
+        }
+        String latest = null;
+        for (String task : myActiveLoads.values()) {
+            latest = task;
+        }
+        int others = myActiveLoads.size() - 1;
+        myProgressBar.setString(others > 0 ? latest + " (+" + others + " more)" : latest);
+        myProgressBar.setVisible(true);
     }
 
     /**
@@ -101,6 +394,12 @@ public class DnDMainView extends JFrame {
 
         fileMenu.addSeparator();
 
+        JMenuItem saveMetricsItem = new JMenuItem("Save Query Metrics...");
+        saveMetricsItem.addActionListener(e -> saveMetrics());
+        fileMenu.add(saveMetricsItem);
+
+        fileMenu.addSeparator();
+
         JMenuItem exitItem = new JMenuItem("Exit");
         exitItem.addActionListener(e -> myController.shutdown());
         fileMenu.add(exitItem);
@@ -135,32 +434,32 @@ public class DnDMainView extends JFrame {
         int selectedIndex = myTabbedPane.getSelectedIndex();
 
         switch (selectedIndex) {
-            case 0 -> {
-                myCharacterView.refreshData();
-                setStatusMessage("Characters data refreshed", MessageType.SUCCESS);
+            case CHARACTERS_TAB -> {
+                getCharacterView().refreshData();
+                setStatusMessage("Refreshing Characters data...", MessageType.INFO);
             }
-            case 1 -> {
-                myPlayerView.refreshData();
-                setStatusMessage("Players data refreshed", MessageType.SUCCESS);
+            case PLAYERS_TAB -> {
+                getPlayerView().refreshData();
+                setStatusMessage("Refreshing Players data...", MessageType.INFO);
             }
-            case 2 -> {
-                myCampaignView.refreshData();
-                setStatusMessage("Campaigns data refreshed", MessageType.SUCCESS);
+            case CAMPAIGNS_TAB -> {
+                getCampaignView().refreshData();
+                setStatusMessage("Refreshing Campaigns data...", MessageType.INFO);
             }
-            case 3 -> {
-                myClassSpeciesView.refreshData();
-                setStatusMessage("Classes & Species data refreshed", MessageType.SUCCESS);
+            case CLASSES_SPECIES_TAB -> {
+                getClassSpeciesView().refreshData();
+                setStatusMessage("Refreshing Classes & Species data...", MessageType.INFO);
             }
-            case 4 -> {
-                myCharacterCreatorView.refreshData();
-                setStatusMessage("Character Creator data refreshed", MessageType.SUCCESS);
+            case CREATOR_TAB -> {
+                getCharacterCreatorView().refreshData();
+                setStatusMessage("Refreshing Character Creator data...", MessageType.INFO);
             }
-            case 5 -> {
-                myCharacterEditView.refreshData();
-                setStatusMessage("Character Editor data refreshed", MessageType.SUCCESS);
+            case EDITOR_TAB -> {
+                getCharacterEditView().refreshData();
+                setStatusMessage("Refreshing Character Editor data...", MessageType.INFO);
             }
-            case 6 -> {
-                myReportView.refreshData();
+            case REPORTS_TAB -> {
+                getReportView().refreshData();
                 setStatusMessage("Reports cleared", MessageType.SUCCESS);
             }
             default -> setStatusMessage("Tab refreshed", MessageType.SUCCESS);
@@ -168,17 +467,51 @@ public class DnDMainView extends JFrame {
     }
 
     /**
-     * Refreshes data for all tabs.
+     * Refreshes data for all tabs that have been built. Tabs that have not been
+     * built yet load fresh data when they are first selected.
      */
     private void refreshAllTabs() {
-        myCharacterView.refreshData();
-        myPlayerView.refreshData();
-        myCampaignView.refreshData();
-        myClassSpeciesView.refreshData();
-        myCharacterCreatorView.refreshData();
-        myCharacterEditView.refreshData();
-        myReportView.refreshData();
-        setStatusMessage("All data refreshed successfully", MessageType.SUCCESS);
+        myController.invalidateReferenceData();
+        if (myCharacterView != null) {
+            myCharacterView.refreshData();
+        }
+        if (myPlayerView != null) {
+            myPlayerView.refreshData();
+        }
+        if (myCampaignView != null) {
+            myCampaignView.refreshData();
+        }
+        if (myClassSpeciesView != null) {
+            myClassSpeciesView.refreshData();
+        }
+        if (myCharacterCreatorView != null) {
+            myCharacterCreatorView.refreshData();
+        }
+        if (myCharacterEditView != null) {
+            myCharacterEditView.refreshData();
+        }
+        if (myReportView != null) {
+            myReportView.refreshData();
+        }
+        setStatusMessage("Refreshing all data...", MessageType.INFO);
+    }
+
+    /**
+     * Asks for a file and writes the latency, row and error metrics of every DAO method to it as CSV.
+     */
+    private void saveMetrics() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("dao-metrics.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        try {
+            DaoMetrics.getInstance().dump(file);
+            setStatusMessage("Query metrics saved to " + file, MessageType.SUCCESS);
+        } catch (IOException e) {
+            setStatusMessage("Failed to save query metrics: " + e.getMessage(), MessageType.ERROR);
+        }
     }
 
     /**
@@ -200,8 +533,12 @@ public class DnDMainView extends JFrame {
      * Switches to the Characters tab and refreshes data.
      */
     public void switchToCharactersTab() {
-        myTabbedPane.setSelectedIndex(0);
-        myCharacterView.refreshData();
+        // A tab built by this switch has just loaded its data, so only an existing one is refreshed
+        boolean built = myCharacterView != null;
+        myTabbedPane.setSelectedIndex(CHARACTERS_TAB);
+        if (built) {
+            myCharacterView.refreshData();
+        }
         setStatusMessage("Switched to Characters tab", MessageType.INFO);
     }
 
@@ -211,8 +548,8 @@ public class DnDMainView extends JFrame {
      * @param theCharacter the character to edit
      */
     public void switchToCharacterEditor(Character theCharacter) {
-        myTabbedPane.setSelectedIndex(5);
-        myCharacterEditView.editCharacter(theCharacter);
+        myTabbedPane.setSelectedIndex(EDITOR_TAB);
+        getCharacterEditView().editCharacter(theCharacter);
         setStatusMessage("Editing character: " + theCharacter.getCharId(), MessageType.INFO);
     }
 
@@ -0,0 +1,252 @@
+import javax.swing.SwingUtilities;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the Event Dispatch Thread for stalls, where it processes no events for
+ * longer than a threshold because some listener is busy, usually waiting on the
+ * database. A background thread posts a heartbeat event to the Event Dispatch Thread
+ * and, if the heartbeat has not run within the threshold, captures the Event
+ * Dispatch Thread's stack. The stall is attributed to the {@link DnDController}
+ * method on that stack, logged with the stack to standard error, and counted.
+ *
+ * <p>The threshold is {@code dungeondata.edtWatchdog.thresholdMs}; a negative
+ * value turns the watchdog off. A stall is timed from when its heartbeat was
+ * posted, so it may be reported up to half the threshold shorter than it was.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class EdtWatchdog {
+    private static final long THRESHOLD_MS = 250;
+    private static final int MAX_LOGGED_FRAMES = 40;
+
+    private final long myThresholdNanos;
+    private final long myCheckMillis;
+    private final Consumer<EdtWatchdog> myOnStall;
+    private final Map<String, long[]> myStallsByMethod = new TreeMap<>();
+    private volatile long myPostedNanos;
+    private volatile Thread myEventThread;
+    private volatile StackTraceElement[] myStallStack;
+    private Thread myThread;
+    private int myStallCount;
+    private long myTotalNanos;
+    private long myMaxNanos;
+    private String myLastMethod;
+    private long myLastNanos;
+
+    /**
+     * Constructs a watchdog with the configured threshold. It does nothing until started.
+     *
+     * @param theOnStall called on the Event Dispatch Thread after each stall ends
+     */
+    public EdtWatchdog(Consumer<EdtWatchdog> theOnStall) {
+        long threshold = Long.getLong("dungeondata.edtWatchdog.thresholdMs", THRESHOLD_MS);
+        myThresholdNanos = threshold < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(threshold);
+        myCheckMillis = Math.max(10, threshold / 2);
+        myOnStall = theOnStall;
+    }
+
+    /**
+     * Starts watching, unless the watchdog is turned off or already running.
+     */
+    public synchronized void start() {
+        if (myThresholdNanos < 0 || myThread != null) {
+            return;
+        }
+        myThread = new Thread(this::watch, "edt-watchdog");
+        myThread.setDaemon(true);
+        myThread.start();
+    }
+
+    /**
+     * Stops watching.
+     */
+    public synchronized void stop() {
+        if (myThread != null) {
+            myThread.interrupt();
+            myThread = null;
+        }
+    }
+
+    /**
+     * Gets the number of stalls seen.
+     *
+     * @return the stall count
+     */
+    public synchronized int getStallCount() {
+        return myStallCount;
+    }
+
+    /**
+     * Gets the combined length of all stalls seen.
+     *
+     * @return the total in milliseconds
+     */
+    public synchronized long getTotalStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(myTotalNanos);
+    }
+
+    /**
+     * Gets the length of the longest stall seen.
+     *
+     * @return the longest stall in milliseconds
+     */
+    public synchronized long getMaxStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(myMaxNanos);
+    }
+
+    /**
+     * Gets the length of the most recent stall.
+     *
+     * @return the last stall in milliseconds, or 0 if there has been none
+     */
+    public synchronized long getLastStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(myLastNanos);
+    }
+
+    /**
+     * Gets the method the most recent stall was attributed to.
+     *
+     * @return the method, such as {@code DnDController.getAllPlayers}, or null if there has been no stall
+     */
+    public synchronized String getLastStallMethod() {
+        return myLastMethod;
+    }
+
+    /**
+     * Prints the number and length of the stalls attributed to each method.
+     *
+     * @param theOut where the summary is printed
+     */
+    public synchronized void printSummary(PrintStream theOut) {
+        theOut.printf("Event Dispatch Thread stalls: %d, %d ms in total, longest %d ms%n",
+                myStallCount, getTotalStallMillis(), getMaxStallMillis());
+        for (Map.Entry<String, long[]> method : myStallsByMethod.entrySet()) {
+            long[] stalls = method.getValue();
+            theOut.printf("  %-48s %4d stalls %8d ms%n", method.getKey(), stalls[0],
+                    TimeUnit.NANOSECONDS.toMillis(stalls[1]));
+        }
+    }
+
+    /**
+     * Posts heartbeats and captures the Event Dispatch Thread's stack when one is late.
+     * Runs on the watchdog thread until it is interrupted.
+     */
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(myCheckMillis);
+                long posted = myPostedNanos;
+                if (posted == 0) {
+                    long now = System.nanoTime();
+                    myStallStack = null;
+                    myPostedNanos = now;
+                    SwingUtilities.invokeLater(() -> heartbeat(now));
+                } else if (myStallStack == null && System.nanoTime() - posted >= myThresholdNanos) {
+                    Thread eventThread = myEventThread;
+                    if (eventThread != null) {
+                        myStallStack = eventThread.getStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs on the Event Dispatch Thread when a heartbeat is processed, and records
+     * a stall if the heartbeat waited longer than the threshold.
+     *
+     * @param thePostedNanos when the heartbeat was posted
+     */
+    private void heartbeat(long thePostedNanos) {
+        long elapsed = System.nanoTime() - thePostedNanos;
+        myEventThread = Thread.currentThread();
+        StackTraceElement[] stack = myStallStack;
+        myPostedNanos = 0;
+        if (elapsed >= myThresholdNanos) {
+            stalled(elapsed, stack);
+        }
+    }
+
+    /**
+     * Counts a stall, logs it with the captured stack and tells the listener.
+     *
+     * @param theNanos how long the stall lasted
+     * @param theStack the Event Dispatch Thread's stack during the stall, or null if it was not captured
+     */
+    private void stalled(long theNanos, StackTraceElement[] theStack) {
+        String method = attribute(theStack);
+        synchronized (this) {
+            myStallCount++;
+            myTotalNanos += theNanos;
+            myMaxNanos = Math.max(myMaxNanos, theNanos);
+            myLastNanos = theNanos;
+            myLastMethod = method;
+            long[] stalls = myStallsByMethod.computeIfAbsent(method, theKey -> new long[2]);
+            stalls[0]++;
+            stalls[1] += theNanos;
+        }
+
+        StringBuilder log = new StringBuilder(String.format("Event Dispatch Thread stalled for %d ms in %s",
+                TimeUnit.NANOSECONDS.toMillis(theNanos), method));
+        if (theStack != null) {
+            for (int i = 0; i < Math.min(theStack.length, MAX_LOGGED_FRAMES); i++) {
+                log.append(System.lineSeparator()).append("\tat ").append(theStack[i]);
+            }
+            if (theStack.length > MAX_LOGGED_FRAMES) {
+                log.append(System.lineSeparator()).append("\t... ").append(theStack.length - MAX_LOGGED_FRAMES)
+                        .append(" more");
+            }
+        }
+        System.err.println(log);
+        myOnStall.accept(this);
+    }
+
+    /**
+     * Finds the method a stall is blamed on: the innermost {@link DnDController} method
+     * on the stack, or else the innermost method of the application's own classes.
+     *
+     * @param theStack the Event Dispatch Thread's stack, or null if it was not captured
+     * @return the method, or "unknown" if there is none
+     */
+    private static String attribute(StackTraceElement[] theStack) {
+        if (theStack == null) {
+            return "unknown";
+        }
+        for (StackTraceElement frame : theStack) {
+            if (frame.getClassName().startsWith("DnDController")) {
+                return "DnDController." + methodName(frame);
+            }
+        }
+        for (StackTraceElement frame : theStack) {
+            String className = frame.getClassName();
+            if (!className.contains(".") && !className.equals(EdtWatchdog.class.getName())) {
+                int nested = className.indexOf('$');
+                return (nested < 0 ? className : className.substring(0, nested)) + "." + methodName(frame);
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Gets the name of a frame's method, using the enclosing method's name for a lambda.
+     *
+     * @param theFrame the stack frame
+     * @return the method name
+     */
+    private static String methodName(StackTraceElement theFrame) {
+        String name = theFrame.getMethodName();
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', "lambda$".length());
+            return name.substring("lambda$".length(), end < 0 ? name.length() : end);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,69 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an import file one record at a time, so files of any size can be
+ * imported without holding them in memory. A record is a set of named text
+ * fields, such as one CSV line under its header or one JSON object.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public interface ImportRecordReader extends AutoCloseable {
+
+    /**
+     * Opens a reader for a file, choosing the format from its extension:
+     * .json, .jsonl and .ndjson files are read as JSON and anything else as CSV.
+     *
+     * @param theFile the file to read
+     * @return a reader positioned before the first record
+     * @throws IOException if the file cannot be opened, or is a CSV file that is empty or has an unreadable header
+     */
+    static ImportRecordReader open(Path theFile) throws IOException {
+        String name = theFile.getFileName().toString().toLowerCase(Locale.ROOT);
+        BufferedReader reader = Files.newBufferedReader(theFile, StandardCharsets.UTF_8);
+        try {
+            if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return new JsonRecordReader(reader);
+            }
+            return new CsvRecordReader(reader);
+        } catch (IOException | RuntimeException e) {
+            // The record reader would have owned the file; without one, nothing else closes it
+            try {
+                reader.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record's fields keyed by name, or null at the end of the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    Map<String, String> next() throws IOException;
+
+    /**
+     * Gets the line of the file on which the last record returned by {@link #next()} starts.
+     *
+     * @return the one-based line number
+     */
+    long getLineNumber();
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,143 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a character import: how many records were read, inserted and
+ * rejected, how fast they were processed, and why rejected records failed.
+ * To bound memory on very bad files, only the first failures are kept in detail;
+ * every failure is still counted.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ImportResult {
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final long mySkippedCount;
+    private final long myStartNanos = System.nanoTime();
+    private long myReadCount;
+    private long myInsertedCount;
+    private long myFailedCount;
+    private long myElapsedNanos;
+    private final List<String> myFailures = new ArrayList<>();
+
+    /**
+     * Constructs an empty result.
+     *
+     * @param theSkippedCount the number of records skipped because an earlier run committed them
+     */
+    public ImportResult(long theSkippedCount) {
+        mySkippedCount = theSkippedCount;
+    }
+
+    /**
+     * Gets the number of records skipped because an earlier run committed them.
+     *
+     * @return the skipped record count
+     */
+    public long getSkippedCount() {
+        return mySkippedCount;
+    }
+
+    /**
+     * Gets the number of records read and processed in this run.
+     *
+     * @return the processed record count
+     */
+    public long getReadCount() {
+        return myReadCount;
+    }
+
+    /**
+     * Gets the number of characters inserted in this run.
+     *
+     * @return the inserted count
+     */
+    public long getInsertedCount() {
+        return myInsertedCount;
+    }
+
+    /**
+     * Gets the number of records that were rejected.
+     *
+     * @return the failed count
+     */
+    public long getFailedCount() {
+        return myFailedCount;
+    }
+
+    /**
+     * Gets descriptions of the rejected records, in the order they were found.
+     * At most the first {@value #MAX_REPORTED_FAILURES} are kept.
+     *
+     * @return an unmodifiable list of failure descriptions
+     */
+    public List<String> getFailures() {
+        return Collections.unmodifiableList(myFailures);
+    }
+
+    /**
+     * Gets the time spent processing records in this run.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return myElapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Gets the processing rate of this run.
+     *
+     * @return records processed per second
+     */
+    public double getRowsPerSecond() {
+        return myElapsedNanos == 0 ? 0 : myReadCount * 1e9 / myElapsedNanos;
+    }
+
+    /**
+     * Records that a record was read.
+     */
+    void addRead() {
+        myReadCount++;
+    }
+
+    /**
+     * Records that characters were inserted.
+     *
+     * @param theCount the number of characters
+     */
+    void addInserted(long theCount) {
+        myInsertedCount += theCount;
+    }
+
+    /**
+     * Sets the elapsed time to the time since this result was created.
+     */
+    void updateElapsed() {
+        myElapsedNanos = System.nanoTime() - myStartNanos;
+    }
+
+    /**
+     * Records that a record was rejected.
+     *
+     * @param theLine the line of the file on which the record starts
+     * @param theCharId the record's character name, possibly null
+     * @param theReason why the record was rejected
+     */
+    void addFailure(long theLine, String theCharId, String theReason) {
+        myFailedCount++;
+        if (myFailures.size() < MAX_REPORTED_FAILURES) {
+            myFailures.add("Line " + theLine + (theCharId == null || theCharId.isEmpty() ? "" : " (" + theCharId + ")")
+                    + ": " + theReason);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %d characters, %d rejected, %d records in %.1f s (%.0f rows/sec)%s",
+                myInsertedCount, myFailedCount, myReadCount, myElapsedNanos / 1e9, getRowsPerSecond(),
+                mySkippedCount > 0 ? ", resumed after record " + mySkippedCount : "");
+    }
+}
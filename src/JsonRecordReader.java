@@ -0,0 +1,253 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads JSON records one at a time. The file may hold either a single array of
+ * objects or one object per line (NDJSON). Each object is one record; its values
+ * must be strings, numbers, booleans or null, and are returned as text.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class JsonRecordReader implements ImportRecordReader {
+    private static final int NONE = -2;
+
+    private final Reader myReader;
+    private final StringBuilder myText = new StringBuilder();
+    private int myPeeked = NONE;
+    private long myLine = 1;
+    private long myRecordLine;
+    private boolean myStarted;
+    private boolean myInArray;
+    private boolean myFinished;
+
+    /**
+     * Constructs a reader over JSON text.
+     *
+     * @param theReader the JSON text, ideally buffered
+     */
+    public JsonRecordReader(Reader theReader) {
+        myReader = theReader;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (myFinished) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (!myStarted) {
+            myStarted = true;
+            if (c == '\uFEFF') {
+                c = skipWhitespace();
+            }
+            if (c == '[') {
+                myInArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return finish();
+                }
+            }
+        } else if (myInArray) {
+            if (c == ']') {
+                return finish();
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']' between records");
+            }
+            c = skipWhitespace();
+        }
+
+        if (c == -1 && !myInArray) {
+            return finish();
+        }
+        if (c != '{') {
+            throw error("Expected '{' to start a record");
+        }
+        myRecordLine = myLine;
+        return readObject();
+    }
+
+    @Override
+    public long getLineNumber() {
+        return myRecordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        myReader.close();
+    }
+
+    /**
+     * Reads the members of an object whose opening brace has been read.
+     *
+     * @return the members as text keyed by name
+     * @throws IOException if reading fails or the object is malformed
+     */
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> record = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') {
+            return record;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Expected a quoted field name");
+            }
+            String name = readString();
+            if (skipWhitespace() != ':') {
+                throw error("Expected ':' after field name \"" + name + "\"");
+            }
+            record.put(name, readValue());
+
+            c = skipWhitespace();
+            if (c == '}') {
+                return record;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}' after field \"" + name + "\"");
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    /**
+     * Reads a string, number, boolean or null value.
+     *
+     * @return the value as text, or null for a JSON null
+     * @throws IOException if reading fails or the value is not a simple value
+     */
+    private String readValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Nested objects and arrays are not supported");
+        }
+        myText.setLength(0);
+        while (c != -1 && c != ',' && c != '}' && c != ']' && !java.lang.Character.isWhitespace(c)) {
+            myText.append((char) c);
+            c = read();
+        }
+        unread(c);
+        String literal = myText.toString();
+        if (literal.isEmpty()) {
+            throw error("Expected a value");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been read.
+     *
+     * @return the string's contents with escapes resolved
+     * @throws IOException if reading fails or the string is not closed
+     */
+    private String readString() throws IOException {
+        myText.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("String is never closed");
+            }
+            if (c == '"') {
+                return myText.toString();
+            }
+            if (c != '\\') {
+                myText.append((char) c);
+                continue;
+            }
+            int escape = read();
+            switch (escape) {
+                case '"', '\\', '/' -> myText.append((char) escape);
+                case 'b' -> myText.append('\b');
+                case 'f' -> myText.append('\f');
+                case 'n' -> myText.append('\n');
+                case 'r' -> myText.append('\r');
+                case 't' -> myText.append('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = java.lang.Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw error("Invalid \\u escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    myText.append((char) code);
+                }
+                default -> throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+    /**
+     * Marks the end of the records.
+     *
+     * @return null, for the caller to return
+     */
+    private Map<String, String> finish() {
+        myFinished = true;
+        return null;
+    }
+
+    /**
+     * Reads past whitespace.
+     *
+     * @return the first character that is not whitespace, or -1 at the end of the file
+     * @throws IOException if reading fails
+     */
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && java.lang.Character.isWhitespace(c));
+        return c;
+    }
+
+    /**
+     * Reads one character, counting lines.
+     *
+     * @return the character, or -1 at the end of the file
+     * @throws IOException if reading fails
+     */
+    private int read() throws IOException {
+        int c;
+        if (myPeeked != NONE) {
+            c = myPeeked;
+            myPeeked = NONE;
+        } else {
+            c = myReader.read();
+        }
+        if (c == '\n') {
+            myLine++;
+        }
+        return c;
+    }
+
+    /**
+     * Pushes back the character just read so the next {@link #read()} returns it again.
+     *
+     * @param theChar the character, or -1 at the end of the file
+     */
+    private void unread(int theChar) {
+        if (theChar == '\n') {
+            myLine--;
+        }
+        myPeeked = theChar;
+    }
+
+    /**
+     * Creates an exception describing malformed JSON at the current line.
+     *
+     * @param theMessage what was wrong
+     * @return the exception to throw
+     */
+    private IOException error(String theMessage) {
+        return new IOException(theMessage + " on line " + myLine);
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations for reporting percentiles such as p50, p95 and p99.
+ * Durations are counted in logarithmic buckets of microseconds: every power of two
+ * is split into eight equal buckets, so any percentile is reported within about
+ * 6% of the true value while the histogram stays a fixed few kilobytes however
+ * many durations it has counted. Safe to update from many threads at once.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this are counted in buckets of their own
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (64 - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray myBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder myCount = new LongAdder();
+    private final LongAdder myTotalMicros = new LongAdder();
+    private final LongAccumulator myMaxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Counts one duration.
+     *
+     * @param theNanos the duration in nanoseconds
+     */
+    public void record(long theNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(theNanos));
+        myBuckets.incrementAndGet(bucketOf(micros));
+        myCount.increment();
+        myTotalMicros.add(micros);
+        myMaxMicros.accumulate(micros);
+    }
+
+    /**
+     * Gets the number of durations counted.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return myCount.sum();
+    }
+
+    /**
+     * Gets the mean duration.
+     *
+     * @return the mean in milliseconds, or 0 if nothing has been counted
+     */
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : myTotalMicros.sum() / 1000.0 / count;
+    }
+
+    /**
+     * Gets the longest duration counted.
+     *
+     * @return the maximum in milliseconds
+     */
+    public double getMaxMillis() {
+        return myMaxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Gets the duration below which the given fraction of the counted durations fall.
+     *
+     * @param theFraction the percentile as a fraction, such as 0.95 for p95
+     * @return the percentile in milliseconds, or 0 if nothing has been counted
+     */
+    public double getPercentileMillis(double theFraction) {
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = myBuckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(theFraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Report the middle of the bucket, but never more than the largest value seen
+                long low = lowerBoundOf(i);
+                long high = lowerBoundOf(i + 1);
+                return Math.min((low + high - 1) / 2.0, myMaxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            myBuckets.set(i, 0);
+        }
+        myCount.reset();
+        myTotalMicros.reset();
+        myMaxMicros.reset();
+    }
+
+    /**
+     * Finds the bucket a value is counted in.
+     *
+     * @param theMicros the value in microseconds, not negative
+     * @return the bucket index
+     */
+    private static int bucketOf(long theMicros) {
+        if (theMicros < LINEAR_LIMIT) {
+            return (int) theMicros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(theMicros);
+        int subBucket = (int) (theMicros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the smallest value counted in a bucket.
+     *
+     * @param theBucket the bucket index, which may be one past the last bucket
+     * @return the value in microseconds
+     */
+    private static long lowerBoundOf(int theBucket) {
+        if (theBucket < LINEAR_LIMIT) {
+            return theBucket;
+        }
+        int exponent = (theBucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (theBucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        if (exponent > 62) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+}
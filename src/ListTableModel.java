@@ -0,0 +1,196 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only table model backed directly by a list of domain objects.
+ * Each row is one object; subclasses say how to show it as columns and which
+ * value identifies it. Replacing the rows with {@link #setRows(List)} fires
+ * row-level insert, update and delete events for only the rows that changed,
+ * so a table's selection and scroll position survive a refresh.
+ * Must only be used on the Event Dispatch Thread.
+ *
+ * @param <T> the row type
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public abstract class ListTableModel<T> extends AbstractTableModel {
+    private final String[] myColumnNames;
+    private final List<T> myRows = new ArrayList<>();
+
+    /**
+     * Constructs an empty model with the given column headers.
+     *
+     * @param theColumnNames the column headers
+     */
+    protected ListTableModel(String... theColumnNames) {
+        myColumnNames = theColumnNames;
+    }
+
+    /**
+     * Gets the value that identifies a row across refreshes.
+     *
+     * @param theRow the row object
+     * @return the row's key
+     */
+    protected abstract Object getKey(T theRow);
+
+    /**
+     * Gets the value shown in a column for a row.
+     *
+     * @param theRow the row object
+     * @param theColumn the column index
+     * @return the value to display
+     */
+    protected abstract Object getColumnValue(T theRow, int theColumn);
+
+    /**
+     * Replaces the rows, firing events only for rows that were added, removed or changed.
+     * Rows are matched by key. If the rows kept from before appear in a different
+     * order, the whole table is reported as changed instead.
+     *
+     * @param theRows the new rows
+     */
+    public void setRows(List<? extends T> theRows) {
+        Set<Object> newKeys = new HashSet<>();
+        for (T row : theRows) {
+            newKeys.add(getKey(row));
+        }
+
+        // Remove rows that are gone, in runs from the bottom up so indexes stay valid
+        int i = myRows.size() - 1;
+        while (i >= 0) {
+            if (newKeys.contains(getKey(myRows.get(i)))) {
+                i--;
+                continue;
+            }
+            int last = i;
+            while (i >= 0 && !newKeys.contains(getKey(myRows.get(i)))) {
+                i--;
+            }
+            myRows.subList(i + 1, last + 1).clear();
+            fireTableRowsDeleted(i + 1, last);
+        }
+
+        if (!keepsOrder(theRows)) {
+            myRows.clear();
+            myRows.addAll(theRows);
+            fireTableDataChanged();
+            return;
+        }
+
+        // Walk the new rows: matching keys are updated in place, runs of new keys are inserted
+        i = 0;
+        while (i < theRows.size()) {
+            if (i < myRows.size() && Objects.equals(getKey(myRows.get(i)), getKey(theRows.get(i)))) {
+                T old = myRows.set(i, theRows.get(i));
+                if (!sameColumns(old, theRows.get(i))) {
+                    fireTableRowsUpdated(i, i);
+                }
+                i++;
+                continue;
+            }
+            int first = i;
+            boolean hasNextKept = first < myRows.size();
+            Object nextKeptKey = hasNextKept ? getKey(myRows.get(first)) : null;
+            while (i < theRows.size()
+                    && !(hasNextKept && Objects.equals(getKey(theRows.get(i)), nextKeptKey))) {
+                i++;
+            }
+            myRows.addAll(first, theRows.subList(first, i));
+            fireTableRowsInserted(first, i - 1);
+        }
+    }
+
+    /**
+     * Gets the row object at an index.
+     *
+     * @param theRow the model row index
+     * @return the row object
+     */
+    public T getRow(int theRow) {
+        return myRows.get(theRow);
+    }
+
+    /**
+     * Gets the rows currently shown.
+     *
+     * @return an unmodifiable view of the rows
+     */
+    public List<T> getRows() {
+        return Collections.unmodifiableList(myRows);
+    }
+
+    /**
+     * Finds the row with the given key.
+     *
+     * @param theKey the key to look for
+     * @return the model row index, or -1 if no row has that key
+     */
+    public int indexOf(Object theKey) {
+        for (int i = 0; i < myRows.size(); i++) {
+            if (Objects.equals(getKey(myRows.get(i)), theKey)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return myRows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return myColumnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int theColumn) {
+        return myColumnNames[theColumn];
+    }
+
+    @Override
+    public Object getValueAt(int theRow, int theColumn) {
+        return getColumnValue(myRows.get(theRow), theColumn);
+    }
+
+    /**
+     * Checks that the current rows appear in the new list in the same relative order.
+     * Called after rows missing from the new list have been removed.
+     *
+     * @param theRows the new rows
+     * @return true if the current rows can be updated in place
+     */
+    private boolean keepsOrder(List<? extends T> theRows) {
+        int next = 0;
+        for (T row : theRows) {
+            if (next < myRows.size() && Objects.equals(getKey(myRows.get(next)), getKey(row))) {
+                next++;
+            }
+        }
+        return next == myRows.size();
+    }
+
+    /**
+     * Checks whether two rows display the same values in every column.
+     *
+     * @param theOld the row being replaced
+     * @param theNew the replacement row
+     * @return true if no displayed value differs
+     */
+    private boolean sameColumns(T theOld, T theNew) {
+        for (int c = 0; c < myColumnNames.length; c++) {
+            if (!Objects.equals(getColumnValue(theOld, c), getColumnValue(theNew, c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
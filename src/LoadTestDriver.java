@@ -0,0 +1,599 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates many Dungeon Masters using the application at once, to size the connection
+ * pool and find contention before a rollout. Each simulated user runs on its own thread,
+ * as each client would, and repeatedly picks an operation from a weighted mix: paging
+ * through characters, creating and updating characters, adding and deleting a player,
+ * and running a report. Operations make the same DAO calls as the
+ * {@link DnDController} methods behind the views, so they take the same connections
+ * and statements the application does.
+ *
+ * <p>All users share the application's connection pool, sized as usual with
+ * {@code dungeondata.pool.max}. Latency is measured per operation after a warm-up,
+ * and the throughput, latency percentiles and error rate of each operation are
+ * printed and written to CSV and HTML reports, with the per-DAO method metrics of
+ * {@link DaoMetrics} alongside, whose connection wait times show pool contention.
+ *
+ * <p>New characters copy the class, species, background, player and campaign of
+ * characters already in the database, so the database must hold some characters,
+ * such as those from {@code DnDCli generate}. Every character and player the test
+ * creates is deleted by {@link #cleanUp()}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class LoadTestDriver {
+    private static final int PAGE_SIZE = 100;
+    private static final int SAMPLE_SIZE = 500;
+    // The reports a user can run from the Reports tab
+    private static final List<ReportDAO.Report> REPORTS = Arrays.stream(ReportDAO.Report.values())
+            .filter(theReport -> !theReport.isExportOnly())
+            .toList();
+
+    private final int myUsers;
+    private final long myWarmupNanos;
+    private final long myDurationNanos;
+    private final long myThinkMillis;
+    private final long mySeed;
+    private final PrintStream myLog;
+    private final CharacterDAO myCharacterDAO;
+    private final PlayerDAO myPlayerDAO;
+    private final ReportDAO myReportDAO;
+    private final OperationMetrics[] myMetrics = new OperationMetrics[Operation.values().length];
+    private List<Character> mySample;
+    private volatile long myMeasureStart;
+    private long myMeasuredNanos;
+    private int myPoolSize;
+    private List<User> mySimulatedUsers = List.of();
+
+    /**
+     * The operations a simulated user performs, with how often each is chosen.
+     */
+    public enum Operation {
+        LIST_CHARACTERS("List characters", 40),
+        CREATE_CHARACTER("Create character", 15),
+        UPDATE_CHARACTER("Update character", 15),
+        CREATE_PLAYER("Create player", 5),
+        DELETE_PLAYER("Delete player", 5),
+        RUN_REPORT("Run report", 20);
+
+        private final String myTitle;
+        private final int myWeight;
+
+        /**
+         * Constructs an operation.
+         *
+         * @param theTitle the name shown in reports
+         * @param theWeight how often the operation is chosen, relative to the others
+         */
+        Operation(String theTitle, int theWeight) {
+            myTitle = theTitle;
+            myWeight = theWeight;
+        }
+
+        /**
+         * Gets the name shown in reports.
+         *
+         * @return the title
+         */
+        public String getTitle() {
+            return myTitle;
+        }
+    }
+
+    /**
+     * Constructs a load test. Nothing runs until {@link #run()}.
+     *
+     * @param theUsers the number of simulated users
+     * @param theWarmupSeconds how long users run before latency is measured
+     * @param theDurationSeconds how long latency is measured for
+     * @param theThinkMillis the mean pause between a user's operations, or 0 for none
+     * @param theSeed the seed that makes each user's choices repeatable
+     * @param theLog where progress and the summary are printed
+     * @throws SQLException if the database connection fails
+     */
+    public LoadTestDriver(int theUsers, int theWarmupSeconds, int theDurationSeconds, long theThinkMillis,
+                          long theSeed, PrintStream theLog) throws SQLException {
+        if (theUsers < 1 || theDurationSeconds < 1 || theWarmupSeconds < 0 || theThinkMillis < 0) {
+            throw new IllegalArgumentException("Users and duration must be positive, warm-up and think time "
+                    + "not negative");
+        }
+        myUsers = theUsers;
+        myWarmupNanos = TimeUnit.SECONDS.toNanos(theWarmupSeconds);
+        myDurationNanos = TimeUnit.SECONDS.toNanos(theDurationSeconds);
+        myThinkMillis = theThinkMillis;
+        mySeed = theSeed;
+        myLog = theLog;
+        myCharacterDAO = new CharacterDAO();
+        myPlayerDAO = new PlayerDAO();
+        myReportDAO = new ReportDAO();
+        for (Operation operation : Operation.values()) {
+            myMetrics[operation.ordinal()] = new OperationMetrics();
+        }
+    }
+
+    /**
+     * Runs the simulated users through the warm-up and the measured period, and waits
+     * for them to stop. What they created is left until {@link #cleanUp()}.
+     *
+     * @throws SQLException if the database holds no characters to copy or cannot be read
+     * @throws InterruptedException if interrupted while waiting for the users
+     */
+    public void run() throws SQLException, InterruptedException {
+        mySample = myCharacterDAO.getCharactersWithDetailsPage(null, SAMPLE_SIZE);
+        if (mySample.isEmpty()) {
+            throw new SQLException("The database has no characters to base new ones on; run DnDCli generate first");
+        }
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+        pool.fill();
+        myPoolSize = pool.getMaxSize();
+
+        myLog.printf("Running %d users for %d s after a %d s warm-up, with a pool of up to %d connections%n",
+                myUsers, TimeUnit.NANOSECONDS.toSeconds(myDurationNanos), TimeUnit.NANOSECONDS.toSeconds(myWarmupNanos),
+                myPoolSize);
+        long start = System.nanoTime();
+        myMeasureStart = start + myWarmupNanos;
+        long end = myMeasureStart + myDurationNanos;
+        CountDownLatch done = new CountDownLatch(myUsers);
+        List<User> users = new ArrayList<>(myUsers);
+        SplittableRandom random = new SplittableRandom(mySeed);
+        for (int i = 0; i < myUsers; i++) {
+            User user = new User(i + 1, random.split(), end, done);
+            users.add(user);
+            Thread thread = new Thread(user, "load-test-user-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        if (!done.await(myMeasureStart - System.nanoTime(), TimeUnit.NANOSECONDS) && myWarmupNanos > 0) {
+            myLog.println("Warm-up finished; measuring");
+        }
+        // Only the measured period counts in the DAO metrics written with the report
+        DaoMetrics.getInstance().reset();
+        done.await();
+        myMeasuredNanos = Math.max(1, Math.min(System.nanoTime(), end) - myMeasureStart);
+        mySimulatedUsers = users;
+    }
+
+    /**
+     * Deletes the characters and players the users created. Call it after writing the
+     * reports, since its DAO calls are counted in the DAO metrics.
+     */
+    public void cleanUp() {
+        int deleted = 0;
+        for (User user : mySimulatedUsers) {
+            deleted += user.cleanUp();
+        }
+        myLog.printf("Deleted %d characters created by the test%n", deleted);
+    }
+
+    /**
+     * Prints the throughput, latency and error rate of each operation.
+     *
+     * @param theOut where the summary is printed
+     */
+    public void printSummary(PrintStream theOut) {
+        theOut.printf("%-18s %9s %8s %9s %9s %9s %9s %9s %9s%n", "Operation", "Calls", "Errors", "Per sec",
+                "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (Operation operation : Operation.values()) {
+            OperationMetrics metrics = myMetrics[operation.ordinal()];
+            LatencyHistogram latency = metrics.myLatency;
+            theOut.printf(Locale.ROOT, "%-18s %9d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.getTitle(), metrics.getCalls(), metrics.getErrorPercent(), getThroughput(operation),
+                    latency.getMeanMillis(), latency.getPercentileMillis(0.50), latency.getPercentileMillis(0.95),
+                    latency.getPercentileMillis(0.99), latency.getMaxMillis());
+            String error = metrics.myFirstError.get();
+            if (error != null) {
+                theOut.println("    first error: " + error);
+            }
+        }
+    }
+
+    /**
+     * Writes the results as CSV files: one line per operation, and the DAO method
+     * metrics of the measured period in {@code dao-metrics.csv} beside it. Times are
+     * in milliseconds.
+     *
+     * @param theFile the operation file to write; replaced if it exists
+     * @throws IOException if a file cannot be written
+     */
+    public void writeCsv(Path theFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(theFile)) {
+            writer.write("operation,calls,errors,error_rate,per_second,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            writer.newLine();
+            for (Operation operation : Operation.values()) {
+                OperationMetrics metrics = myMetrics[operation.ordinal()];
+                LatencyHistogram latency = metrics.myLatency;
+                writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        operation.name().toLowerCase(Locale.ROOT), metrics.getCalls(), metrics.myErrors.sum(),
+                        metrics.getErrorPercent() / 100, getThroughput(operation), latency.getMeanMillis(),
+                        latency.getPercentileMillis(0.50), latency.getPercentileMillis(0.95),
+                        latency.getPercentileMillis(0.99), latency.getMaxMillis()));
+                writer.newLine();
+            }
+        }
+        DaoMetrics.getInstance().dump(theFile.resolveSibling("dao-metrics.csv"));
+    }
+
+    /**
+     * Writes the results as a standalone HTML page with the test settings, a table
+     * of the operations and a table of the DAO methods they called.
+     *
+     * @param theFile the file to write; replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void writeHtml(Path theFile) throws IOException {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>DungeonData load test</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; }
+                table { border-collapse: collapse; margin-bottom: 2em; }
+                th, td { border: 1px solid #ccc; padding: 4px 10px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                th { background: #eee; }
+                .error { color: #b00; }
+                </style></head><body>
+                <h1>DungeonData load test</h1>
+                """);
+        html.append(String.format(Locale.ROOT,
+                "<p>%d users for %.0f s after a %d s warm-up, think time %d ms, pool of up to %d connections, "
+                        + "seed %d.</p>%n",
+                myUsers, myMeasuredNanos / 1e9, TimeUnit.NANOSECONDS.toSeconds(myWarmupNanos), myThinkMillis,
+                myPoolSize, mySeed));
+
+        html.append("<h2>Operations</h2>\n<table><tr><th>Operation</th><th>Calls</th><th>Errors</th>"
+                + "<th>Per second</th><th>Mean ms</th><th>p50 ms</th><th>p95 ms</th><th>p99 ms</th>"
+                + "<th>Max ms</th></tr>\n");
+        for (Operation operation : Operation.values()) {
+            OperationMetrics metrics = myMetrics[operation.ordinal()];
+            LatencyHistogram latency = metrics.myLatency;
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td%s>%.2f%%</td><td>%.1f</td>"
+                            + "<td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td></tr>%n",
+                    escapeHtml(operation.getTitle()), metrics.getCalls(),
+                    metrics.myErrors.sum() > 0 ? " class=\"error\"" : "", metrics.getErrorPercent(),
+                    getThroughput(operation), latency.getMeanMillis(), latency.getPercentileMillis(0.50),
+                    latency.getPercentileMillis(0.95), latency.getPercentileMillis(0.99), latency.getMaxMillis()));
+        }
+        html.append("</table>\n");
+
+        StringBuilder errors = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            String error = myMetrics[operation.ordinal()].myFirstError.get();
+            if (error != null) {
+                errors.append("<li><b>").append(escapeHtml(operation.getTitle())).append(":</b> ")
+                        .append(escapeHtml(error)).append("</li>\n");
+            }
+        }
+        if (!errors.isEmpty()) {
+            html.append("<h2>First error of each operation</h2>\n<ul class=\"error\">\n").append(errors)
+                    .append("</ul>\n");
+        }
+
+        html.append("<h2>DAO methods</h2>\n<table><tr><th>Method</th><th>Calls</th><th>Errors</th>"
+                + "<th>Mean ms</th><th>p95 ms</th><th>p99 ms</th><th>Max ms</th>"
+                + "<th>Mean connection wait ms</th><th>Max connection wait ms</th></tr>\n");
+        for (DaoMethodMetrics method : DaoMetrics.getAll()) {
+            if (method.getCalls() == 0) {
+                continue;
+            }
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%d</td><td>%.2f</td>"
+                            + "<td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.3f</td><td>%.2f</td></tr>%n",
+                    escapeHtml(method.getMethod()), method.getCalls(), method.getErrors(), method.getMeanMillis(),
+                    method.getP95Millis(), method.getP99Millis(), method.getMaxMillis(),
+                    method.getMeanConnectionWaitMillis(), method.getMaxConnectionWaitMillis()));
+        }
+        html.append("</table>\n</body></html>\n");
+        Files.writeString(theFile, html);
+    }
+
+    /**
+     * Gets how many times an operation completed per second of the measured period.
+     *
+     * @param theOperation the operation
+     * @return the calls per second
+     */
+    private double getThroughput(Operation theOperation) {
+        return myMetrics[theOperation.ordinal()].getCalls() / (myMeasuredNanos / 1e9);
+    }
+
+    /**
+     * Escapes the characters that are special in HTML text.
+     *
+     * @param theText the text
+     * @return the escaped text
+     */
+    private static String escapeHtml(String theText) {
+        return theText.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Calls and failures of one operation started during the measured period.
+     */
+    private static final class OperationMetrics {
+        private final LatencyHistogram myLatency = new LatencyHistogram();
+        private final LongAdder myErrors = new LongAdder();
+        private final AtomicReference<String> myFirstError = new AtomicReference<>();
+
+        /**
+         * Gets the number of calls, including failed ones.
+         *
+         * @return the call count
+         */
+        long getCalls() {
+            return myLatency.getCount();
+        }
+
+        /**
+         * Gets the share of calls that failed.
+         *
+         * @return the error rate as a percentage
+         */
+        double getErrorPercent() {
+            long calls = getCalls();
+            return calls == 0 ? 0 : 100.0 * myErrors.sum() / calls;
+        }
+    }
+
+    /**
+     * Performs one step of a simulated user.
+     */
+    @FunctionalInterface
+    private interface Step {
+
+        /**
+         * Performs the step.
+         *
+         * @return true if it succeeded, false if the DAO reported that nothing changed
+         * @throws SQLException if the database fails
+         */
+        boolean run() throws SQLException;
+    }
+
+    /**
+     * One simulated Dungeon Master, picking operations until the test ends.
+     */
+    private final class User implements Runnable {
+        private final int myNumber;
+        private final SplittableRandom myRandom;
+        private final long myEnd;
+        private final CountDownLatch myDone;
+        private final List<Character> myCharacters = new ArrayList<>();
+        private final int myTotalWeight;
+        private String myCursor;
+        private int myCreated;
+        private int myPlayerId;
+
+        /**
+         * Constructs a user.
+         *
+         * @param theNumber the user's number, used in the names of what it creates
+         * @param theRandom the user's own random number generator
+         * @param theEnd when the test ends
+         * @param theDone counted down when the user stops
+         */
+        User(int theNumber, SplittableRandom theRandom, long theEnd, CountDownLatch theDone) {
+            myNumber = theNumber;
+            myRandom = theRandom;
+            myEnd = theEnd;
+            myDone = theDone;
+            int total = 0;
+            for (Operation operation : Operation.values()) {
+                total += operation.myWeight;
+            }
+            myTotalWeight = total;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (System.nanoTime() < myEnd) {
+                    perform(choose());
+                    if (myThinkMillis > 0) {
+                        // Exponential pauses, so users do not fall into step with each other
+                        Thread.sleep((long) (-Math.log(1 - myRandom.nextDouble()) * myThinkMillis));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                myDone.countDown();
+            }
+        }
+
+        /**
+         * Picks the next operation according to the operations' weights. A player is
+         * always deleted right after the user creates one, as a Dungeon Master tidying
+         * up a mistake would.
+         *
+         * @return the operation
+         */
+        private Operation choose() {
+            if (myPlayerId != 0) {
+                return Operation.DELETE_PLAYER;
+            }
+            int pick = myRandom.nextInt(myTotalWeight);
+            for (Operation operation : Operation.values()) {
+                pick -= operation.myWeight;
+                if (pick < 0) {
+                    return operation == Operation.DELETE_PLAYER ? Operation.CREATE_PLAYER : operation;
+                }
+            }
+            throw new AssertionError();
+        }
+
+        /**
+         * Performs an operation, timing it and counting it if it failed.
+         *
+         * @param theOperation the operation
+         */
+        private void perform(Operation theOperation) {
+            Step step = switch (theOperation) {
+                case LIST_CHARACTERS -> this::listCharacters;
+                case CREATE_CHARACTER -> this::createCharacter;
+                case UPDATE_CHARACTER -> myCharacters.isEmpty() ? this::createCharacter : this::updateCharacter;
+                case CREATE_PLAYER -> this::createPlayer;
+                case DELETE_PLAYER -> this::deletePlayer;
+                case RUN_REPORT -> this::runReport;
+            };
+            // An update with nothing to update yet is counted as the create it becomes
+            Operation counted = theOperation == Operation.UPDATE_CHARACTER && myCharacters.isEmpty()
+                    ? Operation.CREATE_CHARACTER : theOperation;
+
+            long start = System.nanoTime();
+            String error = null;
+            try {
+                if (!step.run()) {
+                    error = "No rows were changed";
+                }
+            } catch (SQLException | RuntimeException e) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            long nanos = System.nanoTime() - start;
+            // Operations still running when the test ends are counted, so the slowest are not missed
+            if (start >= myMeasureStart) {
+                OperationMetrics metrics = myMetrics[counted.ordinal()];
+                metrics.myLatency.record(nanos);
+                if (error != null) {
+                    metrics.myErrors.increment();
+                    metrics.myFirstError.compareAndSet(null, error);
+                }
+            }
+        }
+
+        /**
+         * Reads the next page of characters, as the characters tab does when scrolled,
+         * starting again from the first page after the last.
+         *
+         * @return true
+         * @throws SQLException if the page cannot be read
+         */
+        private boolean listCharacters() throws SQLException {
+            List<Character> page = myCharacterDAO.getCharactersWithDetailsPage(myCursor, PAGE_SIZE);
+            myCursor = page.size() < PAGE_SIZE ? null : page.get(page.size() - 1).getCharId();
+            return true;
+        }
+
+        /**
+         * Creates a character like one already in the database, with new ability scores.
+         *
+         * @return true if the character was inserted
+         * @throws SQLException if the character cannot be inserted
+         */
+        private boolean createCharacter() throws SQLException {
+            Character model = mySample.get(myRandom.nextInt(mySample.size()));
+            String name = String.format("Load test %d-%d", myNumber, ++myCreated);
+            Character character = new Character(name, 1 + myRandom.nextInt(20), model.getClassId(),
+                    model.getSubclassId(), model.getSpeciesId(), model.getSubspeciesId(), model.getBackgroundId(),
+                    model.getPlayerId(), model.getGameId(), rollAbility(), rollAbility(), rollAbility(),
+                    rollAbility(), rollAbility(), rollAbility());
+            boolean inserted = myCharacterDAO.insertCharacter(character);
+            if (inserted) {
+                myCharacters.add(character);
+            }
+            return inserted;
+        }
+
+        /**
+         * Levels up one of the characters this user created and rerolls an ability score.
+         * The user's own characters are updated, so that the test leaves the existing
+         * characters as they were.
+         *
+         * @return true if the character was updated
+         * @throws SQLException if the character cannot be updated
+         */
+        private boolean updateCharacter() throws SQLException {
+            Character character = myCharacters.get(myRandom.nextInt(myCharacters.size()));
+            character.setLevel(Math.min(20, character.getLevel() + 1));
+            character.setStrength(rollAbility());
+            return myCharacterDAO.updateCharacter(character);
+        }
+
+        /**
+         * Adds a player with the next free player ID, as the player view does.
+         *
+         * @return true if the player was inserted
+         * @throws SQLException if the player cannot be inserted
+         */
+        private boolean createPlayer() throws SQLException {
+            Player player = new Player(myPlayerDAO.getNextPlayerId(), "Load", "Test " + myNumber, "Email",
+                    "load-test-" + myNumber + "@example.com", "PST");
+            boolean inserted = myPlayerDAO.insertPlayer(player);
+            if (inserted) {
+                myPlayerId = player.getPlayerId();
+            }
+            return inserted;
+        }
+
+        /**
+         * Deletes the player this user just created, checking first for characters
+         * as the player view does.
+         *
+         * @return true if the player was deleted
+         * @throws SQLException if the player cannot be checked or deleted
+         */
+        private boolean deletePlayer() throws SQLException {
+            int playerId = myPlayerId;
+            myPlayerId = 0;
+            return !myPlayerDAO.playerHasCharacters(playerId) && myPlayerDAO.deletePlayer(playerId);
+        }
+
+        /**
+         * Runs a randomly chosen report from those the Reports tab offers.
+         *
+         * @return true
+         * @throws SQLException if the report fails
+         */
+        private boolean runReport() throws SQLException {
+            myReportDAO.executeQuery(REPORTS.get(myRandom.nextInt(REPORTS.size())));
+            return true;
+        }
+
+        /**
+         * Rolls an ability score with 3d6.
+         *
+         * @return the score
+         */
+        private int rollAbility() {
+            return 3 + myRandom.nextInt(6) + myRandom.nextInt(6) + myRandom.nextInt(6);
+        }
+
+        /**
+         * Deletes the characters and the player this user created and left behind.
+         *
+         * @return the number of characters deleted
+         */
+        int cleanUp() {
+            int deleted = 0;
+            try {
+                for (Character character : myCharacters) {
+                    if (myCharacterDAO.deleteCharacter(character.getCharId())) {
+                        deleted++;
+                    }
+                }
+                if (myPlayerId != 0) {
+                    myPlayerDAO.deletePlayer(myPlayerId);
+                }
+            } catch (SQLException e) {
+                myLog.println("Error deleting load test data of user " + myNumber + ": " + e.getMessage());
+            }
+            return deleted;
+        }
+    }
+}
@@ -1,9 +1,10 @@
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for lookup data including classes, species, and backgrounds.
@@ -14,15 +15,15 @@ import java.util.List;
  * @version Summer 2025
  */
 public class LookupDAO {
-    private Connection myConnection;
+    private final DatabaseConnection myDatabase;
 
     /**
-     * Constructs a LookupDAO and establishes database connection.
+     * Constructs a LookupDAO backed by the shared connection pool.
      *
      * @throws SQLException if database connection fails
      */
     public LookupDAO() throws SQLException {
-        myConnection = DatabaseConnection.getInstance().getConnection();
+        myDatabase = DatabaseConnection.getInstance();
     }
 
     /**
@@ -32,17 +33,19 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getClasses() throws SQLException {
-        List<String> classes = new ArrayList<>();
-        String query = "SELECT class_id FROM class ORDER BY class_id";
+        return DaoMetrics.record("LookupDAO.getClasses", () -> {
+            List<String> classes = new ArrayList<>();
+            String query = "SELECT class_id FROM class ORDER BY class_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                classes.add(rs.getString("class_id"));
+                while (rs.next()) {
+                    classes.add(rs.getString("class_id"));
+                }
             }
-        }
-        return classes;
+            return classes;
+        });
     }
 
     /**
@@ -52,17 +55,19 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getSubclasses() throws SQLException {
-        List<String> subclasses = new ArrayList<>();
-        String query = "SELECT subclass_id FROM subclass ORDER BY subclass_id";
+        return DaoMetrics.record("LookupDAO.getSubclasses", () -> {
+            List<String> subclasses = new ArrayList<>();
+            String query = "SELECT subclass_id FROM subclass ORDER BY subclass_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                subclasses.add(rs.getString("subclass_id"));
+                while (rs.next()) {
+                    subclasses.add(rs.getString("subclass_id"));
+                }
             }
-        }
-        return subclasses;
+            return subclasses;
+        });
     }
 
     /**
@@ -73,18 +78,45 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getSubclassesByClass(String theClassId) throws SQLException {
-        List<String> subclasses = new ArrayList<>();
-        String query = "SELECT subclass_id FROM subclass WHERE class_id = ? ORDER BY subclass_id";
+        return DaoMetrics.record("LookupDAO.getSubclassesByClass", () -> {
+            List<String> subclasses = new ArrayList<>();
+            String query = "SELECT subclass_id FROM subclass WHERE class_id = ? ORDER BY subclass_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setString(1, theClassId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    subclasses.add(rs.getString("subclass_id"));
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setString(1, theClassId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        subclasses.add(rs.getString("subclass_id"));
+                    }
                 }
             }
-        }
-        return subclasses;
+            return subclasses;
+        });
+    }
+
+    /**
+     * Retrieves every class with its subclasses using a single query.
+     *
+     * @return map from class ID to its subclass IDs, both ordered alphabetically;
+     *         classes without subclasses map to an empty list
+     * @throws SQLException if database query fails
+     */
+    public Map<String, List<String>> getSubclassHierarchy() throws SQLException {
+        return DaoMetrics.record("LookupDAO.getSubclassHierarchy", () -> {
+            String query = """
+                    SELECT c.class_id, s.subclass_id
+                    FROM class c
+                    LEFT JOIN subclass s ON s.class_id = c.class_id
+                    ORDER BY c.class_id, s.subclass_id
+                    """;
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
+
+                return readHierarchy(rs, "class_id", "subclass_id");
+            }
+        });
     }
 
     /**
@@ -94,17 +126,19 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getSpecies() throws SQLException {
-        List<String> species = new ArrayList<>();
-        String query = "SELECT species_id FROM species ORDER BY species_id";
+        return DaoMetrics.record("LookupDAO.getSpecies", () -> {
+            List<String> species = new ArrayList<>();
+            String query = "SELECT species_id FROM species ORDER BY species_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                species.add(rs.getString("species_id"));
+                while (rs.next()) {
+                    species.add(rs.getString("species_id"));
+                }
             }
-        }
-        return species;
+            return species;
+        });
     }
 
     /**
@@ -114,17 +148,19 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getSubspecies() throws SQLException {
-        List<String> subspecies = new ArrayList<>();
-        String query = "SELECT subspecies_id FROM subspecies ORDER BY subspecies_id";
+        return DaoMetrics.record("LookupDAO.getSubspecies", () -> {
+            List<String> subspecies = new ArrayList<>();
+            String query = "SELECT subspecies_id FROM subspecies ORDER BY subspecies_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                subspecies.add(rs.getString("subspecies_id"));
+                while (rs.next()) {
+                    subspecies.add(rs.getString("subspecies_id"));
+                }
             }
-        }
-        return subspecies;
+            return subspecies;
+        });
     }
 
     /**
@@ -135,18 +171,45 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getSubspeciesBySpecies(String theSpeciesId) throws SQLException {
-        List<String> subspecies = new ArrayList<>();
-        String query = "SELECT subspecies_id FROM subspecies WHERE species_id = ? ORDER BY subspecies_id";
+        return DaoMetrics.record("LookupDAO.getSubspeciesBySpecies", () -> {
+            List<String> subspecies = new ArrayList<>();
+            String query = "SELECT subspecies_id FROM subspecies WHERE species_id = ? ORDER BY subspecies_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setString(1, theSpeciesId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    subspecies.add(rs.getString("subspecies_id"));
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setString(1, theSpeciesId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        subspecies.add(rs.getString("subspecies_id"));
+                    }
                 }
             }
-        }
-        return subspecies;
+            return subspecies;
+        });
+    }
+
+    /**
+     * Retrieves every species with its subspecies using a single query.
+     *
+     * @return map from species ID to its subspecies IDs, both ordered alphabetically;
+     *         species without subspecies map to an empty list
+     * @throws SQLException if database query fails
+     */
+    public Map<String, List<String>> getSubspeciesHierarchy() throws SQLException {
+        return DaoMetrics.record("LookupDAO.getSubspeciesHierarchy", () -> {
+            String query = """
+                    SELECT sp.species_id, ss.subspecies_id
+                    FROM species sp
+                    LEFT JOIN subspecies ss ON ss.species_id = sp.species_id
+                    ORDER BY sp.species_id, ss.subspecies_id
+                    """;
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
+
+                return readHierarchy(rs, "species_id", "subspecies_id");
+            }
+        });
     }
 
     /**
@@ -156,17 +219,19 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<String> getBackgrounds() throws SQLException {
-        List<String> backgrounds = new ArrayList<>();
-        String query = "SELECT bg_id FROM background ORDER BY bg_id";
+        return DaoMetrics.record("LookupDAO.getBackgrounds", () -> {
+            List<String> backgrounds = new ArrayList<>();
+            String query = "SELECT bg_id FROM background ORDER BY bg_id";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                backgrounds.add(rs.getString("bg_id"));
+                while (rs.next()) {
+                    backgrounds.add(rs.getString("bg_id"));
+                }
             }
-        }
-        return backgrounds;
+            return backgrounds;
+        });
     }
 
     /**
@@ -176,24 +241,26 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<DnDClass> getAllClasses() throws SQLException {
-        List<DnDClass> classes = new ArrayList<>();
-        String query = "SELECT class_id, class_summary, casting_stat, primary_stat, secondary_stat FROM class ORDER BY class_id";
-
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                DnDClass dndClass = new DnDClass(
-                        rs.getString("class_id"),
-                        rs.getString("class_summary"),
-                        rs.getString("casting_stat"),
-                        rs.getString("primary_stat"),
-                        rs.getString("secondary_stat")
-                );
-                classes.add(dndClass);
+        return DaoMetrics.record("LookupDAO.getAllClasses", () -> {
+            List<DnDClass> classes = new ArrayList<>();
+            String query = "SELECT class_id, class_summary, casting_stat, primary_stat, secondary_stat FROM class ORDER BY class_id";
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
+
+                while (rs.next()) {
+                    DnDClass dndClass = new DnDClass(
+                            rs.getString("class_id"),
+                            rs.getString("class_summary"),
+                            rs.getString("casting_stat"),
+                            rs.getString("primary_stat"),
+                            rs.getString("secondary_stat")
+                    );
+                    classes.add(dndClass);
+                }
             }
-        }
-        return classes;
+            return classes;
+        });
     }
 
     /**
@@ -203,21 +270,81 @@ public class LookupDAO {
      * @throws SQLException if database query fails
      */
     public List<Species> getAllSpecies() throws SQLException {
-        List<Species> species = new ArrayList<>();
-        String query = "SELECT species_id, species_size, species_summary FROM species ORDER BY species_id";
-
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                Species sp = new Species(
-                        rs.getString("species_id"),
-                        rs.getString("species_size"),
-                        rs.getString("species_summary")
-                );
-                species.add(sp);
+        return DaoMetrics.record("LookupDAO.getAllSpecies", () -> {
+            List<Species> species = new ArrayList<>();
+            String query = "SELECT species_id, species_size, species_summary FROM species ORDER BY species_id";
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
+
+                while (rs.next()) {
+                    Species sp = new Species(
+                            rs.getString("species_id"),
+                            rs.getString("species_size"),
+                            rs.getString("species_summary")
+                    );
+                    species.add(sp);
+                }
+            }
+            return species;
+        });
+    }
+
+    /**
+     * Computes a fingerprint of all reference tables: each table's row count and
+     * a checksum over its rows. The fingerprint changes whenever a row is added,
+     * removed or edited, so it can be compared cheaply to detect stale cached data.
+     *
+     * @return the reference data fingerprint
+     * @throws SQLException if database query fails
+     */
+    public String getReferenceDataFingerprint() throws SQLException {
+        return DaoMetrics.record("LookupDAO.getReferenceDataFingerprint", () -> {
+            String query = """
+                    SELECT CONCAT_WS(':',
+                        (SELECT COUNT(*) FROM class),
+                        (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', class_id, class_summary, casting_stat,
+                                                             primary_stat, secondary_stat))), 0) FROM class),
+                        (SELECT COUNT(*) FROM subclass),
+                        (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', subclass_id, class_id))), 0) FROM subclass),
+                        (SELECT COUNT(*) FROM species),
+                        (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', species_id, species_size, species_summary))), 0) FROM species),
+                        (SELECT COUNT(*) FROM subspecies),
+                        (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', subspecies_id, species_id))), 0) FROM subspecies),
+                        (SELECT COUNT(*) FROM background),
+                        (SELECT COALESCE(SUM(CRC32(bg_id)), 0) FROM background)
+                    ) AS fingerprint
+                    """;
+
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
+
+                rs.next();
+                return rs.getString("fingerprint");
+            }
+        });
+    }
+
+    /**
+     * Groups parent/child rows ordered by parent into a parent-to-children map.
+     *
+     * @param theResults the rows of a parent LEFT JOIN child query
+     * @param theParentColumn the parent ID column
+     * @param theChildColumn the child ID column, null for parents without children
+     * @return map from parent ID to child IDs, in row order
+     * @throws SQLException if reading the rows fails
+     */
+    private Map<String, List<String>> readHierarchy(ResultSet theResults, String theParentColumn,
+                                                    String theChildColumn) throws SQLException {
+        Map<String, List<String>> hierarchy = new LinkedHashMap<>();
+        while (theResults.next()) {
+            List<String> children = hierarchy.computeIfAbsent(
+                    theResults.getString(theParentColumn), theKey -> new ArrayList<>());
+            String child = theResults.getString(theChildColumn);
+            if (child != null) {
+                children.add(child);
             }
         }
-        return species;
+        return hierarchy;
     }
-}
\ No newline at end of file
+}
@@ -1,4 +1,3 @@
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -14,15 +13,15 @@ import java.util.List;
  * @version Summer 2025
  */
 public class PlayerDAO {
-    private Connection myConnection;
+    private final DatabaseConnection myDatabase;
 
     /**
-     * Constructs a PlayerDAO and establishes database connection.
+     * Constructs a PlayerDAO backed by the shared connection pool.
      *
      * @throws SQLException if database connection fails
      */
     public PlayerDAO() throws SQLException {
-        myConnection = DatabaseConnection.getInstance().getConnection();
+        myDatabase = DatabaseConnection.getInstance();
     }
 
     /**
@@ -32,25 +31,27 @@ public class PlayerDAO {
      * @throws SQLException if database query fails
      */
     public List<Player> getAllPlayers() throws SQLException {
-        List<Player> players = new ArrayList<>();
-        String query = "SELECT player_id, fname, lname, pref_contact, contact_info, time_zone FROM player ORDER BY fname";
+        return DaoMetrics.record("PlayerDAO.getAllPlayers", () -> {
+            List<Player> players = new ArrayList<>();
+            String query = "SELECT player_id, fname, lname, pref_contact, contact_info, time_zone FROM player ORDER BY fname";
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+            try (ConnectionLease lease = myDatabase.borrowReadConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            while (rs.next()) {
-                Player player = new Player(
-                        rs.getInt("player_id"),
-                        rs.getString("fname"),
-                        rs.getString("lname"),
-                        rs.getString("pref_contact"),
-                        rs.getString("contact_info"),
-                        rs.getString("time_zone")
-                );
-                players.add(player);
+                while (rs.next()) {
+                    Player player = new Player(
+                            rs.getInt("player_id"),
+                            rs.getString("fname"),
+                            rs.getString("lname"),
+                            rs.getString("pref_contact"),
+                            rs.getString("contact_info"),
+                            rs.getString("time_zone")
+                    );
+                    players.add(player);
+                }
             }
-        }
-        return players;
+            return players;
+        });
     }
 
     /**
@@ -61,21 +62,24 @@ public class PlayerDAO {
      * @throws SQLException if database operation fails
      */
     public boolean insertPlayer(Player thePlayer) throws SQLException {
-        String query = """
-            INSERT INTO player (player_id, fname, lname, pref_contact, contact_info, time_zone)
-            VALUES (?, ?, ?, ?, ?, ?)
-            """;
+        return DaoMetrics.record("PlayerDAO.insertPlayer", () -> {
+            String query = """
+                INSERT INTO player (player_id, fname, lname, pref_contact, contact_info, time_zone)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """;
 
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, thePlayer.getPlayerId());
-            stmt.setString(2, thePlayer.getFirstName());
-            stmt.setString(3, thePlayer.getLastName());
-            stmt.setString(4, thePlayer.getPreferredContact());
-            stmt.setString(5, thePlayer.getContactInfo());
-            stmt.setString(6, thePlayer.getTimeZone());
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, thePlayer.getPlayerId());
+                stmt.setString(2, thePlayer.getFirstName());
+                stmt.setString(3, thePlayer.getLastName());
+                stmt.setString(4, thePlayer.getPreferredContact());
+                stmt.setString(5, thePlayer.getContactInfo());
+                stmt.setString(6, thePlayer.getTimeZone());
 
-            return stmt.executeUpdate() > 0;
-        }
+                return stmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -87,11 +91,14 @@ public class PlayerDAO {
      * @throws SQLException if database operation fails
      */
     public boolean deletePlayer(int thePlayerId) throws SQLException {
-        String query = "DELETE FROM player WHERE player_id = ?";
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, thePlayerId);
-            return stmt.executeUpdate() > 0;
-        }
+        return DaoMetrics.record("PlayerDAO.deletePlayer", () -> {
+            String query = "DELETE FROM player WHERE player_id = ?";
+            try (ConnectionLease lease = myDatabase.borrowConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, thePlayerId);
+                return stmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -102,16 +109,19 @@ public class PlayerDAO {
      * @throws SQLException if database query fails
      */
     public boolean playerHasCharacters(int thePlayerId) throws SQLException {
-        String query = "SELECT COUNT(*) FROM characters WHERE player_id = ?";
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, thePlayerId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+        return DaoMetrics.record("PlayerDAO.playerHasCharacters", () -> {
+            String query = "SELECT COUNT(*) FROM characters WHERE player_id = ?";
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, thePlayerId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1) > 0;
+                    }
+                    return false;
                 }
-                return false;
             }
-        }
+        });
     }
 
     /**
@@ -122,16 +132,19 @@ public class PlayerDAO {
      * @throws SQLException if database query fails
      */
     public int getCharacterCount(int thePlayerId) throws SQLException {
-        String query = "SELECT COUNT(*) FROM characters WHERE player_id = ?";
-        try (PreparedStatement stmt = myConnection.prepareStatement(query)) {
-            stmt.setInt(1, thePlayerId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+        return DaoMetrics.record("PlayerDAO.getCharacterCount", () -> {
+            String query = "SELECT COUNT(*) FROM characters WHERE player_id = ?";
+            try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+                PreparedStatement stmt = lease.prepareStatement(query);
+                stmt.setInt(1, thePlayerId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                    return 0;
                 }
-                return 0;
             }
-        }
+        });
     }
 
     /**
@@ -141,14 +154,16 @@ public class PlayerDAO {
      * @throws SQLException if database query fails
      */
     public int getNextPlayerId() throws SQLException {
-        String query = "SELECT COALESCE(MAX(player_id), 0) + 1 FROM player";
-        try (PreparedStatement stmt = myConnection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+        return DaoMetrics.record("PlayerDAO.getNextPlayerId", () -> {
+            String query = "SELECT COALESCE(MAX(player_id), 0) + 1 FROM player";
+            try (ConnectionLease lease = myDatabase.borrowConnection();
+                 ResultSet rs = lease.prepareStatement(query).executeQuery()) {
 
-            if (rs.next()) {
-                return rs.getInt(1);
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+                return 1;
             }
-            return 1;
-        }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+/**
+ * Table model showing one player per row with their contact details.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class PlayerTableModel extends ListTableModel<Player> {
+
+    /**
+     * Constructs an empty player table model.
+     */
+    public PlayerTableModel() {
+        super("Player ID", "First Name", "Last Name", "Preferred Contact", "Contact Info", "Time Zone");
+    }
+
+    @Override
+    protected Object getKey(Player theRow) {
+        return theRow.getPlayerId();
+    }
+
+    @Override
+    protected Object getColumnValue(Player theRow, int theColumn) {
+        return switch (theColumn) {
+            case 0 -> theRow.getPlayerId();
+            case 1 -> theRow.getFirstName();
+            case 2 -> theRow.getLastName();
+            case 3 -> theRow.getPreferredContact();
+            case 4 -> theRow.getContactInfo();
+            case 5 -> theRow.getTimeZone();
+            default -> null;
+        };
+    }
+}
@@ -1,8 +1,6 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
-import java.util.Vector;
 
 /**
  * Player management view for displaying and managing player data.
@@ -16,7 +14,8 @@ public class PlayerView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
     private JTable myPlayerTable;
-    private DefaultTableModel myTableModel;
+    private PlayerTableModel myTableModel;
+    private BackgroundLoader myLoader;
 
     /**
      * Constructs a PlayerView with the specified controller and main view.
@@ -27,6 +26,7 @@ public class PlayerView extends JPanel {
     public PlayerView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myLoader = new BackgroundLoader(myMainView, this);
         initializeComponents();
         setupLayout();
         refreshData();
@@ -36,7 +36,8 @@ public class PlayerView extends JPanel {
      * Initializes GUI components.
      */
     private void initializeComponents() {
-        myPlayerTable = new JTable();
+        myTableModel = new PlayerTableModel();
+        myPlayerTable = new JTable(myTableModel);
         myPlayerTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     }
 
@@ -70,45 +71,17 @@ public class PlayerView extends JPanel {
     }
 
     /**
-     * Refreshes the player data from the database.
+     * Refreshes the player data from the database in the background.
+     * A refresh that is still running is cancelled and replaced.
      */
     public void refreshData() {
-        try {
-            List<Player> players = myController.getAllPlayers();
-
-            Vector<String> columnNames = new Vector<>();
-            columnNames.add("Player ID");
-            columnNames.add("First Name");
-            columnNames.add("Last Name");
-            columnNames.add("Preferred Contact");
-            columnNames.add("Contact Info");
-            columnNames.add("Time Zone");
-
-            Vector<Vector<Object>> data = new Vector<>();
-            for (Player player : players) {
-                Vector<Object> row = new Vector<>();
-                row.add(player.getPlayerId());
-                row.add(player.getFirstName());
-                row.add(player.getLastName());
-                row.add(player.getPreferredContact());
-                row.add(player.getContactInfo());
-                row.add(player.getTimeZone());
-                data.add(row);
-            }
-
-            myTableModel = new DefaultTableModel(data, columnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            myPlayerTable.setModel(myTableModel);
-
-            myMainView.showSuccessMessage("Loaded " + players.size() + " players");
-
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to load players: " + e.getMessage());
-        }
+        myLoader.load("Loading players...",
+                () -> myController.getAsyncController().getAllPlayersAsync(),
+                thePlayers -> {
+                    myTableModel.setRows(thePlayers);
+                    myMainView.showSuccessMessage("Loaded " + thePlayers.size() + " players");
+                },
+                theError -> myMainView.showErrorMessage("Failed to load players: " + theError.getMessage()));
     }
 
     /**
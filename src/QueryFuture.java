@@ -0,0 +1,156 @@
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Future for a database call running on a background thread.
+ * Cancelling the future also cancels the JDBC statement the call is executing,
+ * so a slow query stops on the server instead of running to completion unseen.
+ * A call that is cancelled before it reaches the database never executes.
+ *
+ * @param <T> the result type
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class QueryFuture<T> extends CompletableFuture<T> {
+    private static final ThreadLocal<QueryFuture<?>> CURRENT = new ThreadLocal<>();
+
+    private Statement myStatement;
+
+    /**
+     * A unit of database work that produces a result.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface SqlTask<T> {
+        /**
+         * Runs the database work.
+         *
+         * @return the result
+         * @throws SQLException if the database work fails
+         */
+        T call() throws SQLException;
+    }
+
+    /**
+     * Runs a task on the current thread and completes this future with its outcome.
+     * Statements prepared by the task are tracked so that {@link #cancel(boolean)} can stop them.
+     *
+     * @param theTask the database work to run
+     */
+    public void run(SqlTask<T> theTask) {
+        if (isDone()) {
+            return;
+        }
+        CURRENT.set(this);
+        try {
+            complete(theTask.call());
+        } catch (Throwable e) {
+            completeExceptionally(e);
+        } finally {
+            CURRENT.remove();
+            untrack();
+        }
+    }
+
+    /**
+     * Records the statement the current thread's query is about to execute.
+     * Called whenever a statement is handed out by a {@link ConnectionLease}, which
+     * must call {@link #untrack()} on the returned future before its connection goes
+     * back to the pool.
+     *
+     * @param theStatement the statement about to run
+     * @return the future now tracking the statement, or null if the thread is not running one
+     * @throws SQLException if the current query has already been cancelled
+     */
+    static QueryFuture<?> track(Statement theStatement) throws SQLException {
+        QueryFuture<?> current = CURRENT.get();
+        if (current != null) {
+            synchronized (current) {
+                if (current.isCancelled()) {
+                    throw new SQLException("Query was cancelled");
+                }
+                current.myStatement = theStatement;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Stops tracking this future's statement. Called when the connection it runs on is
+     * returned to the pool, after which another thread may borrow the connection and
+     * cancelling the old statement would stop that thread's query instead.
+     */
+    synchronized void untrack() {
+        myStatement = null;
+    }
+
+    /**
+     * Cancels this future and the statement it is currently executing, if any.
+     * Once the statement's connection has gone back to the pool only the future is cancelled.
+     *
+     * @param theMayInterruptIfRunning ignored; running statements are always cancelled
+     * @return true if this future was cancelled by this call
+     */
+    @Override
+    public boolean cancel(boolean theMayInterruptIfRunning) {
+        boolean cancelled = super.cancel(theMayInterruptIfRunning);
+        if (cancelled) {
+            // Holding the lock keeps the lease from returning the connection until the cancel is sent
+            synchronized (this) {
+                if (myStatement != null) {
+                    try {
+                        myStatement.cancel();
+                    } catch (SQLException e) {
+                        System.err.println("Could not cancel running query: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Creates dependent stages that pass cancellation back to this future, so
+     * cancelling a derived result such as {@code query.thenApply(...)} still stops the query.
+     *
+     * @param <U> the dependent result type
+     * @return a new incomplete future
+     */
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new DependentFuture<>(this);
+    }
+
+    /**
+     * A stage derived from a query whose cancellation cancels the query as well.
+     *
+     * @param <U> the result type
+     */
+    private static final class DependentFuture<U> extends CompletableFuture<U> {
+        private final CompletableFuture<?> mySource;
+
+        /**
+         * Constructs a stage derived from the given source.
+         *
+         * @param theSource the stage this one depends on
+         */
+        private DependentFuture(CompletableFuture<?> theSource) {
+            mySource = theSource;
+        }
+
+        @Override
+        public boolean cancel(boolean theMayInterruptIfRunning) {
+            boolean cancelled = super.cancel(theMayInterruptIfRunning);
+            mySource.cancel(theMayInterruptIfRunning);
+            return cancelled;
+        }
+
+        @Override
+        public <V> CompletableFuture<V> newIncompleteFuture() {
+            return new DependentFuture<>(this);
+        }
+    }
+}
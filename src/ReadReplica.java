@@ -0,0 +1,250 @@
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+
+/**
+ * Read-only replica database used to offload queries from the primary.
+ * Wraps a separate connection pool and decides, per borrow, whether the replica
+ * may serve a read: it is skipped while it is unreachable and while its replication
+ * lag exceeds the configured staleness limit or a lag check fails. A replica pool that
+ * is merely busy only sends that one read elsewhere. Callers fall back to the primary
+ * whenever {@link #tryBorrow()} returns null.
+ * <p>
+ * Lag is read with SHOW REPLICA STATUS, or SHOW SLAVE STATUS on servers that predate it.
+ * On a database where neither can be run (an embedded database, or a user without the
+ * REPLICATION CLIENT privilege) the lag cannot be checked at all; the replica then serves
+ * reads unchecked unless a lag check is required. A negative lag limit skips the check.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ReadReplica implements AutoCloseable {
+    private static final String[] LAG_QUERIES = {"SHOW REPLICA STATUS", "SHOW SLAVE STATUS"};
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final ConnectionPool myPool;
+    private final long myMaxLagSeconds;
+    private final long myLagCheckIntervalMillis;
+    private final long myRetryDelayMillis;
+    private final boolean myRequireLagCheck;
+
+    private volatile long myDownUntilMillis;
+    private volatile long myLagCheckedAtMillis;
+    private volatile boolean myWithinLagLimit = true;
+    private volatile boolean myLagWarningLogged;
+    /** Index of the first lag query the replica accepts; LAG_QUERIES.length once none is left to try. */
+    private volatile int myLagQuery;
+
+    /**
+     * Constructs a replica over an existing pool.
+     *
+     * @param thePool the pool of replica connections
+     * @param theMaxLagSeconds the largest replication lag at which the replica may serve reads,
+     *                         or a negative number to serve reads without checking lag
+     * @param theLagCheckIntervalMillis how often replication lag is re-checked
+     * @param theRetryDelayMillis how long to route around the replica after it fails
+     * @param theRequireLagCheck whether a replica whose lag cannot be checked is kept from serving reads
+     */
+    public ReadReplica(ConnectionPool thePool, long theMaxLagSeconds, long theLagCheckIntervalMillis,
+                       long theRetryDelayMillis, boolean theRequireLagCheck) {
+        myPool = thePool;
+        myMaxLagSeconds = theMaxLagSeconds;
+        myLagCheckIntervalMillis = theLagCheckIntervalMillis;
+        myRetryDelayMillis = theRetryDelayMillis;
+        myRequireLagCheck = theRequireLagCheck;
+    }
+
+    /**
+     * Opens the replica's initial connections. A failure marks the replica as down
+     * instead of propagating, since reads can always be served by the primary.
+     */
+    public void start() {
+        try {
+            myPool.fill();
+            System.out.println("Read replica connected successfully!");
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    /**
+     * Borrows a replica connection if the replica is reachable and fresh enough.
+     *
+     * @return a lease on a replica connection, or null if reads should go to the primary
+     */
+    public ConnectionLease tryBorrow() {
+        if (System.currentTimeMillis() < myDownUntilMillis) {
+            return null;
+        }
+
+        ConnectionLease lease;
+        try {
+            lease = myPool.borrow();
+        } catch (SQLException e) {
+            // A busy replica pool is no reason to stop using the replica; only a broken connection is
+            if (isConnectionFailure(e)) {
+                markDown(e);
+            }
+            return null;
+        }
+
+        if (!isWithinLagLimit(lease)) {
+            lease.close();
+            return null;
+        }
+        return lease;
+    }
+
+    /**
+     * Checks whether the replica is currently within the staleness limit.
+     *
+     * @return true if the replica has not been found lagging
+     */
+    public boolean isAvailable() {
+        return System.currentTimeMillis() >= myDownUntilMillis && myWithinLagLimit;
+    }
+
+    /**
+     * Closes the replica's connection pool.
+     */
+    @Override
+    public void close() {
+        myPool.close();
+    }
+
+    /**
+     * Checks replication lag, re-querying the replica at most once per check interval.
+     *
+     * @param theLease a lease on a replica connection
+     * @return true if the replica's lag is within the limit
+     */
+    private boolean isWithinLagLimit(ConnectionLease theLease) {
+        long now = System.currentTimeMillis();
+        if (myMaxLagSeconds < 0 || myLagQuery == LAG_QUERIES.length
+                || now - myLagCheckedAtMillis < myLagCheckIntervalMillis) {
+            return myWithinLagLimit;
+        }
+        myLagCheckedAtMillis = now;
+
+        while (myLagQuery < LAG_QUERIES.length) {
+            try (Statement stmt = theLease.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery(LAG_QUERIES[myLagQuery])) {
+
+                myWithinLagLimit = isWithinLagLimit(rs);
+                myLagWarningLogged = false;
+                return myWithinLagLimit;
+            } catch (SQLException e) {
+                if (isUnsupported(e)) {
+                    myLagQuery++;
+                    continue;
+                }
+                // An unknown lag may be any lag, so the replica is not trusted until it can be checked again
+                myWithinLagLimit = false;
+                if (isConnectionFailure(e)) {
+                    markDown(e);
+                } else if (!myLagWarningLogged) {
+                    myLagWarningLogged = true;
+                    System.err.println("Could not check read replica lag, routing reads to the primary: "
+                            + e.getMessage());
+                }
+                return myWithinLagLimit;
+            }
+        }
+
+        // Reached once: later calls return early, so the decision and its message stand
+        myWithinLagLimit = !myRequireLagCheck;
+        System.err.println(myRequireLagCheck
+                ? "Read replica lag cannot be checked and a lag check is required, routing reads to the primary"
+                : "Read replica lag cannot be checked, serving reads from the replica without a lag limit");
+        return myWithinLagLimit;
+    }
+
+    /**
+     * Reads the lag from a replica status result and compares it with the limit.
+     *
+     * @param theStatus the result of a lag query
+     * @return true if the replica's lag is within the limit
+     * @throws SQLException if the result cannot be read
+     */
+    private boolean isWithinLagLimit(ResultSet theStatus) throws SQLException {
+        if (!theStatus.next()) {
+            // Not configured as a replica (e.g. a standalone copy), so it cannot lag
+            return true;
+        }
+        long lag = theStatus.getLong(findLagColumn(theStatus.getMetaData()));
+        // A NULL lag means replication is stopped or broken
+        boolean replicating = !theStatus.wasNull();
+        if (!replicating || lag > myMaxLagSeconds) {
+            System.err.println("Read replica is " + (replicating ? lag + "s behind" : "not replicating")
+                    + ", routing reads to the primary");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the lag column of a replica status result, whose name depends on the server version.
+     *
+     * @param theMetaData the result's metadata
+     * @return the column's index
+     * @throws SQLException if the result has no lag column
+     */
+    private static int findLagColumn(ResultSetMetaData theMetaData) throws SQLException {
+        for (int i = 1; i <= theMetaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(theMetaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        throw new SQLException("Replica status has no lag column");
+    }
+
+    /**
+     * Checks whether an exception means the lag query cannot be run on this replica at all:
+     * it is not valid SQL there, or the user may not run it. Such errors have SQL state class 42.
+     *
+     * @param theException the exception
+     * @return true if the query is unsupported or not permitted
+     */
+    private static boolean isUnsupported(SQLException theException) {
+        return theException instanceof SQLSyntaxErrorException
+                || theException instanceof SQLFeatureNotSupportedException
+                || theException.getSQLState() != null && theException.getSQLState().startsWith("42");
+    }
+
+    /**
+     * Checks whether an exception means the replica cannot be reached, as opposed to
+     * a busy pool or a failed statement. Connection errors have SQL state class 08.
+     *
+     * @param theException the exception
+     * @return true if the connection to the replica failed
+     */
+    private static boolean isConnectionFailure(SQLException theException) {
+        for (Throwable cause = theException; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLNonTransientConnectionException || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLException sql && sql.getSQLState() != null
+                    && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Routes reads away from the replica until the retry delay has passed.
+     *
+     * @param theCause the failure that made the replica unusable
+     */
+    private void markDown(SQLException theCause) {
+        myDownUntilMillis = System.currentTimeMillis() + myRetryDelayMillis;
+        System.err.println("Read replica unavailable, using the primary for "
+                + myRetryDelayMillis / 1000 + "s: " + theCause.getMessage());
+    }
+}
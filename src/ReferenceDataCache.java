@@ -0,0 +1,712 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * In-memory cache of the reference tables: classes, subclasses, species,
+ * subspecies and backgrounds. The whole hierarchy is loaded at once into an
+ * immutable snapshot, so lookups such as the subclasses of a class never touch
+ * the database once the cache is warm.
+ *
+ * <p>The snapshot is replaced when {@link #refresh()} is called, when it is older
+ * than the time-to-live, or when a background check finds that the reference
+ * tables' fingerprint has changed. Lookups keep using the previous snapshot
+ * until a replacement has finished loading. Only {@link #invalidate()} discards
+ * it, so the next lookup loads a new one.
+ *
+ * <p>When given a snapshot file, the cache saves every snapshot it loads from the
+ * database to that file, and {@link #restore()} reads it back on the next launch,
+ * so lookups are answered before the database has been queried at all. A restored
+ * snapshot is checked against the database's fingerprint straight away in the
+ * background and reloaded if the reference tables have changed since it was saved.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ReferenceDataCache implements AutoCloseable {
+    private static final long TTL_MS = 30 * 60 * 1000;
+    private static final long CHANGE_CHECK_MS = 60 * 1000;
+    // "DNDR", followed by the format version; files with another version are ignored
+    private static final int FILE_MAGIC = 0x444E4452;
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+    /** Stored when the fingerprint query fails; such a snapshot is only reloaded by its TTL. */
+    private static final String UNKNOWN_FINGERPRINT = "";
+
+    private final LookupDAO myLookupDAO;
+    private final Path mySnapshotFile;
+    private final long myTtlMillis;
+    private final ReentrantLock myLoadLock = new ReentrantLock();
+    private final ScheduledExecutorService myRefresher;
+
+    private final LongAdder myHits = new LongAdder();
+    private final LongAdder myMisses = new LongAdder();
+    private final LongAdder myRefreshes = new LongAdder();
+
+    private volatile Snapshot mySnapshot;
+
+    /**
+     * Constructs a cache over the lookup DAO and starts its background refresh checks.
+     * The TTL and check interval can be overridden with the
+     * {@code dungeondata.referenceData.ttlMs} and {@code dungeondata.referenceData.checkMs}
+     * system properties. Nothing is loaded until the first lookup.
+     *
+     * @param theLookupDAO the DAO the reference data is loaded from
+     */
+    public ReferenceDataCache(LookupDAO theLookupDAO) {
+        this(theLookupDAO, null);
+    }
+
+    /**
+     * Constructs a cache that saves its snapshots to a file and starts its background refresh checks.
+     *
+     * @param theLookupDAO the DAO the reference data is loaded from
+     * @param theSnapshotFile the file snapshots are saved to and restored from, or null for none
+     */
+    public ReferenceDataCache(LookupDAO theLookupDAO, Path theSnapshotFile) {
+        myLookupDAO = theLookupDAO;
+        mySnapshotFile = theSnapshotFile;
+        myTtlMillis = Long.getLong("dungeondata.referenceData.ttlMs", TTL_MS);
+        long checkMillis = Long.getLong("dungeondata.referenceData.checkMs", CHANGE_CHECK_MS);
+
+        myRefresher = Executors.newSingleThreadScheduledExecutor(theTask -> {
+            Thread thread = new Thread(theTask, "reference-data-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        myRefresher.scheduleWithFixedDelay(this::checkForChanges, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets all class names.
+     *
+     * @return class IDs ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getClasses() throws SQLException {
+        return snapshot().myClasses;
+    }
+
+    /**
+     * Gets all subclass names.
+     *
+     * @return subclass IDs ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getSubclasses() throws SQLException {
+        return snapshot().mySubclasses;
+    }
+
+    /**
+     * Gets the subclasses of a class.
+     *
+     * @param theClassId the class to get subclasses for
+     * @return subclass IDs ordered alphabetically, empty for an unknown class
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getSubclassesByClass(String theClassId) throws SQLException {
+        return snapshot().mySubclassesByClass.getOrDefault(theClassId, List.of());
+    }
+
+    /**
+     * Gets every class with its subclasses.
+     *
+     * @return map from class ID to subclass IDs, both ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public Map<String, List<String>> getSubclassHierarchy() throws SQLException {
+        return snapshot().mySubclassesByClass;
+    }
+
+    /**
+     * Gets all species names.
+     *
+     * @return species IDs ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getSpecies() throws SQLException {
+        return snapshot().mySpecies;
+    }
+
+    /**
+     * Gets all subspecies names.
+     *
+     * @return subspecies IDs ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getSubspecies() throws SQLException {
+        return snapshot().mySubspecies;
+    }
+
+    /**
+     * Gets the subspecies of a species.
+     *
+     * @param theSpeciesId the species to get subspecies for
+     * @return subspecies IDs ordered alphabetically, empty for an unknown species
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getSubspeciesBySpecies(String theSpeciesId) throws SQLException {
+        return snapshot().mySubspeciesBySpecies.getOrDefault(theSpeciesId, List.of());
+    }
+
+    /**
+     * Gets every species with its subspecies.
+     *
+     * @return map from species ID to subspecies IDs, both ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public Map<String, List<String>> getSubspeciesHierarchy() throws SQLException {
+        return snapshot().mySubspeciesBySpecies;
+    }
+
+    /**
+     * Gets all background names.
+     *
+     * @return background IDs ordered alphabetically
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<String> getBackgrounds() throws SQLException {
+        return snapshot().myBackgrounds;
+    }
+
+    /**
+     * Gets all classes with their details.
+     *
+     * @return classes ordered by class ID
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<DnDClass> getAllClasses() throws SQLException {
+        return snapshot().myClassDetails;
+    }
+
+    /**
+     * Gets all species with their details.
+     *
+     * @return species ordered by species ID
+     * @throws SQLException if the cache is empty and loading fails
+     */
+    public List<Species> getAllSpecies() throws SQLException {
+        return snapshot().mySpeciesDetails;
+    }
+
+    /**
+     * Reloads the reference data now. Lookups keep using the previous
+     * snapshot until the new one has loaded.
+     *
+     * @throws SQLException if loading fails; the previous snapshot is kept
+     */
+    public void refresh() throws SQLException {
+        myLoadLock.lock();
+        try {
+            mySnapshot = load();
+        } finally {
+            myLoadLock.unlock();
+        }
+    }
+
+    /**
+     * Restores the snapshot saved by an earlier run, unless the cache already holds one,
+     * and starts a background check that reloads it if the database has changed since.
+     * A missing, unreadable or outdated file is ignored.
+     *
+     * @return true if the cache now holds the restored snapshot
+     */
+    public boolean restore() {
+        if (mySnapshotFile == null) {
+            return false;
+        }
+        Snapshot restored = readSnapshotFile();
+        if (restored == null) {
+            return false;
+        }
+        myLoadLock.lock();
+        try {
+            if (mySnapshot != null) {
+                return false;
+            }
+            mySnapshot = restored;
+        } finally {
+            myLoadLock.unlock();
+        }
+        System.out.println("Reference data restored from " + mySnapshotFile);
+        myRefresher.execute(this::checkForChanges);
+        return true;
+    }
+
+    /**
+     * Gets the file snapshots are saved to by default: reference-data.bin in a
+     * dungeondata folder of the user's cache directory. The
+     * {@code dungeondata.referenceData.file} system property overrides it; set it
+     * to an empty string to turn the file off.
+     *
+     * @return the snapshot file, or null if snapshots should not be saved
+     */
+    public static Path getDefaultSnapshotFile() {
+        String configured = System.getProperty("dungeondata.referenceData.file");
+        if (configured != null) {
+            return configured.isEmpty() ? null : Paths.get(configured);
+        }
+        String cacheHome = System.getenv("XDG_CACHE_HOME");
+        if (cacheHome == null || cacheHome.isEmpty()) {
+            cacheHome = System.getenv("LOCALAPPDATA");
+        }
+        Path cacheDirectory = cacheHome == null || cacheHome.isEmpty()
+                ? Paths.get(System.getProperty("user.home"), ".cache") : Paths.get(cacheHome);
+        return cacheDirectory.resolve("dungeondata").resolve("reference-data.bin");
+    }
+
+    /**
+     * Discards the cached reference data, so the next lookup loads it again.
+     */
+    public void invalidate() {
+        mySnapshot = null;
+    }
+
+    /**
+     * Gets the number of lookups answered from memory.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return myHits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to load the reference data first.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return myMisses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from memory.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of times the reference data has been loaded.
+     *
+     * @return the load count
+     */
+    public long getRefreshCount() {
+        return myRefreshes.sum();
+    }
+
+    /**
+     * Stops the background refresh checks.
+     */
+    @Override
+    public void close() {
+        myRefresher.shutdownNow();
+        System.out.printf("Reference data cache: %d hits, %d misses (%.1f%% hit rate), %d loads%n",
+                getHitCount(), getMissCount(), getHitRate() * 100, getRefreshCount());
+    }
+
+    /**
+     * Gets the current snapshot, loading one first if there is none.
+     *
+     * @return the current snapshot
+     * @throws SQLException if loading fails
+     */
+    private Snapshot snapshot() throws SQLException {
+        Snapshot snapshot = mySnapshot;
+        if (snapshot != null) {
+            myHits.increment();
+            return snapshot;
+        }
+
+        myMisses.increment();
+        myLoadLock.lock();
+        try {
+            // Another thread may have loaded it while this one waited for the lock
+            if (mySnapshot == null) {
+                mySnapshot = load();
+            }
+            return mySnapshot;
+        } finally {
+            myLoadLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the snapshot if it has outlived its TTL or the reference tables have changed.
+     * Runs on the refresher thread; failures are logged and the current snapshot is kept.
+     */
+    private void checkForChanges() {
+        Snapshot snapshot = mySnapshot;
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() - snapshot.myLoadedAtMillis >= myTtlMillis) {
+                refresh();
+            } else if (!snapshot.myFingerprint.equals(UNKNOWN_FINGERPRINT)
+                    && !snapshot.myFingerprint.equals(myLookupDAO.getReferenceDataFingerprint())) {
+                System.out.println("Reference data changed, reloading");
+                refresh();
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not refresh reference data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads every reference table into a new snapshot. If the fingerprint cannot be
+     * computed (the query relies on MySQL functions) the snapshot is still loaded, with
+     * an unknown fingerprint, and is then only reloaded once its TTL expires.
+     *
+     * @return the new snapshot
+     * @throws SQLException if any query fails
+     */
+    private Snapshot load() throws SQLException {
+        // Taken first, so a change made while loading is seen by the next check
+        String fingerprint;
+        try {
+            fingerprint = myLookupDAO.getReferenceDataFingerprint();
+        } catch (SQLException e) {
+            System.err.println("Could not fingerprint reference data, reloading on TTL only: "
+                    + e.getMessage());
+            fingerprint = UNKNOWN_FINGERPRINT;
+        }
+
+        List<DnDClass> classDetails = myLookupDAO.getAllClasses();
+        List<Species> speciesDetails = myLookupDAO.getAllSpecies();
+        Map<String, List<String>> subclassesByClass = myLookupDAO.getSubclassHierarchy();
+        Map<String, List<String>> subspeciesBySpecies = myLookupDAO.getSubspeciesHierarchy();
+
+        Snapshot snapshot = Snapshot.of(fingerprint, classDetails, speciesDetails,
+                subclassesByClass, subspeciesBySpecies, myLookupDAO.getBackgrounds());
+        myRefreshes.increment();
+        if (mySnapshotFile != null) {
+            myRefresher.execute(() -> writeSnapshotFile(snapshot));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Saves a snapshot to the snapshot file. The file is written under a temporary
+     * name and renamed into place, so a reader never sees a partly written file.
+     * Runs on the refresher thread; failures are logged.
+     *
+     * @param theSnapshot the snapshot to save
+     */
+    private void writeSnapshotFile(Snapshot theSnapshot) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream body = new DataOutputStream(bytes);
+            writeString(body, theSnapshot.myFingerprint);
+            body.writeInt(theSnapshot.myClassDetails.size());
+            for (DnDClass dndClass : theSnapshot.myClassDetails) {
+                writeString(body, dndClass.getClassId());
+                writeString(body, dndClass.getClassSummary());
+                writeString(body, dndClass.getCastingStat());
+                writeString(body, dndClass.getPrimaryStat());
+                writeString(body, dndClass.getSecondaryStat());
+            }
+            body.writeInt(theSnapshot.mySpeciesDetails.size());
+            for (Species species : theSnapshot.mySpeciesDetails) {
+                writeString(body, species.getSpeciesId());
+                writeString(body, species.getSpeciesSize());
+                writeString(body, species.getSpeciesSummary());
+            }
+            writeHierarchy(body, theSnapshot.mySubclassesByClass);
+            writeHierarchy(body, theSnapshot.mySubspeciesBySpecies);
+            writeStrings(body, theSnapshot.myBackgrounds);
+            body.flush();
+
+            byte[] bodyBytes = bytes.toByteArray();
+            CRC32 checksum = new CRC32();
+            checksum.update(bodyBytes);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE)
+                    .putInt(FILE_MAGIC)
+                    .putInt(FILE_VERSION)
+                    .putInt(bodyBytes.length)
+                    .putInt((int) checksum.getValue())
+                    .flip();
+
+            Files.createDirectories(mySnapshotFile.getParent());
+            Path partFile = mySnapshotFile.resolveSibling(mySnapshotFile.getFileName() + ".part");
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer[] buffers = {header, ByteBuffer.wrap(bodyBytes)};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+            }
+            Files.move(partFile, mySnapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save reference data to " + mySnapshotFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the snapshot file into a heap buffer. The file is not memory-mapped: a mapping
+     * stays open until it is garbage collected, and on Windows a mapped file cannot be
+     * replaced, so the next {@link #writeSnapshotFile(Snapshot)} would fail.
+     *
+     * @return the saved snapshot, or null if there is no usable file
+     */
+    private Snapshot readSnapshotFile() {
+        try (FileChannel channel = FileChannel.open(mySnapshotFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FILE_HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Wrong size");
+            }
+            ByteBuffer file = ByteBuffer.allocate((int) size);
+            while (file.hasRemaining()) {
+                if (channel.read(file) < 0) {
+                    throw new IOException("File is truncated");
+                }
+            }
+            file.flip();
+            if (file.getInt() != FILE_MAGIC) {
+                throw new IOException("Not a reference data file");
+            }
+            if (file.getInt() != FILE_VERSION) {
+                return null;
+            }
+            int length = file.getInt();
+            int expectedChecksum = file.getInt();
+            if (length != file.remaining()) {
+                throw new IOException("File is truncated");
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(file.slice());
+            if ((int) checksum.getValue() != expectedChecksum) {
+                throw new IOException("Checksum does not match");
+            }
+
+            String fingerprint = readString(file);
+            List<DnDClass> classDetails = new ArrayList<>();
+            for (int i = file.getInt(); i > 0; i--) {
+                classDetails.add(new DnDClass(readString(file), readString(file), readString(file),
+                        readString(file), readString(file)));
+            }
+            List<Species> speciesDetails = new ArrayList<>();
+            for (int i = file.getInt(); i > 0; i--) {
+                speciesDetails.add(new Species(readString(file), readString(file), readString(file)));
+            }
+            Map<String, List<String>> subclassesByClass = readHierarchy(file);
+            Map<String, List<String>> subspeciesBySpecies = readHierarchy(file);
+            List<String> backgrounds = readStrings(file);
+
+            return Snapshot.of(fingerprint, classDetails, speciesDetails,
+                    subclassesByClass, subspeciesBySpecies, backgrounds);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable reference data file " + mySnapshotFile + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes, or a length of -1 for null.
+     *
+     * @param theOut the destination
+     * @param theValue the string, possibly null
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream theOut, String theValue) throws IOException {
+        if (theValue == null) {
+            theOut.writeInt(-1);
+            return;
+        }
+        byte[] bytes = theValue.getBytes(StandardCharsets.UTF_8);
+        theOut.writeInt(bytes.length);
+        theOut.write(bytes);
+    }
+
+    /**
+     * Writes a list of strings preceded by its size.
+     *
+     * @param theOut the destination
+     * @param theValues the strings
+     * @throws IOException if writing fails
+     */
+    private static void writeStrings(DataOutputStream theOut, List<String> theValues) throws IOException {
+        theOut.writeInt(theValues.size());
+        for (String value : theValues) {
+            writeString(theOut, value);
+        }
+    }
+
+    /**
+     * Writes a parent-to-children map preceded by its number of parents.
+     *
+     * @param theOut the destination
+     * @param theHierarchy the map
+     * @throws IOException if writing fails
+     */
+    private static void writeHierarchy(DataOutputStream theOut, Map<String, List<String>> theHierarchy)
+            throws IOException {
+        theOut.writeInt(theHierarchy.size());
+        for (Map.Entry<String, List<String>> entry : theHierarchy.entrySet()) {
+            writeString(theOut, entry.getKey());
+            writeStrings(theOut, entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param theIn the buffer to read from
+     * @return the string, possibly null
+     */
+    private static String readString(ByteBuffer theIn) {
+        int length = theIn.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > theIn.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        theIn.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a list written by {@link #writeStrings(DataOutputStream, List)}.
+     *
+     * @param theIn the buffer to read from
+     * @return the strings
+     */
+    private static List<String> readStrings(ByteBuffer theIn) {
+        List<String> values = new ArrayList<>();
+        for (int i = theIn.getInt(); i > 0; i--) {
+            values.add(readString(theIn));
+        }
+        return values;
+    }
+
+    /**
+     * Reads a map written by {@link #writeHierarchy(DataOutputStream, Map)}.
+     *
+     * @param theIn the buffer to read from
+     * @return the parent-to-children map, in the order it was written
+     */
+    private static Map<String, List<String>> readHierarchy(ByteBuffer theIn) {
+        Map<String, List<String>> hierarchy = new LinkedHashMap<>();
+        for (int i = theIn.getInt(); i > 0; i--) {
+            hierarchy.put(readString(theIn), readStrings(theIn));
+        }
+        return hierarchy;
+    }
+
+    /**
+     * An immutable copy of the reference tables taken at one point in time.
+     */
+    private static final class Snapshot {
+        private final String myFingerprint;
+        private final long myLoadedAtMillis;
+        private final List<String> myClasses;
+        private final List<String> mySubclasses;
+        private final List<String> mySpecies;
+        private final List<String> mySubspecies;
+        private final List<String> myBackgrounds;
+        private final List<DnDClass> myClassDetails;
+        private final List<Species> mySpeciesDetails;
+        private final Map<String, List<String>> mySubclassesByClass;
+        private final Map<String, List<String>> mySubspeciesBySpecies;
+
+        /**
+         * Constructs a snapshot, copying every collection so it cannot change afterwards.
+         *
+         * @param theFingerprint the reference data fingerprint taken before loading
+         * @param theClasses the class IDs
+         * @param theSubclasses the subclass IDs
+         * @param theSpecies the species IDs
+         * @param theSubspecies the subspecies IDs
+         * @param theBackgrounds the background IDs
+         * @param theClassDetails the classes with their details
+         * @param theSpeciesDetails the species with their details
+         * @param theSubclassesByClass the subclass IDs of each class
+         * @param theSubspeciesBySpecies the subspecies IDs of each species
+         */
+        private Snapshot(String theFingerprint, List<String> theClasses, List<String> theSubclasses,
+                         List<String> theSpecies, List<String> theSubspecies, List<String> theBackgrounds,
+                         List<DnDClass> theClassDetails, List<Species> theSpeciesDetails,
+                         Map<String, List<String>> theSubclassesByClass,
+                         Map<String, List<String>> theSubspeciesBySpecies) {
+            myFingerprint = theFingerprint;
+            myLoadedAtMillis = System.currentTimeMillis();
+            myClasses = List.copyOf(theClasses);
+            mySubclasses = List.copyOf(theSubclasses);
+            mySpecies = List.copyOf(theSpecies);
+            mySubspecies = List.copyOf(theSubspecies);
+            myBackgrounds = List.copyOf(theBackgrounds);
+            myClassDetails = List.copyOf(theClassDetails);
+            mySpeciesDetails = List.copyOf(theSpeciesDetails);
+            mySubclassesByClass = copyHierarchy(theSubclassesByClass);
+            mySubspeciesBySpecies = copyHierarchy(theSubspeciesBySpecies);
+        }
+
+        /**
+         * Creates a snapshot from the reference tables, deriving the ID lists from them.
+         *
+         * @param theFingerprint the reference data fingerprint taken before loading
+         * @param theClassDetails the classes with their details
+         * @param theSpeciesDetails the species with their details
+         * @param theSubclassesByClass the subclass IDs of each class
+         * @param theSubspeciesBySpecies the subspecies IDs of each species
+         * @param theBackgrounds the background IDs
+         * @return the snapshot
+         */
+        private static Snapshot of(String theFingerprint, List<DnDClass> theClassDetails,
+                                   List<Species> theSpeciesDetails,
+                                   Map<String, List<String>> theSubclassesByClass,
+                                   Map<String, List<String>> theSubspeciesBySpecies,
+                                   List<String> theBackgrounds) {
+            return new Snapshot(theFingerprint,
+                    theClassDetails.stream().map(DnDClass::getClassId).toList(),
+                    theSubclassesByClass.values().stream().flatMap(List::stream).sorted().toList(),
+                    theSpeciesDetails.stream().map(Species::getSpeciesId).toList(),
+                    theSubspeciesBySpecies.values().stream().flatMap(List::stream).sorted().toList(),
+                    theBackgrounds, theClassDetails, theSpeciesDetails, theSubclassesByClass, theSubspeciesBySpecies);
+        }
+
+        /**
+         * Copies a parent-to-children map into an unmodifiable one that keeps its order.
+         *
+         * @param theHierarchy the map to copy
+         * @return the unmodifiable copy
+         */
+        private static Map<String, List<String>> copyHierarchy(Map<String, List<String>> theHierarchy) {
+            Map<String, List<String>> copy = new LinkedHashMap<>();
+            theHierarchy.forEach((theParent, theChildren) -> copy.put(theParent, List.copyOf(theChildren)));
+            return Collections.unmodifiableMap(copy);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
-import java.util.Map;
-import java.util.Vector;
-import java.util.List;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Locale;
 
 /**
  * Report generation view for displaying various database reports.
@@ -17,8 +17,10 @@ public class ReportView extends JPanel {
     private DnDController myController;
     private DnDMainView myMainView;
     private JTable myResultsTable;
-    private DefaultTableModel myTableModel;
+    private ResultTableModel myTableModel;
     private JLabel myReportTitleLabel;
+    private BackgroundLoader myLoader;
+    private ReportDAO.Report myDisplayedReport;
 
     /**
      * Constructs a ReportView with the specified controller and main view.
@@ -29,6 +31,7 @@ public class ReportView extends JPanel {
     public ReportView(DnDController theController, DnDMainView theMainView) {
         myController = theController;
         myMainView = theMainView;
+        myLoader = new BackgroundLoader(myMainView, this);
         initializeComponents();
         setupLayout();
     }
@@ -37,7 +40,8 @@ public class ReportView extends JPanel {
      * Initializes GUI components.
      */
     private void initializeComponents() {
-        myResultsTable = new JTable();
+        myTableModel = new ResultTableModel();
+        myResultsTable = new JTable(myTableModel);
         myResultsTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
         myReportTitleLabel = new JLabel("Select a report to run", JLabel.CENTER);
         myReportTitleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
@@ -52,32 +56,12 @@ public class ReportView extends JPanel {
         JPanel buttonPanel = new JPanel(new GridLayout(0, 2, 10, 10));
         buttonPanel.setBorder(BorderFactory.createTitledBorder("Available Reports"));
 
-        JButton[] reportButtons = {
-                new JButton("Characters by Class & Campaign"),
-                new JButton("Classes with Most Subclasses"),
-                new JButton("Above Average Level by Species"),
-                new JButton("All Players and Characters"),
-                new JButton("Popular Settings & Military"),
-                new JButton("Character Species & Size"),
-                new JButton("Player Character Counts"),
-                new JButton("Campaign Participation"),
-                new JButton("Class Distribution"),
-                new JButton("Character Ability Modifiers")
-        };
-
-        reportButtons[0].addActionListener(e -> runCharactersByClassReport());
-        reportButtons[1].addActionListener(e -> runClassesWithMostSubclassesReport());
-        reportButtons[2].addActionListener(e -> runAboveAverageLevelReport());
-        reportButtons[3].addActionListener(e -> runAllPlayersAndCharactersReport());
-        reportButtons[4].addActionListener(e -> runPopularSettingsAndMilitaryReport());
-        reportButtons[5].addActionListener(e -> runCharacterSpeciesAndSizeReport());
-        reportButtons[6].addActionListener(e -> runPlayerCharacterCountsReport());
-        reportButtons[7].addActionListener(e -> runCampaignParticipationReport());
-        reportButtons[8].addActionListener(e -> runClassDistributionReport());
-        reportButtons[9].addActionListener(e -> runAbilityModifiersReport());
-
-        for (JButton button : reportButtons) {
-            buttonPanel.add(button);
+        for (ReportDAO.Report report : ReportDAO.Report.values()) {
+            if (!report.isExportOnly()) {
+                JButton button = new JButton(report.getLabel());
+                button.addActionListener(e -> runReport(report));
+                buttonPanel.add(button);
+            }
         }
 
         JPanel resultsPanel = new JPanel(new BorderLayout());
@@ -87,6 +71,12 @@ public class ReportView extends JPanel {
         scrollPane.setBorder(BorderFactory.createTitledBorder("Report Results"));
         resultsPanel.add(scrollPane, BorderLayout.CENTER);
 
+        JPanel exportPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton exportBtn = new JButton("Export...");
+        exportBtn.addActionListener(e -> exportReport());
+        exportPanel.add(exportBtn);
+        resultsPanel.add(exportPanel, BorderLayout.SOUTH);
+
         add(buttonPanel, BorderLayout.NORTH);
         add(resultsPanel, BorderLayout.CENTER);
     }
@@ -95,185 +85,81 @@ public class ReportView extends JPanel {
      * Refreshes the report view by clearing current results.
      */
     public void refreshData() {
-        if (myTableModel != null) {
-            myTableModel.setRowCount(0);
-        }
+        myLoader.cancel();
+        myTableModel.setResultTable(ResultTable.empty());
+        myDisplayedReport = null;
         myReportTitleLabel.setText("Select a report to run");
         myMainView.showInfoMessage("Reports cleared - select a report to run");
     }
 
     /**
-     * Generates and displays the characters by class and campaign report.
-     */
-    private void runCharactersByClassReport() {
-        try {
-            myMainView.showInfoMessage("Generating Characters by Class & Campaign report...");
-            List<Map<String, Object>> results = myController.getCharactersByClassAndCampaign();
-            displayResults(results, "Characters by Class & Campaign");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Characters by Class report: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Generates and displays the classes with most subclasses report.
-     */
-    private void runClassesWithMostSubclassesReport() {
-        try {
-            myMainView.showInfoMessage("Generating Classes with Most Subclasses report...");
-            List<Map<String, Object>> results = myController.getClassesWithMostSubclasses();
-            displayResults(results, "Classes with Most Subclasses");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Classes with Most Subclasses report: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Generates and displays the above average level by species report.
-     */
-    private void runAboveAverageLevelReport() {
-        try {
-            myMainView.showInfoMessage("Generating Above Average Level by Species report...");
-            List<Map<String, Object>> results = myController.getAboveAverageLevelBySpecies();
-            displayResults(results, "Characters Above Average Level by Species");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Above Average Level report: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Generates and displays the all players and characters report.
-     */
-    private void runAllPlayersAndCharactersReport() {
-        try {
-            myMainView.showInfoMessage("Generating All Players and Characters report...");
-            List<Map<String, Object>> results = myController.getAllPlayersAndCharacters();
-            displayResults(results, "All Players and Characters");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate All Players and Characters report: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Generates and displays the popular settings and military report.
-     */
-    private void runPopularSettingsAndMilitaryReport() {
-        try {
-            myMainView.showInfoMessage("Generating Popular Settings & Military Background report...");
-            List<Map<String, Object>> results = myController.getPopularSettingsAndMilitary();
-            displayResults(results, "Popular Settings & Military Background");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Popular Settings & Military report: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Generates and displays the character species and size report.
+     * Runs a report in the background and displays its results when it completes.
+     * A report that is still running is cancelled and replaced.
+     *
+     * @param theReport the report to run
      */
-    private void runCharacterSpeciesAndSizeReport() {
-        try {
-            myMainView.showInfoMessage("Generating Character Species & Size report...");
-            List<Map<String, Object>> results = myController.getCharacterSpeciesAndSize();
-            displayResults(results, "Character Species & Size");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Character Species & Size report: " + e.getMessage());
-        }
+    private void runReport(ReportDAO.Report theReport) {
+        String progressMessage = "Generating " + theReport.getTitle() + " report...";
+        myMainView.showInfoMessage(progressMessage);
+        myLoader.load(progressMessage,
+                () -> myController.getAsyncController().runReportAsync(theReport),
+                theResults -> {
+                    myDisplayedReport = theReport;
+                    displayResults(theResults, theReport.getTitle());
+                },
+                theError -> myMainView.showErrorMessage("Failed to generate " + theReport.getTitle() + " report: "
+                        + theError.getMessage()));
     }
 
     /**
-     * Generates and displays the player character counts report.
+     * Displays the report results in the table.
+     *
+     * @param theResults the report rows
+     * @param theTitle the report title
      */
-    private void runPlayerCharacterCountsReport() {
-        try {
-            myMainView.showInfoMessage("Generating Player Character Counts report...");
-            List<Map<String, Object>> results = myController.getPlayerCharacterCounts();
-            displayResults(results, "Player Character Counts");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Player Character Counts report: " + e.getMessage());
-        }
-    }
+    private void displayResults(ResultTable theResults, String theTitle) {
+        myReportTitleLabel.setText(theTitle);
+        myTableModel.setResultTable(theResults);
 
-    /**
-     * Generates and displays the campaign participation report.
-     */
-    private void runCampaignParticipationReport() {
-        try {
-            myMainView.showInfoMessage("Generating Campaign Participation report...");
-            List<Map<String, Object>> results = myController.getCampaignParticipation();
-            displayResults(results, "Campaign Participation Statistics");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Campaign Participation report: " + e.getMessage());
+        if (theResults.isEmpty()) {
+            myMainView.showWarningMessage("No results found for " + theTitle);
+            return;
         }
-    }
 
-    /**
-     * Generates and displays the class distribution report.
-     */
-    private void runClassDistributionReport() {
-        try {
-            myMainView.showInfoMessage("Generating Class Distribution report...");
-            List<Map<String, Object>> results = myController.getClassDistribution();
-            displayResults(results, "Class Distribution Analysis");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Class Distribution report: " + e.getMessage());
-        }
+        myResultsTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+        myMainView.showSuccessMessage(theTitle + " generated successfully - " + theResults.getRowCount() + " results found");
     }
 
     /**
-     * Generates and displays the character ability modifiers report.
+     * Exports a report to a CSV or NDJSON file chosen by the user. The rows are
+     * streamed from the database to the file, so reports of any size can be exported.
+     * The report shown in the table is offered first.
      */
-    private void runAbilityModifiersReport() {
-        try {
-            myMainView.showInfoMessage("Generating Character Ability Modifiers report...");
-            List<Map<String, Object>> results = myController.getCharacterAbilityModifiers();
-            displayResults(results, "Character Ability Modifiers");
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Failed to generate Ability Modifiers report: " + e.getMessage());
+    private void exportReport() {
+        ReportDAO.Report report = (ReportDAO.Report) JOptionPane.showInputDialog(this,
+                "Report to export:",
+                "Export Report",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                ReportDAO.Report.values(),
+                myDisplayedReport != null ? myDisplayedReport : ReportDAO.Report.ALL_CHARACTERS);
+        if (report == null) {
+            return;
         }
-    }
-
-    /**
-     * Displays the report results in the table.
-     *
-     * @param theResults the data to display
-     * @param theTitle the report title
-     */
-    private void displayResults(List<Map<String, Object>> theResults, String theTitle) {
-        try {
-            myReportTitleLabel.setText(theTitle);
-
-            if (theResults.isEmpty()) {
-                myTableModel = new DefaultTableModel();
-                myResultsTable.setModel(myTableModel);
-                myMainView.showWarningMessage("No results found for " + theTitle);
-                return;
-            }
-
-            Map<String, Object> firstResult = theResults.get(0);
-            Vector<String> columnNames = new Vector<>(firstResult.keySet());
-
-            Vector<Vector<Object>> data = new Vector<>();
-            for (Map<String, Object> result : theResults) {
-                Vector<Object> row = new Vector<>();
-                for (String columnName : columnNames) {
-                    row.add(result.get(columnName));
-                }
-                data.add(row);
-            }
-
-            myTableModel = new DefaultTableModel(data, columnNames) {
-                @Override
-                public boolean isCellEditable(int theRow, int theColumn) {
-                    return false;
-                }
-            };
-            myResultsTable.setModel(myTableModel);
-            myResultsTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-
-            myMainView.showSuccessMessage(theTitle + " generated successfully - " + theResults.size() + " results found");
 
-        } catch (Exception e) {
-            myMainView.showErrorMessage("Error displaying report results: " + e.getMessage());
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV or NDJSON files", "csv", "ndjson", "jsonl", "json"));
+        chooser.setSelectedFile(new File(report.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
         }
+        Path file = chooser.getSelectedFile().toPath();
+
+        myMainView.showInfoMessage("Exporting " + report.getTitle() + " to " + file.getFileName() + "...");
+        AsyncDnDController.onEdt(myController.getAsyncController().exportReportAsync(report, file),
+                theRows -> myMainView.showSuccessMessage(
+                        "Exported " + theRows + " rows of " + report.getTitle() + " to " + file),
+                theError -> myMainView.showErrorMessage("Failed to export " + report.getTitle() + ": "
+                        + theError.getMessage()));
     }
 }
@@ -0,0 +1,195 @@
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable tabular query result with an ordered column header.
+ * The header is read from the result set metadata once, and each row is held as
+ * a single object array in column order, so reading a result allocates one array
+ * per row instead of a map per row.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public final class ResultTable {
+    private final String[] myColumnNames;
+    private final Class<?>[] myColumnClasses;
+    private final List<Object[]> myRows;
+
+    /**
+     * Constructs a result table from its header and rows.
+     *
+     * @param theColumnNames the column labels in query order
+     * @param theColumnClasses the Java class of each column's values
+     * @param theRows the rows, each holding one value per column
+     */
+    private ResultTable(String[] theColumnNames, Class<?>[] theColumnClasses, List<Object[]> theRows) {
+        myColumnNames = theColumnNames;
+        myColumnClasses = theColumnClasses;
+        myRows = theRows;
+    }
+
+    /**
+     * Creates a result table with no columns and no rows.
+     *
+     * @return an empty result table
+     */
+    public static ResultTable empty() {
+        return new ResultTable(new String[0], new Class<?>[0], List.of());
+    }
+
+    /**
+     * Reads every remaining row of a result set into a new result table.
+     * Columns are named by their labels, so SQL aliases are kept.
+     *
+     * @param theResults the result set positioned before its first row
+     * @return the result table
+     * @throws SQLException if reading the result set fails
+     */
+    public static ResultTable from(ResultSet theResults) throws SQLException {
+        ResultSetMetaData metaData = theResults.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        String[] columnNames = new String[columnCount];
+        Class<?>[] columnClasses = new Class<?>[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = metaData.getColumnLabel(i + 1);
+            columnClasses[i] = loadColumnClass(metaData.getColumnClassName(i + 1));
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        while (theResults.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = theResults.getObject(i + 1);
+            }
+            rows.add(row);
+        }
+        return new ResultTable(columnNames, columnClasses, rows);
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the column count
+     */
+    public int getColumnCount() {
+        return myColumnNames.length;
+    }
+
+    /**
+     * Gets a column's label.
+     *
+     * @param theColumn the zero-based column index
+     * @return the column label
+     */
+    public String getColumnName(int theColumn) {
+        return myColumnNames[theColumn];
+    }
+
+    /**
+     * Gets the column labels in query order.
+     *
+     * @return the column labels
+     */
+    public List<String> getColumnNames() {
+        return List.of(myColumnNames);
+    }
+
+    /**
+     * Gets the Java class of a column's values, as reported by the driver.
+     *
+     * @param theColumn the zero-based column index
+     * @return the column class, or Object if the driver's class is not available
+     */
+    public Class<?> getColumnClass(int theColumn) {
+        return myColumnClasses[theColumn];
+    }
+
+    /**
+     * Finds a column by label, ignoring case.
+     *
+     * @param theColumnName the column label
+     * @return the zero-based column index, or -1 if there is no such column
+     */
+    public int getColumnIndex(String theColumnName) {
+        for (int i = 0; i < myColumnNames.length; i++) {
+            if (myColumnNames[i].equalsIgnoreCase(theColumnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return myRows.size();
+    }
+
+    /**
+     * Checks whether the result has no rows.
+     *
+     * @return true if there are no rows
+     */
+    public boolean isEmpty() {
+        return myRows.isEmpty();
+    }
+
+    /**
+     * Gets a single value.
+     *
+     * @param theRow the zero-based row index
+     * @param theColumn the zero-based column index
+     * @return the value, possibly null
+     */
+    public Object getValue(int theRow, int theColumn) {
+        return myRows.get(theRow)[theColumn];
+    }
+
+    /**
+     * Gets a copy of one row's values in column order.
+     *
+     * @param theRow the zero-based row index
+     * @return the row values
+     */
+    public Object[] getRow(int theRow) {
+        return Arrays.copyOf(myRows.get(theRow), myColumnNames.length);
+    }
+
+    /**
+     * Checks whether a row holds the same values as a row of another result.
+     *
+     * @param theRow the zero-based row index in this result
+     * @param theOther the other result
+     * @param theOtherRow the zero-based row index in the other result
+     * @return true if both rows have equal values in every column
+     */
+    public boolean rowEquals(int theRow, ResultTable theOther, int theOtherRow) {
+        return Arrays.equals(myRows.get(theRow), theOther.myRows.get(theOtherRow));
+    }
+
+    /**
+     * Resolves the class name reported for a column.
+     *
+     * @param theClassName the fully qualified class name, possibly null
+     * @return the class, or Object if it cannot be loaded
+     */
+    private static Class<?> loadColumnClass(String theClassName) {
+        if (theClassName == null) {
+            return Object.class;
+        }
+        try {
+            return Class.forName(theClassName, false, ResultTable.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Object.class;
+        }
+    }
+}
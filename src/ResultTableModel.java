@@ -0,0 +1,103 @@
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Read-only table model that displays a {@link ResultTable} directly,
+ * without copying its rows. The model can be reused for a new result: when the
+ * columns are unchanged, only rows whose values differ are reported as changed,
+ * so the table keeps its column layout, selection and scroll position.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class ResultTableModel extends AbstractTableModel {
+    private ResultTable myTable;
+
+    /**
+     * Constructs a table model over a query result.
+     *
+     * @param theTable the result to display
+     */
+    public ResultTableModel(ResultTable theTable) {
+        myTable = theTable;
+    }
+
+    /**
+     * Constructs a table model with no columns or rows.
+     */
+    public ResultTableModel() {
+        this(ResultTable.empty());
+    }
+
+    /**
+     * Displays a new result. Rows are compared by position: changed rows fire
+     * update events and extra or missing rows at the end fire insert or delete events.
+     * A result with different columns replaces the table structure.
+     *
+     * @param theTable the result to display
+     */
+    public void setResultTable(ResultTable theTable) {
+        ResultTable old = myTable;
+        myTable = theTable;
+
+        if (!old.getColumnNames().equals(theTable.getColumnNames())) {
+            fireTableStructureChanged();
+            return;
+        }
+
+        int common = Math.min(old.getRowCount(), theTable.getRowCount());
+        int firstChanged = -1;
+        int lastChanged = -1;
+        for (int i = 0; i < common; i++) {
+            if (!old.rowEquals(i, theTable, i)) {
+                if (firstChanged < 0) {
+                    firstChanged = i;
+                }
+                lastChanged = i;
+            }
+        }
+        if (firstChanged >= 0) {
+            fireTableRowsUpdated(firstChanged, lastChanged);
+        }
+
+        if (theTable.getRowCount() > common) {
+            fireTableRowsInserted(common, theTable.getRowCount() - 1);
+        } else if (old.getRowCount() > common) {
+            fireTableRowsDeleted(common, old.getRowCount() - 1);
+        }
+    }
+
+    /**
+     * Gets the result this model displays.
+     *
+     * @return the result table
+     */
+    public ResultTable getResultTable() {
+        return myTable;
+    }
+
+    @Override
+    public int getRowCount() {
+        return myTable.getRowCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return myTable.getColumnCount();
+    }
+
+    @Override
+    public String getColumnName(int theColumn) {
+        return myTable.getColumnName(theColumn);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int theColumn) {
+        return myTable.getColumnClass(theColumn);
+    }
+
+    @Override
+    public Object getValueAt(int theRow, int theColumn) {
+        return myTable.getValue(theRow, theColumn);
+    }
+}
@@ -0,0 +1,446 @@
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates and upgrades the database schema with numbered migrations, and checks that
+ * the indexes the DAOs rely on exist. The version a database has reached is kept in
+ * its {@code schema_version} table, with one row per migration applied; migrations
+ * after that version are applied in order when {@link #migrate()} runs.
+ *
+ * <p>Version 1 creates the tables if they do not exist, so it is harmless on a
+ * database that was set up by hand. Version 2 indexes the columns the DAOs filter
+ * and join on: a character's player, campaign, subclass and subspecies, and the
+ * parent of each subclass and subspecies. An index is only created when no existing
+ * index starts with the same columns, so indexes MySQL already made for foreign keys
+ * are used as they are. Every migration can safely be run again if it fails partway.
+ *
+ * <p>{@link #checkIndexes()} compares the live indexes, read from
+ * {@code information_schema.STATISTICS}, with the expected ones and warns about any
+ * that are missing. Databases without that table, such as H2, are read through the
+ * JDBC driver's metadata instead.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class SchemaMigrator {
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INT PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                installed_on TIMESTAMP NOT NULL,
+                execution_ms BIGINT NOT NULL
+            )
+            """;
+    private static final String INDEX_QUERY = """
+            SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE()
+            ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX
+            """;
+
+    private static final List<String> CREATE_TABLES = List.of("""
+            CREATE TABLE IF NOT EXISTS class (
+                class_id VARCHAR(50) PRIMARY KEY,
+                class_summary TEXT,
+                casting_stat VARCHAR(20),
+                primary_stat VARCHAR(20),
+                secondary_stat VARCHAR(20)
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS subclass (
+                subclass_id VARCHAR(50) PRIMARY KEY,
+                class_id VARCHAR(50) NOT NULL,
+                FOREIGN KEY (class_id) REFERENCES class (class_id)
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS species (
+                species_id VARCHAR(50) PRIMARY KEY,
+                species_size VARCHAR(20),
+                species_summary TEXT
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS subspecies (
+                subspecies_id VARCHAR(50) PRIMARY KEY,
+                species_id VARCHAR(50) NOT NULL,
+                FOREIGN KEY (species_id) REFERENCES species (species_id)
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS background (
+                bg_id VARCHAR(50) PRIMARY KEY
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS player (
+                player_id INT PRIMARY KEY,
+                fname VARCHAR(50),
+                lname VARCHAR(50),
+                pref_contact VARCHAR(20),
+                contact_info VARCHAR(100),
+                time_zone VARCHAR(10)
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS game (
+                game_id VARCHAR(50) PRIMARY KEY,
+                setting VARCHAR(50),
+                synopsis TEXT,
+                meeting_time DATETIME
+            ) ENGINE = InnoDB
+            """, """
+            CREATE TABLE IF NOT EXISTS characters (
+                char_id VARCHAR(50) PRIMARY KEY,
+                lvl INT NOT NULL,
+                subclass_id VARCHAR(50),
+                subspecies_id VARCHAR(50),
+                bg_id VARCHAR(50),
+                player_id INT,
+                game_id VARCHAR(50),
+                s_str INT,
+                s_dex INT,
+                s_con INT,
+                s_int INT,
+                s_wis INT,
+                s_cha INT,
+                FOREIGN KEY (subclass_id) REFERENCES subclass (subclass_id),
+                FOREIGN KEY (subspecies_id) REFERENCES subspecies (subspecies_id),
+                FOREIGN KEY (bg_id) REFERENCES background (bg_id),
+                FOREIGN KEY (player_id) REFERENCES player (player_id),
+                FOREIGN KEY (game_id) REFERENCES game (game_id)
+            ) ENGINE = InnoDB
+            """);
+
+    /**
+     * The indexes the DAOs' queries need, in the order they are created.
+     */
+    private static final List<Index> INDEXES = List.of(
+            // Characters of a player, and whether a player may be deleted
+            new Index("idx_characters_player", "characters", "player_id"),
+            // Campaign reports
+            new Index("idx_characters_game", "characters", "game_id"),
+            // Class reports, joining characters through their subclass
+            new Index("idx_characters_subclass", "characters", "subclass_id"),
+            // Species reports; the level lets the average level per species be read from the index alone
+            new Index("idx_characters_subspecies_lvl", "characters", "subspecies_id", "lvl"),
+            // Subclasses of a class
+            new Index("idx_subclass_class", "subclass", "class_id"),
+            // Subspecies of a species
+            new Index("idx_subspecies_species", "subspecies", "species_id"));
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create tables", theConnection -> {
+                try (Statement stmt = theConnection.createStatement()) {
+                    for (String table : CREATE_TABLES) {
+                        stmt.execute(table);
+                    }
+                }
+            }),
+            new Migration(2, "Index the columns the DAOs filter and join on", theConnection -> {
+                Map<String, List<List<String>>> existing = readIndexes(theConnection);
+                try (Statement stmt = theConnection.createStatement()) {
+                    for (Index index : INDEXES) {
+                        if (!index.isCoveredBy(existing)) {
+                            stmt.execute("CREATE INDEX " + index.myName + " ON " + index.myTable
+                                    + " (" + String.join(", ", index.myColumns) + ")");
+                            System.out.println("Created index " + index);
+                        }
+                    }
+                }
+            }));
+
+    private final DatabaseConnection myDatabase;
+
+    /**
+     * Constructs a migrator for the application's database.
+     *
+     * @param theDatabase the database connection manager
+     */
+    public SchemaMigrator(DatabaseConnection theDatabase) {
+        myDatabase = theDatabase;
+    }
+
+    /**
+     * Gets the version the migrations in this application bring a database to.
+     *
+     * @return the latest version
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).myVersion;
+    }
+
+    /**
+     * Gets the version the database has reached.
+     *
+     * @return the version of the last migration applied, or 0 if none has been
+     * @throws SQLException if the version cannot be read
+     */
+    public int getCurrentVersion() throws SQLException {
+        try (ConnectionLease lease = myDatabase.borrowConnection()) {
+            Connection connection = lease.getConnection();
+            try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(),
+                    "schema_version", null)) {
+                if (!rs.next()) {
+                    return 0;
+                }
+            }
+            return readVersion(connection);
+        }
+    }
+
+    /**
+     * Applies, in order, every migration after the database's current version,
+     * recording each one in {@code schema_version} once it succeeds.
+     *
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; the migrations before it stay applied
+     */
+    public int migrate() throws SQLException {
+        try (ConnectionLease lease = myDatabase.borrowConnection()) {
+            Connection connection = lease.getConnection();
+            int current = readVersion(connection);
+            if (current > getLatestVersion()) {
+                System.err.println("Database schema version " + current + " is newer than this application's "
+                        + getLatestVersion() + "; it may not work as expected");
+                return 0;
+            }
+
+            int applied = 0;
+            for (Migration migration : MIGRATIONS) {
+                if (migration.myVersion <= current) {
+                    continue;
+                }
+                lease.markWrite();
+                long start = System.nanoTime();
+                migration.myStep.apply(connection);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                if (record(connection, migration, millis)) {
+                    System.out.printf("Migrated schema to version %d, %s, in %d ms%n",
+                            migration.myVersion, migration.myDescription, millis);
+                    applied++;
+                }
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Finds the expected indexes that the database lacks.
+     *
+     * @return the missing indexes, described as {@code table (columns)}; empty if none are missing
+     * @throws SQLException if the indexes cannot be read
+     */
+    public List<String> findMissingIndexes() throws SQLException {
+        Map<String, List<List<String>>> existing;
+        try (ConnectionLease lease = myDatabase.borrowReadConnection()) {
+            existing = readIndexes(lease.getConnection());
+        }
+        List<String> missing = new ArrayList<>();
+        for (Index index : INDEXES) {
+            if (!index.isCoveredBy(existing)) {
+                missing.add(index.toString());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Warns on standard error about each expected index the database lacks.
+     *
+     * @return the missing indexes, described as {@code table (columns)}; empty if none are missing
+     * @throws SQLException if the indexes cannot be read
+     */
+    public List<String> checkIndexes() throws SQLException {
+        List<String> missing = findMissingIndexes();
+        for (String index : missing) {
+            System.err.println("Missing index on " + index + "; run DnDCli migrate to create it");
+        }
+        return missing;
+    }
+
+    /**
+     * Creates the version table if needed and reads the database's version.
+     *
+     * @param theConnection the connection to use
+     * @return the highest version recorded, or 0 if none is
+     * @throws SQLException if the table cannot be created or read
+     */
+    private static int readVersion(Connection theConnection) throws SQLException {
+        try (Statement stmt = theConnection.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Records that a migration was applied.
+     *
+     * @param theConnection the connection to use
+     * @param theMigration the migration
+     * @param theMillis how long it took
+     * @return true if it was recorded, false if another client applied it at the same time and recorded it first
+     * @throws SQLException if it cannot be recorded
+     */
+    private static boolean record(Connection theConnection, Migration theMigration, long theMillis)
+            throws SQLException {
+        String query = "INSERT INTO schema_version (version, description, installed_on, execution_ms) "
+                + "VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = theConnection.prepareStatement(query)) {
+            stmt.setInt(1, theMigration.myVersion);
+            stmt.setString(2, theMigration.myDescription);
+            stmt.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(4, theMillis);
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the columns of every index on the application's tables.
+     *
+     * @param theConnection the connection to use
+     * @return for each table, in lower case, the lower-case columns of each of its indexes in index order
+     * @throws SQLException if the indexes cannot be read
+     */
+    private static Map<String, List<List<String>>> readIndexes(Connection theConnection) throws SQLException {
+        Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+        try (Statement stmt = theConnection.createStatement();
+             ResultSet rs = stmt.executeQuery(INDEX_QUERY)) {
+            while (rs.next()) {
+                addColumn(indexes, rs.getString(1), rs.getString(2), rs.getString(3));
+            }
+        } catch (SQLException e) {
+            // No information_schema.STATISTICS, as in H2, so ask the driver
+            indexes.clear();
+            DatabaseMetaData metaData = theConnection.getMetaData();
+            for (Index index : INDEXES) {
+                if (indexes.containsKey(index.myTable)) {
+                    continue;
+                }
+                try (ResultSet rs = metaData.getIndexInfo(theConnection.getCatalog(), theConnection.getSchema(),
+                        index.myTable, false, true)) {
+                    while (rs.next()) {
+                        if (rs.getString("COLUMN_NAME") != null) {
+                            addColumn(indexes, rs.getString("TABLE_NAME"), rs.getString("INDEX_NAME"),
+                                    rs.getString("COLUMN_NAME"));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, List<List<String>>> columns = new HashMap<>();
+        for (Map.Entry<String, Map<String, List<String>>> table : indexes.entrySet()) {
+            columns.put(table.getKey(), new ArrayList<>(table.getValue().values()));
+        }
+        return columns;
+    }
+
+    /**
+     * Adds the next column of an index. Columns must be added in index order.
+     *
+     * @param theIndexes the columns of each index of each table
+     * @param theTable the table
+     * @param theIndex the index name
+     * @param theColumn the column
+     */
+    private static void addColumn(Map<String, Map<String, List<String>>> theIndexes, String theTable,
+                                  String theIndex, String theColumn) {
+        theIndexes.computeIfAbsent(theTable.toLowerCase(Locale.ROOT), theKey -> new LinkedHashMap<>())
+                .computeIfAbsent(theIndex, theKey -> new ArrayList<>())
+                .add(theColumn.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Changes the schema for one migration.
+     */
+    @FunctionalInterface
+    private interface MigrationStep {
+
+        /**
+         * Applies the change.
+         *
+         * @param theConnection the connection to use
+         * @throws SQLException if the change fails
+         */
+        void apply(Connection theConnection) throws SQLException;
+    }
+
+    /**
+     * A numbered change to the schema.
+     */
+    private static final class Migration {
+        private final int myVersion;
+        private final String myDescription;
+        private final MigrationStep myStep;
+
+        /**
+         * Constructs a migration.
+         *
+         * @param theVersion the version the database reaches once it is applied
+         * @param theDescription what it changes
+         * @param theStep applies the change
+         */
+        Migration(int theVersion, String theDescription, MigrationStep theStep) {
+            myVersion = theVersion;
+            myDescription = theDescription;
+            myStep = theStep;
+        }
+    }
+
+    /**
+     * An index the DAOs' queries need.
+     */
+    private static final class Index {
+        private final String myName;
+        private final String myTable;
+        private final List<String> myColumns;
+
+        /**
+         * Constructs an index definition.
+         *
+         * @param theName the name it is created with
+         * @param theTable the table
+         * @param theColumns the columns, in index order
+         */
+        Index(String theName, String theTable, String... theColumns) {
+            myName = theName;
+            myTable = theTable;
+            myColumns = List.of(theColumns);
+        }
+
+        /**
+         * Checks whether an existing index serves the same queries, by starting with
+         * the same columns in the same order, whatever it is called.
+         *
+         * @param theExisting the columns of each existing index of each table
+         * @return true if such an index exists
+         */
+        boolean isCoveredBy(Map<String, List<List<String>>> theExisting) {
+            for (List<String> columns : theExisting.getOrDefault(myTable, List.of())) {
+                if (columns.size() >= myColumns.size() && columns.subList(0, myColumns.size()).equals(myColumns)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return myTable + " (" + String.join(", ", myColumns) + ")";
+        }
+    }
+}
@@ -0,0 +1,354 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Logs queries that take longer than a threshold, with their SQL text, bound
+ * parameters, elapsed time and row count, to a set of rolling log files.
+ * A query that takes longer than a second, higher threshold also has its plan
+ * captured with {@code EXPLAIN FORMAT=JSON} on a background connection, at most
+ * once per {@value #EXPLAIN_INTERVAL_MS} ms for the same SQL text, and the plan
+ * is written to the same log.
+ *
+ * <p>Statements are watched by wrapping the ones the {@link StatementCache} prepares
+ * in a {@link WatchedStatement}, which times each execute call. The MySQL driver reads
+ * a query's rows during that call unless the result is streamed. A slow execution
+ * inside a {@link DaoMetrics#record DAO call} is logged when the call ends, with the
+ * call's name and the rows its result holds; any other is logged straight away. The settings are the
+ * {@code dungeondata.slowQuery.*} system properties: {@code thresholdMs}
+ * (a negative value turns the log off), {@code explainMs}, {@code file} (a
+ * {@link FileHandler} pattern), {@code fileLimit} and {@code fileCount}.
+ * The log file is only created when the first slow query is seen.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public final class SlowQueryLog {
+    private static final long THRESHOLD_MS = 500;
+    private static final long EXPLAIN_THRESHOLD_MS = 2000;
+    private static final long EXPLAIN_INTERVAL_MS = 10 * 60 * 1000;
+    private static final String FILE_PATTERN = "logs/slow-queries.%g.log";
+    private static final int FILE_LIMIT = 5 * 1024 * 1024;
+    private static final int FILE_COUNT = 5;
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private static final long THRESHOLD_NANOS = toNanos(Long.getLong("dungeondata.slowQuery.thresholdMs", THRESHOLD_MS));
+    private static final long EXPLAIN_THRESHOLD_NANOS =
+            toNanos(Long.getLong("dungeondata.slowQuery.explainMs", EXPLAIN_THRESHOLD_MS));
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    private static final Map<String, Long> LAST_EXPLAINED = new ConcurrentHashMap<>();
+    // Slow executions of the DAO calls running on the current thread, logged when each call ends
+    private static final ThreadLocal<List<SlowQuery>> PENDING = ThreadLocal.withInitial(ArrayList::new);
+    private static Logger myLogger;
+    private static ExecutorService myExplainer;
+
+    /**
+     * Prevents instantiation.
+     */
+    private SlowQueryLog() {
+    }
+
+    /**
+     * Checks whether slow queries are logged.
+     *
+     * @return false if the log has been turned off
+     */
+    public static boolean isEnabled() {
+        return THRESHOLD_NANOS >= 0;
+    }
+
+    /**
+     * Checks whether an execution took long enough to be logged.
+     *
+     * @param theNanos how long the execution took
+     * @return true if the log is on and the execution reached the threshold
+     */
+    static boolean isSlow(long theNanos) {
+        return THRESHOLD_NANOS >= 0 && theNanos >= THRESHOLD_NANOS;
+    }
+
+    /**
+     * Wraps a prepared statement so that its slow executions are logged.
+     * Returns the statement unchanged if the log is turned off.
+     *
+     * @param theStatement the statement to watch
+     * @param theQuery the statement's SQL text
+     * @return the watched statement
+     */
+    public static PreparedStatement wrap(PreparedStatement theStatement, String theQuery) {
+        if (!isEnabled()) {
+            return theStatement;
+        }
+        return new WatchedStatement(theStatement, theQuery);
+    }
+
+    /**
+     * Takes a slow execution from a {@link WatchedStatement}. It is held until the DAO call
+     * running on this thread ends, or logged now if there is none.
+     *
+     * @param theQuery the SQL text
+     * @param theParameters the bound parameters by index
+     * @param theNanos how long the execution took
+     * @param theRows the rows changed, or -1 for a query or an unknown count
+     * @param theBatchSize the number of parameter sets in a batch, or 0 for a single execution
+     */
+    static void executed(String theQuery, Map<Integer, Object> theParameters, long theNanos, long theRows,
+                         int theBatchSize) {
+        SlowQuery query = new SlowQuery(theQuery, theParameters, theNanos, theRows, theBatchSize);
+        if (DaoMetrics.isRecording()) {
+            PENDING.get().add(query);
+        } else {
+            finished(query, null, -1);
+        }
+    }
+
+    /**
+     * Marks the start of a DAO call on this thread.
+     *
+     * @return the mark to pass to {@link #callFinished(int, String, long)}
+     */
+    static int callStarted() {
+        return PENDING.get().size();
+    }
+
+    /**
+     * Logs the slow executions of a DAO call that has just ended on this thread.
+     *
+     * @param theMark the mark returned when the call started
+     * @param theMethod the DAO method name
+     * @param theRows the rows in the call's result, or -1 if the call failed
+     */
+    static void callFinished(int theMark, String theMethod, long theRows) {
+        List<SlowQuery> pending = PENDING.get();
+        if (pending.size() > theMark) {
+            List<SlowQuery> finished = pending.subList(theMark, pending.size());
+            for (SlowQuery query : finished) {
+                finished(query, theMethod, theRows);
+            }
+            finished.clear();
+        }
+    }
+
+    /**
+     * Logs a slow execution and captures its plan if it was slower still.
+     *
+     * @param theQuery the execution
+     * @param theMethod the DAO method it ran in, or null if none
+     * @param theCallRows the rows in the DAO call's result, used when the execution's own count is unknown
+     */
+    private static void finished(SlowQuery theQuery, String theMethod, long theCallRows) {
+        long rows = theQuery.myRows >= 0 ? theQuery.myRows : theCallRows;
+        long id = NEXT_ID.getAndIncrement();
+        StringBuilder entry = new StringBuilder();
+        entry.append(String.format(Locale.ROOT, "Slow query #%d: %.1f ms, %s%s on %s%n",
+                id, theQuery.myNanos / 1e6, rows < 0 ? "unknown rows" : rows + " rows",
+                theMethod == null ? "" : " in " + theMethod, Thread.currentThread().getName()));
+        entry.append("  SQL: ").append(theQuery.myQuery.strip().replaceAll("\\s+", " "))
+                .append(System.lineSeparator());
+        entry.append("  Parameters: ").append(formatParameters(theQuery.myParameters));
+        if (theQuery.myBatchSize > 0) {
+            entry.append(" (last of a batch of ").append(theQuery.myBatchSize).append(')');
+        }
+        log(entry.toString());
+
+        if (theQuery.myNanos >= EXPLAIN_THRESHOLD_NANOS && theQuery.myBatchSize == 0
+                && isExplainable(theQuery.myQuery)) {
+            long now = System.currentTimeMillis();
+            // Only the thread whose atomic insert or replace succeeds runs the EXPLAIN
+            Long last = LAST_EXPLAINED.putIfAbsent(theQuery.myQuery, now);
+            if (last == null
+                    || now - last >= EXPLAIN_INTERVAL_MS && LAST_EXPLAINED.replace(theQuery.myQuery, last, now)) {
+                explainer().execute(() -> explain(id, theQuery.myQuery, theQuery.myParameters));
+            }
+        }
+    }
+
+    /**
+     * Runs {@code EXPLAIN FORMAT=JSON} for a query with the same parameters and logs the plan.
+     * Runs on the explain thread, on its own connection from the primary pool.
+     *
+     * @param theId the slow query's log entry number
+     * @param theQuery the SQL text
+     * @param theParameters the bound parameters by index
+     */
+    private static void explain(long theId, String theQuery, Map<Integer, Object> theParameters) {
+        try (ConnectionLease lease = DatabaseConnection.getInstance().getPool().borrow();
+             PreparedStatement stmt = lease.getConnection().prepareStatement("EXPLAIN FORMAT=JSON " + theQuery)) {
+            for (Map.Entry<Integer, Object> parameter : theParameters.entrySet()) {
+                stmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append(System.lineSeparator());
+                }
+            }
+            log("Plan of slow query #" + theId + ":" + System.lineSeparator() + plan.toString().strip());
+        } catch (SQLException e) {
+            log("Could not explain slow query #" + theId + ": " + e.getMessage().lines().findFirst().orElse(""));
+        }
+    }
+
+    /**
+     * Checks whether a statement is a query whose plan can be captured.
+     *
+     * @param theQuery the SQL text
+     * @return true for SELECT and WITH statements
+     */
+    private static boolean isExplainable(String theQuery) {
+        String start = theQuery.stripLeading().toUpperCase(Locale.ROOT);
+        return start.startsWith("SELECT") || start.startsWith("WITH");
+    }
+
+    /**
+     * Formats bound parameters for the log, quoting strings and shortening long values.
+     *
+     * @param theParameters the parameters by index
+     * @return the formatted parameters
+     */
+    private static String formatParameters(Map<Integer, Object> theParameters) {
+        if (theParameters.isEmpty()) {
+            return "none";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<Integer, Object> parameter : theParameters.entrySet()) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            Object value = parameter.getValue();
+            String shown = String.valueOf(value);
+            if (shown.length() > MAX_PARAMETER_LENGTH) {
+                shown = shown.substring(0, MAX_PARAMETER_LENGTH) + "...";
+            }
+            text.append(parameter.getKey()).append('=');
+            text.append(value instanceof CharSequence ? "'" + shown + "'" : shown);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes an entry to the slow query log, opening the log files on first use.
+     *
+     * @param theEntry the entry text
+     */
+    private static void log(String theEntry) {
+        Logger logger = logger();
+        if (logger != null) {
+            logger.info(theEntry);
+        }
+    }
+
+    /**
+     * Gets the slow query logger, creating it and its rolling files on first use.
+     *
+     * @return the logger, or null if the log files cannot be opened
+     */
+    private static synchronized Logger logger() {
+        if (myLogger == null) {
+            Logger logger = Logger.getLogger("dungeondata.slowQueries");
+            logger.setUseParentHandlers(false);
+            String pattern = System.getProperty("dungeondata.slowQuery.file", FILE_PATTERN);
+            try {
+                Path directory = Paths.get(pattern).toAbsolutePath().getParent();
+                if (directory != null && !pattern.startsWith("%")) {
+                    Files.createDirectories(directory);
+                }
+                FileHandler handler = new FileHandler(pattern,
+                        Integer.getInteger("dungeondata.slowQuery.fileLimit", FILE_LIMIT),
+                        Integer.getInteger("dungeondata.slowQuery.fileCount", FILE_COUNT), true);
+                handler.setFormatter(new Formatter() {
+                    @Override
+                    public String format(LogRecord theRecord) {
+                        return Instant.ofEpochMilli(theRecord.getMillis()) + " " + theRecord.getMessage()
+                                + System.lineSeparator();
+                    }
+                });
+                logger.addHandler(handler);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not open slow query log " + pattern + ": " + e.getMessage());
+                logger.setLevel(Level.OFF);
+            }
+            myLogger = logger;
+        }
+        return myLogger;
+    }
+
+    /**
+     * Gets the single background thread that captures query plans, creating it on
+     * first use. Plans that arrive while several are queued are dropped.
+     *
+     * @return the explain executor
+     */
+    private static synchronized ExecutorService explainer() {
+        if (myExplainer == null) {
+            myExplainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(16),
+                    theTask -> {
+                        Thread thread = new Thread(theTask, "slow-query-explain");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.DiscardPolicy());
+        }
+        return myExplainer;
+    }
+
+    /**
+     * Converts a threshold in milliseconds to nanoseconds, keeping a negative value negative.
+     *
+     * @param theMillis the threshold in milliseconds
+     * @return the threshold in nanoseconds
+     */
+    private static long toNanos(long theMillis) {
+        return theMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(theMillis);
+    }
+
+    /**
+     * One slow execution, waiting to be logged.
+     */
+    private static final class SlowQuery {
+        private final String myQuery;
+        private final Map<Integer, Object> myParameters;
+        private final long myNanos;
+        private final long myRows;
+        private final int myBatchSize;
+
+        /**
+         * Constructs a slow execution.
+         *
+         * @param theQuery the SQL text
+         * @param theParameters the bound parameters by index
+         * @param theNanos how long the execution took
+         * @param theRows the rows changed, or -1 if unknown
+         * @param theBatchSize the number of parameter sets in a batch, or 0 for a single execution
+         */
+        private SlowQuery(String theQuery, Map<Integer, Object> theParameters, long theNanos, long theRows,
+                          int theBatchSize) {
+            myQuery = theQuery;
+            myParameters = theParameters;
+            myNanos = theNanos;
+            myRows = theRows;
+            myBatchSize = theBatchSize;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts the slow parts of application startup in the background so they run
+ * while Swing builds and shows the main window: opening the connection pool,
+ * bringing the schema up to date with the {@link SchemaMigrator} (unless the
+ * {@code dungeondata.schema.migrate} property is false), loading the reference
+ * data cache (from the snapshot file saved by the last run when there is one),
+ * and reading the character count and the first page of characters. The pool
+ * opens alongside the migration, and the rest run at the same time once it
+ * finishes, each on its own connection. Missing indexes are then reported.
+ * Views wait on the futures this class hands out instead of querying the
+ * database themselves, and the time each task takes is recorded in the
+ * {@link StartupTimer}. The DAO metrics are registered with JMX in the background too.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class StartupOrchestrator {
+    private final StartupTimer myStartupTimer;
+    private CompletableFuture<Void> myDatabaseReady;
+    private CompletableFuture<Void> myReferenceDataReady;
+    private CompletableFuture<Integer> myCharacterCount;
+    private CompletableFuture<List<Character>> myFirstCharacterPage;
+
+    /**
+     * Constructs an orchestrator that records task timings in the given timer.
+     *
+     * @param theStartupTimer the timer that records how long startup takes
+     */
+    public StartupOrchestrator(StartupTimer theStartupTimer) {
+        myStartupTimer = theStartupTimer;
+    }
+
+    /**
+     * Starts the background tasks and returns immediately.
+     *
+     * @param theDatabase the database whose connection pool is opened
+     * @param theReferenceData the reference data cache to load
+     * @param theController the controller that reads the first characters
+     */
+    public void start(DatabaseConnection theDatabase, ReferenceDataCache theReferenceData,
+                      AsyncDnDController theController) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        myDatabaseReady = time("connection pool opened", run(executor, () -> {
+            theDatabase.open();
+            return null;
+        }));
+        SchemaMigrator migrator = new SchemaMigrator(theDatabase);
+        // Queries wait for the schema, since a new database has no tables until it is migrated
+        CompletableFuture<Void> migrated = time("schema migrated", run(executor, () -> {
+            if (Boolean.parseBoolean(System.getProperty("dungeondata.schema.migrate", "true"))) {
+                migrator.migrate();
+            }
+            return null;
+        }));
+        CompletableFuture<Void> schemaReady = migrated.exceptionally(theError -> {
+            System.err.println("Schema migration failed: " + theError.getMessage());
+            return null;
+        });
+        myReferenceDataReady = time("reference data loaded", run(executor, () -> {
+            if (!theReferenceData.restore()) {
+                schemaReady.join();
+                theReferenceData.refresh();
+            }
+            return null;
+        }));
+        executor.execute(() -> {
+            schemaReady.join();
+            try {
+                migrator.checkIndexes();
+            } catch (SQLException e) {
+                System.err.println("Error checking indexes: " + e.getMessage());
+            }
+        });
+        executor.execute(DaoMetrics::registerMBeans);
+        executor.shutdown();
+
+        myCharacterCount = time("character count read",
+                schemaReady.thenCompose(theReady -> theController.getCharacterCountAsync()));
+        myFirstCharacterPage = time("first character page read", schemaReady.thenCompose(theReady ->
+                theController.getCharactersWithDetailsPageAsync(null, CharacterTableModel.getConfiguredPageSize())));
+    }
+
+    /**
+     * Gets a future that completes once the connection pool is open, or fails
+     * if the database cannot be reached.
+     *
+     * @return the readiness future; cancelling it does not stop the task
+     */
+    public CompletableFuture<Void> getDatabaseReady() {
+        return myDatabaseReady.copy();
+    }
+
+    /**
+     * Gets a future that completes once the reference data cache is loaded.
+     *
+     * @return the readiness future; cancelling it does not stop the task
+     */
+    public CompletableFuture<Void> getReferenceDataReady() {
+        return myReferenceDataReady.copy();
+    }
+
+    /**
+     * Gets the number of characters and the first page of characters, read at startup
+     * with the character table's page size.
+     *
+     * @return a future for the startup page; cancelling it does not stop the queries
+     */
+    public CompletableFuture<StartupPage> getStartupPage() {
+        return myCharacterCount.thenCombine(myFirstCharacterPage, StartupPage::new);
+    }
+
+    /**
+     * Runs a task on the given executor.
+     *
+     * @param <T> the result type
+     * @param theExecutor the executor to run on
+     * @param theTask the database work
+     * @return a future for the task's result
+     */
+    private static <T> QueryFuture<T> run(ExecutorService theExecutor, QueryFuture.SqlTask<T> theTask) {
+        QueryFuture<T> future = new QueryFuture<>();
+        theExecutor.execute(() -> future.run(theTask));
+        return future;
+    }
+
+    /**
+     * Records how long a task takes once it ends, in the startup timer and as a
+     * {@link StartupPhaseEvent}. The returned future is detached
+     * from the task, so that cancelling a stage derived from it cannot cancel a
+     * query that other views are waiting on as well.
+     *
+     * @param <T> the result type
+     * @param theTask the name of the task
+     * @param theFuture the task's future
+     * @return a future that completes in the same way as the task
+     */
+    private <T> CompletableFuture<T> time(String theTask, CompletableFuture<T> theFuture) {
+        long start = System.nanoTime();
+        StartupPhaseEvent event = new StartupPhaseEvent();
+        event.begin();
+        CompletableFuture<T> detached = new CompletableFuture<>();
+        theFuture.whenComplete((theResult, theError) -> {
+            myStartupTimer.record(theError == null ? theTask : theTask + " (failed)", start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = theTask;
+                event.background = true;
+                event.failed = theError != null;
+                event.commit();
+            }
+            if (theError == null) {
+                detached.complete(theResult);
+            } else {
+                detached.completeExceptionally(theError);
+            }
+        });
+        return detached;
+    }
+
+    /**
+     * The character count and first page of characters read at startup.
+     */
+    public static final class StartupPage {
+        private final int myCount;
+        private final List<Character> myFirstPage;
+
+        /**
+         * Constructs a startup page.
+         *
+         * @param theCount the number of characters in the database
+         * @param theFirstPage the first page of characters in name order
+         */
+        private StartupPage(int theCount, List<Character> theFirstPage) {
+            myCount = theCount;
+            myFirstPage = theFirstPage;
+        }
+
+        /**
+         * Gets the number of characters in the database.
+         *
+         * @return the character count
+         */
+        public int getCount() {
+            return myCount;
+        }
+
+        /**
+         * Gets the first page of characters.
+         *
+         * @return the characters of the first page in name order
+         */
+        public List<Character> getFirstPage() {
+            return myFirstPage;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one phase of application startup, as timed by
+ * {@link StartupTimer} on the Event Dispatch Thread or by {@link StartupOrchestrator}
+ * for the tasks it runs in the background. Only seen when a recording is started
+ * with the JVM, for example with {@code -XX:StartFlightRecording}.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@Name("dungeondata.StartupPhase")
+@Label("Startup Phase")
+@Category({"DungeonData", "Startup"})
+@Description("A phase of application startup")
+@StackTrace(false)
+public class StartupPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Background")
+    @Description("Whether the phase ran in the background alongside the Event Dispatch Thread")
+    boolean background;
+
+    @Label("Failed")
+    boolean failed;
+}
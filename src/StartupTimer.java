@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the phases of application startup, from entering {@code main} until the
+ * first tab has loaded its data, and logs the breakdown once startup is complete.
+ * Phases on the Event Dispatch Thread run one after another and are each measured
+ * from the end of the phase before; background tasks run alongside them and are
+ * recorded with their own start time. A background task that ends after startup
+ * is complete is logged on its own when it ends. Each phase is also emitted as a
+ * {@link StartupPhaseEvent} when a flight recording is running. Safe to use from any thread.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class StartupTimer {
+    private final long myStartNanos = System.nanoTime();
+    private long myLastNanos = myStartNanos;
+    private final List<String> myPhases = new ArrayList<>();
+    private final List<long[]> myPhaseTimes = new ArrayList<>();
+    private boolean myFinished;
+    private StartupPhaseEvent myPhaseEvent = beginPhase();
+
+    /**
+     * Records that a phase has ended. The phase is taken to have started when the
+     * previous phase ended. Ignored once startup is complete.
+     *
+     * @param thePhase the name of the phase
+     */
+    public synchronized void mark(String thePhase) {
+        if (myFinished) {
+            return;
+        }
+        long now = System.nanoTime();
+        add(thePhase, myLastNanos, now);
+        myLastNanos = now;
+
+        myPhaseEvent.end();
+        if (myPhaseEvent.shouldCommit()) {
+            myPhaseEvent.phase = thePhase;
+            myPhaseEvent.commit();
+        }
+        myPhaseEvent = beginPhase();
+    }
+
+    /**
+     * Records that a background task has ended.
+     *
+     * @param theTask the name of the task
+     * @param theStartNanos the {@link System#nanoTime()} at which the task started
+     */
+    public synchronized void record(String theTask, long theStartNanos) {
+        long now = System.nanoTime();
+        if (myFinished) {
+            System.out.printf("Startup task %s took %d ms (from %d ms)%n", theTask,
+                    (now - theStartNanos) / 1_000_000, (theStartNanos - myStartNanos) / 1_000_000);
+            return;
+        }
+        add(theTask, theStartNanos, now);
+    }
+
+    /**
+     * Records the last phase and logs the time each phase took.
+     * Only the first call has any effect.
+     *
+     * @param thePhase the name of the last phase
+     */
+    public synchronized void finish(String thePhase) {
+        if (myFinished) {
+            return;
+        }
+        mark(thePhase);
+        myFinished = true;
+
+        StringBuilder log = new StringBuilder("Startup phases:");
+        for (int i = 0; i < myPhases.size(); i++) {
+            long[] times = myPhaseTimes.get(i);
+            log.append(String.format("%n  %-32s %6d ms  (from %d ms)", myPhases.get(i),
+                    (times[1] - times[0]) / 1_000_000, (times[0] - myStartNanos) / 1_000_000));
+        }
+        log.append(String.format("%n  %-32s %6d ms", "total", (myLastNanos - myStartNanos) / 1_000_000));
+        System.out.println(log);
+    }
+
+    /**
+     * Checks whether startup is complete.
+     *
+     * @return true once {@link #finish(String)} has been called
+     */
+    public synchronized boolean isFinished() {
+        return myFinished;
+    }
+
+    /**
+     * Starts the flight recorder event for the next phase.
+     *
+     * @return the started event
+     */
+    private static StartupPhaseEvent beginPhase() {
+        StartupPhaseEvent event = new StartupPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Adds a phase to the breakdown.
+     *
+     * @param thePhase the name of the phase
+     * @param theStartNanos when the phase started
+     * @param theEndNanos when the phase ended
+     */
+    private void add(String thePhase, long theStartNanos, long theEndNanos) {
+        myPhases.add(thePhase);
+        myPhaseTimes.add(new long[] {theStartNanos, theEndNanos});
+    }
+}
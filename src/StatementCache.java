@@ -0,0 +1,108 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least-recently-used cache of prepared statements for a single pooled connection.
+ * Statements are keyed by their SQL text and stay open for as long as the connection
+ * lives, so repeated DAO calls skip preparing the same query again. The least recently
+ * used statement is closed once the cache grows past its capacity.
+ *
+ * A cache is only ever used by the thread holding the connection's lease, so it
+ * needs no locking of its own. Hit and miss counts are shared across the pool.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+public class StatementCache {
+    private final Connection myConnection;
+    private final Map<String, PreparedStatement> myStatements;
+    private final LongAdder myHits;
+    private final LongAdder myMisses;
+
+    /**
+     * Constructs an empty statement cache for a connection.
+     *
+     * @param theConnection the connection statements are prepared on
+     * @param theCapacity the maximum number of statements kept open
+     * @param theHits the counter incremented on every cache hit
+     * @param theMisses the counter incremented on every cache miss
+     */
+    public StatementCache(Connection theConnection, int theCapacity, LongAdder theHits, LongAdder theMisses) {
+        myConnection = theConnection;
+        myHits = theHits;
+        myMisses = theMisses;
+        myStatements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> theEldest) {
+                if (size() > theCapacity) {
+                    closeQuietly(theEldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached statement for the SQL text, preparing it on a miss.
+     * A reused statement has its previous parameters cleared. New statements are
+     * wrapped so that slow executions are written to the {@link SlowQueryLog}.
+     *
+     * @param theQuery the SQL text
+     * @return an open prepared statement owned by this cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String theQuery) throws SQLException {
+        PreparedStatement stmt = myStatements.get(theQuery);
+        if (stmt != null && !stmt.isClosed()) {
+            myHits.increment();
+            stmt.clearParameters();
+            return stmt;
+        }
+
+        myMisses.increment();
+        stmt = SlowQueryLog.wrap(myConnection.prepareStatement(theQuery), theQuery);
+        myStatements.put(theQuery, stmt);
+        return stmt;
+    }
+
+    /**
+     * Gets the number of statements currently cached.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return myStatements.size();
+    }
+
+    /**
+     * Closes every cached statement and empties the cache.
+     */
+    public void close() {
+        List<PreparedStatement> statements = new ArrayList<>(myStatements.values());
+        myStatements.clear();
+        for (PreparedStatement stmt : statements) {
+            closeQuietly(stmt);
+        }
+    }
+
+    /**
+     * Closes a statement, logging rather than propagating any failure.
+     *
+     * @param theStatement the statement to close
+     */
+    private static void closeQuietly(PreparedStatement theStatement) {
+        try {
+            theStatement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+}
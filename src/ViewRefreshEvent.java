@@ -0,0 +1,42 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for one refresh of a tab's data, from the moment the
+ * refresh is requested until its rows have been handed to the table or combo box
+ * models on the Event Dispatch Thread. Emitted by {@link BackgroundLoader} and by
+ * the views that still load their data on the Event Dispatch Thread.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+@Name("dungeondata.ViewRefresh")
+@Label("View Refresh")
+@Category({"DungeonData", "User Interface"})
+@Description("A tab loading and showing its data")
+@StackTrace(false)
+public class ViewRefreshEvent extends Event {
+    @Label("Tab")
+    String tab;
+
+    @Label("Task")
+    @Description("What was being loaded, as shown in the status bar")
+    String task;
+
+    @Label("Rows Rendered")
+    long rows;
+
+    @Label("Model Build Time")
+    @Description("Time spent on the Event Dispatch Thread putting the rows into the view's models")
+    @Timespan(Timespan.NANOSECONDS)
+    long modelBuildTime;
+
+    @Label("Failed")
+    boolean failed;
+}
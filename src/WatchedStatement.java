@@ -0,0 +1,774 @@
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A prepared statement that remembers its bound parameters and times its executions
+ * for the {@link SlowQueryLog}. Every other call goes straight to the wrapped statement,
+ * and result sets are returned unwrapped, so a fast query costs a timer read and an
+ * array store per parameter.
+ *
+ * @author David Norman
+ * @author Georgia Karwhite
+ * @version Summer 2025
+ */
+final class WatchedStatement implements PreparedStatement {
+    // Stands in for a parameter set to SQL NULL, since a null slot means it was never set
+    private static final Object NULL = new Object();
+
+    private final PreparedStatement myStatement;
+    private final String myQuery;
+    private Object[] myParameters = new Object[8];
+    private int myBatchSize;
+
+    /**
+     * Constructs a watched statement.
+     *
+     * @param theStatement the statement to watch
+     * @param theQuery its SQL text
+     */
+    WatchedStatement(PreparedStatement theStatement, String theQuery) {
+        myStatement = theStatement;
+        myQuery = theQuery;
+    }
+
+    /**
+     * Remembers a bound parameter.
+     *
+     * @param theIndex the parameter index, starting at 1
+     * @param theValue the value, or null for SQL NULL
+     */
+    private void bind(int theIndex, Object theValue) {
+        if (theIndex < 1) {
+            return;
+        }
+        if (theIndex >= myParameters.length) {
+            myParameters = Arrays.copyOf(myParameters, Math.max(theIndex + 1, myParameters.length * 2));
+        }
+        myParameters[theIndex] = theValue == null ? NULL : theValue;
+    }
+
+    /**
+     * Hands an execution to the slow query log if it took longer than the threshold.
+     *
+     * @param theStartNanos when the execution started
+     * @param theRows the rows changed, or -1 for a query or an unknown count
+     * @param theBatchSize the number of parameter sets in a batch, or 0 for a single execution
+     */
+    private void executed(long theStartNanos, long theRows, int theBatchSize) {
+        long elapsed = System.nanoTime() - theStartNanos;
+        if (SlowQueryLog.isSlow(elapsed)) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            for (int i = 1; i < myParameters.length; i++) {
+                if (myParameters[i] != null) {
+                    parameters.put(i, myParameters[i] == NULL ? null : myParameters[i]);
+                }
+            }
+            SlowQueryLog.executed(myQuery, parameters, elapsed, theRows, theBatchSize);
+        }
+    }
+
+    /**
+     * Totals the update counts of a batch.
+     *
+     * @param theCounts the counts, one per parameter set
+     * @return the total, or -1 if any count is unknown
+     */
+    private static long total(int[] theCounts) {
+        long rows = 0;
+        for (int count : theCounts) {
+            if (count < 0) {
+                return -1;
+            }
+            rows += count;
+        }
+        return rows;
+    }
+
+    /**
+     * Totals the update counts of a large batch.
+     *
+     * @param theCounts the counts, one per parameter set
+     * @return the total, or -1 if any count is unknown
+     */
+    private static long total(long[] theCounts) {
+        long rows = 0;
+        for (long count : theCounts) {
+            if (count < 0) {
+                return -1;
+            }
+            rows += count;
+        }
+        return rows;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        long start = System.nanoTime();
+        ResultSet results = myStatement.executeQuery();
+        executed(start, -1, 0);
+        return results;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        int rows = myStatement.executeUpdate();
+        executed(start, rows, 0);
+        return rows;
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        long rows = myStatement.executeLargeUpdate();
+        executed(start, rows, 0);
+        return rows;
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        long start = System.nanoTime();
+        boolean hasResults = myStatement.execute();
+        executed(start, hasResults ? -1 : myStatement.getUpdateCount(), 0);
+        return hasResults;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        int batchSize = myBatchSize;
+        myBatchSize = 0;
+        long start = System.nanoTime();
+        int[] counts = myStatement.executeBatch();
+        executed(start, total(counts), batchSize);
+        return counts;
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        int batchSize = myBatchSize;
+        myBatchSize = 0;
+        long start = System.nanoTime();
+        long[] counts = myStatement.executeLargeBatch();
+        executed(start, total(counts), batchSize);
+        return counts;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        myStatement.addBatch();
+        myBatchSize++;
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        myStatement.clearBatch();
+        myBatchSize = 0;
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        myStatement.clearParameters();
+        Arrays.fill(myParameters, null);
+    }
+
+    @Override
+    public void setNull(int theIndex, int theSqlType) throws SQLException {
+        myStatement.setNull(theIndex, theSqlType);
+        bind(theIndex, null);
+    }
+
+    @Override
+    public void setNull(int theIndex, int theSqlType, String theTypeName) throws SQLException {
+        myStatement.setNull(theIndex, theSqlType, theTypeName);
+        bind(theIndex, null);
+    }
+
+    @Override
+    public void setBoolean(int theIndex, boolean theValue) throws SQLException {
+        myStatement.setBoolean(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setByte(int theIndex, byte theValue) throws SQLException {
+        myStatement.setByte(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setShort(int theIndex, short theValue) throws SQLException {
+        myStatement.setShort(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setInt(int theIndex, int theValue) throws SQLException {
+        myStatement.setInt(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setLong(int theIndex, long theValue) throws SQLException {
+        myStatement.setLong(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setFloat(int theIndex, float theValue) throws SQLException {
+        myStatement.setFloat(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setDouble(int theIndex, double theValue) throws SQLException {
+        myStatement.setDouble(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBigDecimal(int theIndex, BigDecimal theValue) throws SQLException {
+        myStatement.setBigDecimal(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setString(int theIndex, String theValue) throws SQLException {
+        myStatement.setString(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNString(int theIndex, String theValue) throws SQLException {
+        myStatement.setNString(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBytes(int theIndex, byte[] theValue) throws SQLException {
+        myStatement.setBytes(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setDate(int theIndex, Date theValue) throws SQLException {
+        myStatement.setDate(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setDate(int theIndex, Date theValue, Calendar theCalendar) throws SQLException {
+        myStatement.setDate(theIndex, theValue, theCalendar);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setTime(int theIndex, Time theValue) throws SQLException {
+        myStatement.setTime(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setTime(int theIndex, Time theValue, Calendar theCalendar) throws SQLException {
+        myStatement.setTime(theIndex, theValue, theCalendar);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setTimestamp(int theIndex, Timestamp theValue) throws SQLException {
+        myStatement.setTimestamp(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setTimestamp(int theIndex, Timestamp theValue, Calendar theCalendar) throws SQLException {
+        myStatement.setTimestamp(theIndex, theValue, theCalendar);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setObject(int theIndex, Object theValue) throws SQLException {
+        myStatement.setObject(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setObject(int theIndex, Object theValue, int theSqlType) throws SQLException {
+        myStatement.setObject(theIndex, theValue, theSqlType);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setObject(int theIndex, Object theValue, int theSqlType, int theScale) throws SQLException {
+        myStatement.setObject(theIndex, theValue, theSqlType, theScale);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setObject(int theIndex, Object theValue, SQLType theSqlType) throws SQLException {
+        myStatement.setObject(theIndex, theValue, theSqlType);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setObject(int theIndex, Object theValue, SQLType theSqlType, int theScale) throws SQLException {
+        myStatement.setObject(theIndex, theValue, theSqlType, theScale);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setAsciiStream(int theIndex, InputStream theValue) throws SQLException {
+        myStatement.setAsciiStream(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setAsciiStream(int theIndex, InputStream theValue, int theLength) throws SQLException {
+        myStatement.setAsciiStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setAsciiStream(int theIndex, InputStream theValue, long theLength) throws SQLException {
+        myStatement.setAsciiStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    @Deprecated
+    public void setUnicodeStream(int theIndex, InputStream theValue, int theLength) throws SQLException {
+        myStatement.setUnicodeStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBinaryStream(int theIndex, InputStream theValue) throws SQLException {
+        myStatement.setBinaryStream(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBinaryStream(int theIndex, InputStream theValue, int theLength) throws SQLException {
+        myStatement.setBinaryStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBinaryStream(int theIndex, InputStream theValue, long theLength) throws SQLException {
+        myStatement.setBinaryStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setCharacterStream(int theIndex, Reader theValue) throws SQLException {
+        myStatement.setCharacterStream(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setCharacterStream(int theIndex, Reader theValue, int theLength) throws SQLException {
+        myStatement.setCharacterStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setCharacterStream(int theIndex, Reader theValue, long theLength) throws SQLException {
+        myStatement.setCharacterStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNCharacterStream(int theIndex, Reader theValue) throws SQLException {
+        myStatement.setNCharacterStream(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNCharacterStream(int theIndex, Reader theValue, long theLength) throws SQLException {
+        myStatement.setNCharacterStream(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setRef(int theIndex, Ref theValue) throws SQLException {
+        myStatement.setRef(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBlob(int theIndex, Blob theValue) throws SQLException {
+        myStatement.setBlob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBlob(int theIndex, InputStream theValue) throws SQLException {
+        myStatement.setBlob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setBlob(int theIndex, InputStream theValue, long theLength) throws SQLException {
+        myStatement.setBlob(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setClob(int theIndex, Clob theValue) throws SQLException {
+        myStatement.setClob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setClob(int theIndex, Reader theValue) throws SQLException {
+        myStatement.setClob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setClob(int theIndex, Reader theValue, long theLength) throws SQLException {
+        myStatement.setClob(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNClob(int theIndex, NClob theValue) throws SQLException {
+        myStatement.setNClob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNClob(int theIndex, Reader theValue) throws SQLException {
+        myStatement.setNClob(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setNClob(int theIndex, Reader theValue, long theLength) throws SQLException {
+        myStatement.setNClob(theIndex, theValue, theLength);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setArray(int theIndex, Array theValue) throws SQLException {
+        myStatement.setArray(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setURL(int theIndex, URL theValue) throws SQLException {
+        myStatement.setURL(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setRowId(int theIndex, RowId theValue) throws SQLException {
+        myStatement.setRowId(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public void setSQLXML(int theIndex, SQLXML theValue) throws SQLException {
+        myStatement.setSQLXML(theIndex, theValue);
+        bind(theIndex, theValue);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return myStatement.getMetaData();
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return myStatement.getParameterMetaData();
+    }
+
+    @Override
+    public ResultSet executeQuery(String theSql) throws SQLException {
+        return myStatement.executeQuery(theSql);
+    }
+
+    @Override
+    public int executeUpdate(String theSql) throws SQLException {
+        return myStatement.executeUpdate(theSql);
+    }
+
+    @Override
+    public int executeUpdate(String theSql, int theAutoGeneratedKeys) throws SQLException {
+        return myStatement.executeUpdate(theSql, theAutoGeneratedKeys);
+    }
+
+    @Override
+    public int executeUpdate(String theSql, int[] theColumnIndexes) throws SQLException {
+        return myStatement.executeUpdate(theSql, theColumnIndexes);
+    }
+
+    @Override
+    public int executeUpdate(String theSql, String[] theColumnNames) throws SQLException {
+        return myStatement.executeUpdate(theSql, theColumnNames);
+    }
+
+    @Override
+    public long executeLargeUpdate(String theSql) throws SQLException {
+        return myStatement.executeLargeUpdate(theSql);
+    }
+
+    @Override
+    public long executeLargeUpdate(String theSql, int theAutoGeneratedKeys) throws SQLException {
+        return myStatement.executeLargeUpdate(theSql, theAutoGeneratedKeys);
+    }
+
+    @Override
+    public long executeLargeUpdate(String theSql, int[] theColumnIndexes) throws SQLException {
+        return myStatement.executeLargeUpdate(theSql, theColumnIndexes);
+    }
+
+    @Override
+    public long executeLargeUpdate(String theSql, String[] theColumnNames) throws SQLException {
+        return myStatement.executeLargeUpdate(theSql, theColumnNames);
+    }
+
+    @Override
+    public boolean execute(String theSql) throws SQLException {
+        return myStatement.execute(theSql);
+    }
+
+    @Override
+    public boolean execute(String theSql, int theAutoGeneratedKeys) throws SQLException {
+        return myStatement.execute(theSql, theAutoGeneratedKeys);
+    }
+
+    @Override
+    public boolean execute(String theSql, int[] theColumnIndexes) throws SQLException {
+        return myStatement.execute(theSql, theColumnIndexes);
+    }
+
+    @Override
+    public boolean execute(String theSql, String[] theColumnNames) throws SQLException {
+        return myStatement.execute(theSql, theColumnNames);
+    }
+
+    @Override
+    public void addBatch(String theSql) throws SQLException {
+        myStatement.addBatch(theSql);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        myStatement.close();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return myStatement.isClosed();
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        myStatement.cancel();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return myStatement.getConnection();
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return myStatement.getResultSet();
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return myStatement.getUpdateCount();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return myStatement.getLargeUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return myStatement.getMoreResults();
+    }
+
+    @Override
+    public boolean getMoreResults(int theCurrent) throws SQLException {
+        return myStatement.getMoreResults(theCurrent);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return myStatement.getGeneratedKeys();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return myStatement.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int theMax) throws SQLException {
+        myStatement.setMaxFieldSize(theMax);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return myStatement.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int theMax) throws SQLException {
+        myStatement.setMaxRows(theMax);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return myStatement.getLargeMaxRows();
+    }
+
+    @Override
+    public void setLargeMaxRows(long theMax) throws SQLException {
+        myStatement.setLargeMaxRows(theMax);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean theEnable) throws SQLException {
+        myStatement.setEscapeProcessing(theEnable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return myStatement.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int theSeconds) throws SQLException {
+        myStatement.setQueryTimeout(theSeconds);
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return myStatement.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        myStatement.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String theName) throws SQLException {
+        myStatement.setCursorName(theName);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return myStatement.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchDirection(int theDirection) throws SQLException {
+        myStatement.setFetchDirection(theDirection);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return myStatement.getFetchSize();
+    }
+
+    @Override
+    public void setFetchSize(int theRows) throws SQLException {
+        myStatement.setFetchSize(theRows);
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return myStatement.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return myStatement.getResultSetType();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return myStatement.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return myStatement.isPoolable();
+    }
+
+    @Override
+    public void setPoolable(boolean thePoolable) throws SQLException {
+        myStatement.setPoolable(thePoolable);
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        myStatement.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return myStatement.isCloseOnCompletion();
+    }
+
+    @Override
+    public String enquoteLiteral(String theValue) throws SQLException {
+        return myStatement.enquoteLiteral(theValue);
+    }
+
+    @Override
+    public String enquoteIdentifier(String theIdentifier, boolean theAlwaysQuote) throws SQLException {
+        return myStatement.enquoteIdentifier(theIdentifier, theAlwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String theIdentifier) throws SQLException {
+        return myStatement.isSimpleIdentifier(theIdentifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String theValue) throws SQLException {
+        return myStatement.enquoteNCharLiteral(theValue);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> theInterface) throws SQLException {
+        return theInterface.isInstance(myStatement) ? theInterface.cast(myStatement)
+                : myStatement.unwrap(theInterface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> theInterface) throws SQLException {
+        return theInterface.isInstance(myStatement) || myStatement.isWrapperFor(theInterface);
+    }
+}